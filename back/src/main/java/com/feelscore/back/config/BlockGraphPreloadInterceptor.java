@@ -0,0 +1,32 @@
+package com.feelscore.back.config;
+
+import com.feelscore.back.security.CustomUserDetails;
+import com.feelscore.back.service.BlockGraphService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 로그인 요청의 조회자 차단 관계를 서비스 트랜잭션이 열리기 전에 적재합니다.
+ * - 트랜잭션 밖에서 읽어야 캐시에 넣을 수 있으므로(BlockGraphService 참고), 피드 / 팔로우 등 REPEATABLE READ 트랜잭션 안에서는
+ *   이미 적재된 항목을 그대로 씁니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class BlockGraphPreloadInterceptor implements HandlerInterceptor {
+
+    private final BlockGraphService blockGraphService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails details) {
+            blockGraphService.preload(details.getUserId());
+        }
+        return true;
+    }
+}
@@ -0,0 +1,42 @@
+package com.feelscore.back.controller;
+
+import com.feelscore.back.service.CategoryStatsRebuildJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * @brief 관리자용 카테고리 감정 통계 관리 API (category_emotion_stats 재계산)
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/category-stats")
+public class AdminCategoryStatsController {
+
+    private final CategoryStatsRebuildJob categoryStatsRebuildJob;
+
+    /**
+     * @brief 재계산을 백그라운드로 시작합니다. 이미 실행 중이면 409
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Object>> startRebuild() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(categoryStatsRebuildJob.start());
+    }
+
+    /**
+     * @brief 진행 상황(처리 행 수, 초당 처리량)과 마지막 실행 결과를 조회합니다.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/rebuild")
+    public ResponseEntity<Map<String, Object>> getRebuildStatus() {
+        return ResponseEntity.ok(categoryStatsRebuildJob.status());
+    }
+}
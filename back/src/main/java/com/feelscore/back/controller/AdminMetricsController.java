@@ -0,0 +1,34 @@
+package com.feelscore.back.controller;
+
+import com.feelscore.back.service.CategoryStatsDeltaBuffer;
+import com.feelscore.back.service.PostDetailCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @brief 관리자용 내부 지표 조회 API (캐시 적중률 등)
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/metrics")
+public class AdminMetricsController {
+
+    private final PostDetailCache postDetailCache;
+    private final CategoryStatsDeltaBuffer categoryStatsDeltaBuffer;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("postDetailCache", postDetailCache.stats());
+        metrics.put("categoryStatsBuffer", categoryStatsDeltaBuffer.stats());
+        return ResponseEntity.ok(metrics);
+    }
+}
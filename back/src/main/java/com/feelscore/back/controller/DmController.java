@@ -1,6 +1,9 @@
 package com.feelscore.back.controller;
 
+import com.feelscore.back.dto.CursorResponse;
+import com.feelscore.back.dto.DmInboxItemDto;
 import com.feelscore.back.dto.DmMessageResponse;
+import com.feelscore.back.dto.DmMessageSliceResponse;
 import com.feelscore.back.dto.DmSendMessageRequest;
 import com.feelscore.back.entity.DmMessage;
 import com.feelscore.back.security.CustomUserDetails;
@@ -61,6 +64,32 @@ public class DmController {
         return ResponseEntity.ok(dtos);
     }
 
+    /**
+     * 내 일반 DM함 커서 조회 (마지막 활동 순)
+     * GET /api/dm/inbox/cursor?cursor=...&size=20
+     *
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 생략)
+     */
+    @GetMapping("/inbox/cursor")
+    public ResponseEntity<CursorResponse<DmInboxItemDto>> getInboxCursor(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(dmService.getInboxCursor(userDetails.getUserId(), cursor, size));
+    }
+
+    /**
+     * 내 메시지 요청함 커서 조회 (마지막 활동 순)
+     * GET /api/dm/requests/cursor?cursor=...&size=20
+     */
+    @GetMapping("/requests/cursor")
+    public ResponseEntity<CursorResponse<DmInboxItemDto>> getRequestBoxCursor(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(dmService.getRequestBoxCursor(userDetails.getUserId(), cursor, size));
+    }
+
     // 4. 요청 수락
     @PostMapping("/requests/{threadId}/accept")
     public ResponseEntity<Void> acceptRequest(
@@ -114,6 +143,37 @@ public class DmController {
         return ResponseEntity.ok(dtos);
     }
 
+    /**
+     * 메시지 keyset 조회 (offset 없이 message_id 커서로 이어서 조회)
+     * GET /api/dm/threads/{threadId}/messages/cursor?before=...&size=30 (이전 메시지)
+     * GET /api/dm/threads/{threadId}/messages/cursor?after=...&size=30 (이후 메시지)
+     *
+     * @param before 이 id보다 오래된 메시지 (응답의 oldestId)
+     * @param after  이 id보다 새로운 메시지 (응답의 newestId), before와 함께 사용할 수 없음
+     */
+    @GetMapping("/threads/{threadId}/messages/cursor")
+    public ResponseEntity<DmMessageSliceResponse> getMessagesByCursor(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable Long threadId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "30") int size) {
+        return ResponseEntity.ok(dmService.loadMessageSlice(threadId, userDetails.getUserId(), before, after, size));
+    }
+
+    /**
+     * 특정 메시지 주변 구간 조회 (메시지로 이동)
+     * GET /api/dm/threads/{threadId}/messages/{messageId}/around?size=30
+     */
+    @GetMapping("/threads/{threadId}/messages/{messageId}/around")
+    public ResponseEntity<DmMessageSliceResponse> getMessagesAround(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable Long threadId,
+            @PathVariable Long messageId,
+            @RequestParam(defaultValue = "30") int size) {
+        return ResponseEntity.ok(dmService.loadMessageWindow(threadId, userDetails.getUserId(), messageId, size));
+    }
+
     // 9. 메시지 읽음 처리
     @PostMapping("/threads/{threadId}/read")
     public ResponseEntity<Void> markAsRead(
@@ -1,10 +1,14 @@
 package com.feelscore.back.controller;
 
+import com.feelscore.back.dto.CursorResponse;
 import com.feelscore.back.dto.PostDto;
+import com.feelscore.back.search.SearchMode;
 import com.feelscore.back.service.PostService;
+import com.feelscore.back.service.PostViewService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -16,12 +20,14 @@ import com.feelscore.back.security.CustomUserDetails;
 
 import static com.feelscore.back.dto.PostDto.*;
 
+@Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/posts")
 public class PostController {
 
     private final PostService postService;
+    private final PostViewService postViewService;
 
     /**
      * 게시글 생성
@@ -40,6 +46,23 @@ public class PostController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 홈 타임라인 (내가 팔로우하는 유저의 게시글, 최신순)
+     * GET /api/v1/posts/home?cursor=...&size=20
+     *
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 생략)
+     * @param size   페이지 크기
+     * @return 게시글 목록과 다음 커서
+     */
+    @GetMapping("/home")
+    public ResponseEntity<CursorResponse<ListResponse>> getHomeTimeline(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        return ResponseEntity.ok(postService.getHomeTimeline(userDetails.getUserId(), cursor, size));
+    }
+
     /**
      * 단일 게시글 조회
      * GET /api/v1/posts/{postId}
@@ -49,8 +72,19 @@ public class PostController {
      */
     @GetMapping("/{postId}")
     public ResponseEntity<PostDto.Response> getPostById(@PathVariable Long postId,
-            @RequestParam(required = false) Long userId) {
-        return ResponseEntity.ok(postService.getPostById(postId));
+            @RequestParam(required = false) Long userId,
+            Authentication authentication,
+            HttpServletRequest httpRequest) {
+        PostDto.Response response = postService.getPostById(postId);
+
+        // 조회수 집계 (중복 조회는 무시, posts 반영은 주기적으로 모아서 처리)
+        // 집계에 실패해도 게시글 조회는 성공으로 응답
+        try {
+            postViewService.increaseViewCount(postId, viewerIdOf(authentication), httpRequest.getRemoteAddr());
+        } catch (RuntimeException e) {
+            log.warn("Failed to record view of post {}: {}", postId, e.getMessage());
+        }
+        return ResponseEntity.ok(response);
     }
 
     /**
@@ -64,8 +98,10 @@ public class PostController {
     @GetMapping("/category/{categoryId}")
     public ResponseEntity<Page<ListResponse>> getPostsByCategory(
             @PathVariable Long categoryId,
-            @PageableDefault(sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
-        Page<ListResponse> responses = postService.getPostsByCategory(categoryId, pageable);
+            @PageableDefault(sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            Authentication authentication) {
+        Page<ListResponse> responses = postService.getPostsByCategory(categoryId, pageable,
+                viewerIdOf(authentication));
         return ResponseEntity.ok(responses);
     }
 
@@ -80,8 +116,9 @@ public class PostController {
     @GetMapping("/user/{userId}")
     public ResponseEntity<Page<ListResponse>> getPostsByUser(
             @PathVariable Long userId,
-            @PageableDefault(sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
-        Page<ListResponse> responses = postService.getPostsByUser(userId, pageable);
+            @PageableDefault(sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            Authentication authentication) {
+        Page<ListResponse> responses = postService.getPostsByUser(userId, pageable, viewerIdOf(authentication));
         return ResponseEntity.ok(responses);
     }
 
@@ -96,11 +133,59 @@ public class PostController {
     @GetMapping("/emotion/{emotionType}")
     public ResponseEntity<Page<ListResponse>> getPostsByEmotion(
             @PathVariable com.feelscore.back.entity.EmotionType emotionType,
-            @PageableDefault(sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
-        Page<ListResponse> responses = postService.getPostsByEmotion(emotionType, pageable);
+            @PageableDefault(sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            Authentication authentication) {
+        Page<ListResponse> responses = postService.getPostsByEmotion(emotionType, pageable,
+                viewerIdOf(authentication));
         return ResponseEntity.ok(responses);
     }
 
+    /**
+     * 특정 카테고리 게시글 목록 조회 (커서 기반)
+     * GET /api/v1/posts/category/{categoryId}/cursor?cursor=...&size=20
+     *
+     * @param categoryId 조회할 카테고리 ID
+     * @param cursor     이전 응답의 nextCursor (첫 페이지는 생략)
+     * @param size       페이지 크기
+     * @return 게시글 목록과 다음 커서 (전체 개수 미포함)
+     */
+    @GetMapping("/category/{categoryId}/cursor")
+    public ResponseEntity<CursorResponse<ListResponse>> getPostsByCategoryCursor(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        return ResponseEntity.ok(postService.getPostsByCategoryCursor(categoryId, cursor, size,
+                viewerIdOf(authentication)));
+    }
+
+    /**
+     * 특정 사용자 게시글 목록 조회 (커서 기반, 최신순)
+     * GET /api/v1/posts/user/{userId}/cursor?cursor=...&size=20
+     */
+    @GetMapping("/user/{userId}/cursor")
+    public ResponseEntity<CursorResponse<ListResponse>> getPostsByUserCursor(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        return ResponseEntity.ok(postService.getPostsByUserCursor(userId, cursor, size, viewerIdOf(authentication)));
+    }
+
+    /**
+     * 감정별 게시글 목록 조회 (커서 기반, 최신순)
+     * GET /api/v1/posts/emotion/{emotionType}/cursor?cursor=...&size=20
+     */
+    @GetMapping("/emotion/{emotionType}/cursor")
+    public ResponseEntity<CursorResponse<ListResponse>> getPostsByEmotionCursor(
+            @PathVariable com.feelscore.back.entity.EmotionType emotionType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        return ResponseEntity.ok(postService.getPostsByEmotionCursor(emotionType, cursor, size,
+                viewerIdOf(authentication)));
+    }
+
     /**
      * 게시글 수정
      * PUT /api/v1/posts/{postId}
@@ -142,14 +227,37 @@ public class PostController {
      * GET /api/v1/posts/search?keywords=키워드1 키워드2
      *
      * @param keywords 검색 키워드 (띄어쓰기로 구분)
+     * @param mode     키워드 결합 방식 (OR: 하나라도 포함, AND: 모두 포함)
      * @param pageable 페이징 정보
-     * @return 검색된 게시글 목록
+     * @return 검색된 게시글 목록 (검색 색인 사용 시 관련도순)
      */
     @GetMapping("/search")
     public ResponseEntity<Page<ListResponse>> searchPosts(
             @RequestParam String keywords,
-            @PageableDefault(sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
-        Page<ListResponse> responses = postService.searchPosts(keywords, pageable);
+            @RequestParam(defaultValue = "OR") SearchMode mode,
+            @PageableDefault(sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            Authentication authentication) {
+        Page<ListResponse> responses = postService.searchPosts(keywords, mode, pageable, viewerIdOf(authentication));
         return ResponseEntity.ok(responses);
     }
+
+    /**
+     * 키워드로 게시글 검색 (커서 기반, 최신순)
+     * GET /api/v1/posts/search/cursor?keywords=키워드&cursor=...&size=20
+     */
+    @GetMapping("/search/cursor")
+    public ResponseEntity<CursorResponse<ListResponse>> searchPostsCursor(
+            @RequestParam String keywords,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        return ResponseEntity.ok(postService.searchPostsCursor(keywords, cursor, size, viewerIdOf(authentication)));
+    }
+
+    // 로그인하지 않은 요청이면 null
+    private static Long viewerIdOf(Authentication authentication) {
+        return authentication != null && authentication.getPrincipal() instanceof CustomUserDetails details
+                ? details.getUserId()
+                : null;
+    }
 }
@@ -21,11 +21,20 @@ import java.util.stream.Collectors;
 public class StatsController {
 
         private final com.feelscore.back.service.CategoryStatsService categoryStatsService;
+        private final com.feelscore.back.service.CategoryStatsTree categoryStatsTree;
+        private final com.feelscore.back.service.StatsPushService statsPushService;
 
         @GetMapping("/home")
         public List<CategoryStatsDto> getHomeStats(
                         @org.springframework.web.bind.annotation.RequestParam(value = "period", defaultValue = "ALL") com.feelscore.back.dto.StatsPeriod period) {
-                return categoryStatsService.getRealtimeStats(period);
+                // 상주 집계 트리가 지원하는 기간이면 스냅샷을 그대로 반환 (DB 조회 없음)
+                List<CategoryStatsDto> resident = categoryStatsTree.getSnapshot(period);
+                if (resident != null) {
+                        return resident;
+                }
+                // 실시간 전송(/sub/stats/{period})용으로 최근에 계산해 둔 결과가 있으면 재사용
+                List<CategoryStatsDto> recent = statsPushService.getRecent(period);
+                return recent != null ? recent : categoryStatsService.getRealtimeStats(period);
         }
 
 }
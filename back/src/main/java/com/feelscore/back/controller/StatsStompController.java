@@ -0,0 +1,25 @@
+package com.feelscore.back.controller;
+
+import com.feelscore.back.dto.StatsPeriod;
+import com.feelscore.back.dto.StatsPushDto;
+import com.feelscore.back.service.StatsPushService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+@Controller
+@RequiredArgsConstructor
+public class StatsStompController {
+
+    private final StatsPushService statsPushService;
+
+    /**
+     * 클라이언트가 /pub/stats/{period} 를 구독하면 현재 전체 스냅샷을 한 번 응답
+     * (변경분은 /sub/stats/{period} 로 수신 - 스냅샷보다 먼저 구독하고, 스냅샷 version 이하의 DIFF는 무시)
+     */
+    @SubscribeMapping("/stats/{period}")
+    public StatsPushDto subscribe(@DestinationVariable StatsPeriod period) {
+        return statsPushService.snapshot(period);
+    }
+}
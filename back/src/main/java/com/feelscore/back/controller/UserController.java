@@ -3,6 +3,7 @@ package com.feelscore.back.controller;
 import com.feelscore.back.entity.Role;
 import com.feelscore.back.entity.Users;
 import com.feelscore.back.repository.UserRepository;
+import com.feelscore.back.security.CustomUserDetails;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -252,10 +253,27 @@ public class UserController {
 
                 List<com.feelscore.back.entity.Post> posts = mentionService.getTaggedPosts(userId);
 
-                List<com.feelscore.back.dto.PostDto.ListResponse> response = posts.stream()
-                                .map(post -> postService.getPostListResponse(post, currentUser.getId()))
-                                .collect(Collectors.toList());
+                List<com.feelscore.back.dto.PostDto.ListResponse> response = postService
+                                .getPostListResponses(posts, currentUser.getId());
 
                 return ResponseEntity.ok(response);
         }
+
+        /**
+         * 유저가 태그된 게시글 목록 조회 (커서 기반, 최신순)
+         * GET /api/user/{userId}/tagged-posts/cursor?cursor=...&size=20
+         */
+        @GetMapping("/{userId}/tagged-posts/cursor")
+        public ResponseEntity<com.feelscore.back.dto.CursorResponse<com.feelscore.back.dto.PostDto.ListResponse>> getTaggedPostsCursor(
+                        @org.springframework.web.bind.annotation.PathVariable Long userId,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = "20") int size,
+                        Authentication authentication) {
+                // 로그인하지 않은 요청이면 차단 관계 필터 없이 조회
+                Long viewerId = authentication != null
+                                && authentication.getPrincipal() instanceof CustomUserDetails details
+                                                ? details.getUserId()
+                                                : null;
+                return ResponseEntity.ok(postService.getTaggedPostsCursor(userId, cursor, size, viewerId));
+        }
 }
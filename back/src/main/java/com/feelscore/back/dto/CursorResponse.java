@@ -0,0 +1,26 @@
+package com.feelscore.back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 커서(keyset) 기반 목록 응답
+ * - Page와 달리 전체 개수(COUNT 쿼리)를 계산하지 않습니다.
+ * - nextCursor를 그대로 다음 요청의 cursor 파라미터로 넘기면 이어서 조회됩니다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorResponse<T> {
+
+    private List<T> content;
+    private String nextCursor; // 마지막 페이지면 null
+    private boolean hasNext;
+
+    public static <T> CursorResponse<T> of(List<T> content, String nextCursor) {
+        return new CursorResponse<>(content, nextCursor, nextCursor != null);
+    }
+}
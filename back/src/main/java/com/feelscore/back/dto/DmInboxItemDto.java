@@ -0,0 +1,54 @@
+package com.feelscore.back.dto;
+
+import com.feelscore.back.entity.DmFolder;
+import com.feelscore.back.entity.DmMemberState;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DM함 목록 한 줄 (DmThreadMemberRepository 프로젝션 쿼리 결과)
+ * - 대화방 / 상대방 / 마지막 메시지 / 안 읽은 수를 엔티티 지연 로딩 없이 한 번에 담습니다.
+ */
+@Getter
+@NoArgsConstructor
+public class DmInboxItemDto {
+
+    private Long threadId;
+
+    // 상대 유저 정보
+    private Long otherUserId;
+    private String otherUserNickname;
+    private String otherUserProfileImageUrl;
+
+    // 마지막 메시지 정보
+    private Long lastMessageId;
+    private String lastMessageContent;
+    private LocalDateTime lastMessageTime;
+    private LocalDateTime lastActivityAt; // 마지막 메시지 시각, 메시지가 없으면 대화방 생성 시각 (정렬 기준)
+
+    // 내 상태 정보
+    private Long lastReadMessageId;
+    private DmMemberState state;
+    private DmFolder folder;
+    private long unreadCount;
+
+    public DmInboxItemDto(Long threadId, Long otherUserId, String otherUserNickname, String otherUserProfileImageUrl,
+            Long lastMessageId, String lastMessageContent, LocalDateTime lastMessageTime,
+            LocalDateTime lastActivityAt, Long lastReadMessageId, DmMemberState state, DmFolder folder,
+            Long unreadCount) {
+        this.threadId = threadId;
+        this.otherUserId = otherUserId;
+        this.otherUserNickname = otherUserNickname;
+        this.otherUserProfileImageUrl = otherUserProfileImageUrl;
+        this.lastMessageId = lastMessageId;
+        this.lastMessageContent = lastMessageContent;
+        this.lastMessageTime = lastMessageTime;
+        this.lastActivityAt = lastActivityAt;
+        this.lastReadMessageId = lastReadMessageId;
+        this.state = state;
+        this.folder = folder;
+        this.unreadCount = unreadCount != null ? unreadCount : 0L;
+    }
+}
@@ -0,0 +1,30 @@
+package com.feelscore.back.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 대화방 메시지 구간 응답 (message_id keyset)
+ * - messages는 오래된 순(id 오름차순)으로 정렬됩니다.
+ * - 더 오래된 메시지는 before=oldestId, 더 새로운 메시지는 after=newestId로 이어서 조회합니다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DmMessageSliceResponse {
+
+    private List<DmMessageResponse> messages;
+    private Long oldestId; // 비어 있으면 null
+    private Long newestId;
+    private boolean hasOlder;
+    private boolean hasNewer;
+
+    public static DmMessageSliceResponse of(List<DmMessageResponse> messages, boolean hasOlder, boolean hasNewer) {
+        Long oldestId = messages.isEmpty() ? null : messages.get(0).getId();
+        Long newestId = messages.isEmpty() ? null : messages.get(messages.size() - 1).getId();
+        return new DmMessageSliceResponse(messages, oldestId, newestId, hasOlder, hasNewer);
+    }
+}
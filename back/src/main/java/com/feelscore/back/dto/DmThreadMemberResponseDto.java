@@ -45,4 +45,18 @@ public class DmThreadMemberResponseDto {
         this.folder = member.getFolder();
         this.unreadCount = unreadCount;
     }
+
+    // 프로젝션 쿼리 결과로 생성 (엔티티 지연 로딩 없음)
+    public DmThreadMemberResponseDto(DmInboxItemDto item) {
+        this.threadId = item.getThreadId();
+        this.otherUserId = item.getOtherUserId();
+        this.otherUserNickname = item.getOtherUserNickname();
+        this.otherUserProfileImageUrl = item.getOtherUserProfileImageUrl();
+        this.lastReadMessageId = item.getLastReadMessageId();
+        this.lastMessageContent = item.getLastMessageContent();
+        this.lastMessageTime = item.getLastMessageTime();
+        this.state = item.getState();
+        this.folder = item.getFolder();
+        this.unreadCount = item.getUnreadCount();
+    }
 }
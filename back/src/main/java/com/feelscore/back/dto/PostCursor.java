@@ -0,0 +1,91 @@
+package com.feelscore.back.dto;
+
+import com.feelscore.back.exception.BadRequestException;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 게시글 피드용 불투명(opaque) 커서
+ * - 정렬 키(createdAt, reactionCount 또는 없음)와 post id를 "키|id" 형태로 묶어 Base64(URL-safe)로 인코딩
+ * - cursor가 없으면 첫 페이지용 커서(모든 키보다 큰 값)를 사용하므로 쿼리는 항상 같은 seek 조건을 탑니다.
+ * - DM함 목록도 같은 형식(마지막 활동 시각|threadId)을 사용합니다.
+ */
+@Getter
+public class PostCursor {
+
+    private static final LocalDateTime MAX_CREATED_AT = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final String key;
+    private final Long id;
+
+    private PostCursor(String key, Long id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    public static PostCursor of(LocalDateTime createdAt, Long id) {
+        return new PostCursor(createdAt.toString(), id);
+    }
+
+    public static PostCursor of(long reactionCount, Long id) {
+        return new PostCursor(Long.toString(reactionCount), id);
+    }
+
+    // id만으로 정렬되는 피드용 (홈 타임라인)
+    public static PostCursor ofId(Long id) {
+        return new PostCursor("id", id);
+    }
+
+    public static PostCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            if (sep <= 0) {
+                throw new BadRequestException("Invalid cursor: " + cursor);
+            }
+            return new PostCursor(raw.substring(0, sep), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ===== seek 조건 값 (cursor가 null이면 첫 페이지) =====
+
+    public static LocalDateTime createdAtOf(PostCursor cursor) {
+        if (cursor == null) {
+            return MAX_CREATED_AT;
+        }
+        try {
+            return LocalDateTime.parse(cursor.key);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor key: " + cursor.key);
+        }
+    }
+
+    public static long reactionCountOf(PostCursor cursor) {
+        if (cursor == null) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            return Long.parseLong(cursor.key);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor key: " + cursor.key);
+        }
+    }
+
+    public static long idOf(PostCursor cursor) {
+        return cursor == null ? Long.MAX_VALUE : cursor.id;
+    }
+}
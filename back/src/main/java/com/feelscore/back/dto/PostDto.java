@@ -57,7 +57,7 @@ public class PostDto {
     @Getter
     @NoArgsConstructor
     @AllArgsConstructor
-    @Builder
+    @Builder(toBuilder = true)
     public static class Response {
         private Long id;
         private String content;
@@ -71,6 +71,7 @@ public class PostDto {
 
         private Long commentCount;
         private java.util.Map<com.feelscore.back.entity.EmotionType, Long> reactionCounts;
+        private Long viewCount;
 
         public static Response from(Post post, Long commentCount,
                 java.util.Map<com.feelscore.back.entity.EmotionType, Long> reactionCounts) {
@@ -86,6 +87,7 @@ public class PostDto {
                     .updatedAt(post.getUpdatedAt())
                     .commentCount(commentCount)
                     .reactionCounts(reactionCounts)
+                    .viewCount(post.getViewCount())
                     .build();
         }
 
@@ -102,6 +104,7 @@ public class PostDto {
                     .updatedAt(post.getUpdatedAt())
                     .commentCount(0L)
                     .reactionCounts(new java.util.HashMap<>())
+                    .viewCount(0L)
                     .build();
         }
     }
@@ -0,0 +1,40 @@
+package com.feelscore.back.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.feelscore.back.entity.EmotionType;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 홈 통계 실시간 전송 메시지 (/sub/stats/{period})
+ * - SNAPSHOT: 구독 직후 전체 트리 (snapshot)
+ * - DIFF: 직전 버전 이후 점수 / 대표 감정 / 순위 등이 바뀐 카테고리만 (changes, removed)
+ * - version이 SNAPSHOT보다 작거나 같은 DIFF는 이미 반영된 것이므로 버리면 됩니다.
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StatsPushDto {
+    private String type; // SNAPSHOT, DIFF
+    private StatsPeriod period;
+    private long version;
+    private List<CategoryStatsDto> snapshot;
+    private List<Change> changes;
+    private List<Long> removed;
+
+    @Getter
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Change {
+        private Long categoryId;
+        private Long parentId; // 최상위 카테고리면 null
+        private String name;
+        private EmotionType dominantEmotion;
+        private Long score;
+        private Long commentCount;
+        private String trend;
+        private int rank; // 같은 부모 아래 점수 순위 (0부터)
+    }
+}
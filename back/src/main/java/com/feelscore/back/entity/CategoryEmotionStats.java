@@ -9,7 +9,8 @@ import lombok.NoArgsConstructor;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "category_emotion_stats")
+@Table(name = "category_emotion_stats", uniqueConstraints = @UniqueConstraint(name = "uk_category_emotion_stats", columnNames = {
+        "category_id", "emotion_type" }))
 public class CategoryEmotionStats {
 
     @Id
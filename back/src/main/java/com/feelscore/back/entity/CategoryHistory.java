@@ -14,7 +14,10 @@ import java.time.LocalDateTime;
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "category_history", indexes = @Index(name = "idx_cat_history_created_at", columnList = "createdAt"))
+@Table(name = "category_history", indexes = {
+        @Index(name = "idx_cat_history_created_at", columnList = "createdAt"),
+        @Index(name = "idx_cat_history_category_created", columnList = "category_id, createdAt")
+})
 public class CategoryHistory {
 
     @Id
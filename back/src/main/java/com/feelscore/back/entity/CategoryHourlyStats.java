@@ -0,0 +1,70 @@
+package com.feelscore.back.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 카테고리별 시간 단위 감정 점수 / 댓글 수 집계 (DAY / WEEK / MONTH 통계용)
+ * - 점수는 게시글 작성 시각, 댓글 수는 댓글 작성 시각의 정시(hour) 버킷에 누적
+ * - 행은 CategoryRollupService의 upsert로만 쓰고, 엔티티는 조회 / 스키마 용도입니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "category_hourly_stats",
+        uniqueConstraints = @UniqueConstraint(name = "uk_category_hourly_stats", columnNames = { "category_id", "bucket_hour" }),
+        indexes = @Index(name = "idx_category_hourly_bucket", columnList = "bucket_hour"))
+public class CategoryHourlyStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "hourly_stat_id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    @Column(name = "bucket_hour", nullable = false)
+    private LocalDateTime bucketHour; // 정시로 자른 시각
+
+    @Column(nullable = false)
+    private Long joyScore = 0L;
+
+    @Column(nullable = false)
+    private Long sadnessScore = 0L;
+
+    @Column(nullable = false)
+    private Long angerScore = 0L;
+
+    @Column(nullable = false)
+    private Long fearScore = 0L;
+
+    @Column(nullable = false)
+    private Long disgustScore = 0L;
+
+    @Column(nullable = false)
+    private Long surpriseScore = 0L;
+
+    @Column(nullable = false)
+    private Long contemptScore = 0L;
+
+    @Column(nullable = false)
+    private Long loveScore = 0L;
+
+    @Column(nullable = false)
+    private Long anticipationScore = 0L;
+
+    @Column(nullable = false)
+    private Long trustScore = 0L;
+
+    @Column(nullable = false)
+    private Long neutralScore = 0L;
+
+    @Column(nullable = false)
+    private Long commentCount = 0L;
+}
@@ -8,7 +8,10 @@ import lombok.NoArgsConstructor;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "dm_messages")
+@Table(name = "dm_messages", indexes = {
+        // 대화방 메시지 keyset 조회 (message_id 기준 이전 / 이후 구간)
+        @Index(name = "idx_dm_message_thread_id", columnList = "thread_id, message_id")
+})
 public class DmMessage extends BaseTimeEntity {
 
     @Id
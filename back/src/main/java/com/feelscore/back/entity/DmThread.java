@@ -11,7 +11,9 @@ import java.util.List;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "dm_threads")
+@Table(name = "dm_threads", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_dm_thread_direct_pair", columnNames = { "direct_pair_key" })
+})
 public class DmThread extends BaseTimeEntity {
 
     @Id
@@ -27,6 +29,14 @@ public class DmThread extends BaseTimeEntity {
     @JoinColumn(name = "last_message_id")
     private DmMessage lastMessage;
 
+    /**
+     * 1:1 대화방의 두 유저 키 ("작은 userId:큰 userId")
+     * 두 유저 사이에 1:1 대화방이 하나만 생기도록 유니크 키로 보장
+     * 그룹 대화방이나 멤버가 나간 대화방은 null
+     */
+    @Column(name = "direct_pair_key", length = 41)
+    private String directPairKey;
+
     @OneToMany(mappedBy = "thread", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<DmThreadMember> members = new ArrayList<>();
 
@@ -50,7 +60,16 @@ public class DmThread extends BaseTimeEntity {
         this.lastMessage = message;
     }
 
+    // 멤버가 나가면 1:1 키를 풀어서, 다음 대화는 새 대화방으로 시작
+    public void releaseDirectPairKey() {
+        this.directPairKey = null;
+    }
+
     public static DmThread create() {
         return new DmThread();
     }
+
+    public static String pairKeyOf(Long userId1, Long userId2) {
+        return Math.min(userId1, userId2) + ":" + Math.max(userId1, userId2);
+    }
 }
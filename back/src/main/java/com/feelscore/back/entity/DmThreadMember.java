@@ -4,10 +4,12 @@ import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@DynamicUpdate // unreadCount는 원자적 UPDATE로만 갱신되므로, 엔티티 수정 시 변경된 컬럼만 반영
 @Table(name = "dm_thread_members", uniqueConstraints = {
         @UniqueConstraint(name = "uk_dm_thread_member", columnNames = { "thread_id", "user_id" })
 })
@@ -59,6 +61,13 @@ public class DmThreadMember extends BaseTimeEntity {
     @JoinColumn(name = "last_read_message_id")
     private DmMessage lastReadMessage;
 
+    /**
+     * 마지막으로 읽은 메시지 이후 다른 멤버가 보낸 메시지 수 (비정규화 카운터)
+     * DmThreadMemberRepository의 원자적 UPDATE로 갱신
+     */
+    @Column(name = "unread_count", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long unreadCount = 0L;
+
     // == 연관관계 세터 (편의용) ==
     void setThread(DmThread thread) {
         this.thread = thread;
@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "mentions")
+@Table(name = "mentions", indexes = @Index(name = "idx_mention_user_post", columnList = "mentioned_user_id, post_id"))
 public class Mention extends BaseTimeEntity {
 
     @Id
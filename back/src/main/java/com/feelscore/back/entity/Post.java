@@ -5,11 +5,19 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "posts", indexes = @Index(name = "idx_post_created_at", columnList = "createdAt"))
+@DynamicUpdate // 카운터 컬럼은 원자적 UPDATE로만 갱신되므로, 엔티티 수정 시 변경된 컬럼만 반영
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_post_created_at", columnList = "createdAt"),
+        // 피드 쿼리용 복합 인덱스 (조건 컬럼 + status로 거르고 createdAt 순서 그대로 읽음)
+        @Index(name = "idx_post_category_status_created", columnList = "category_id, status, createdAt"),
+        @Index(name = "idx_post_user_status_created", columnList = "user_id, status, createdAt"),
+        @Index(name = "idx_post_emotion_status_created", columnList = "dominantEmotion, status, createdAt")
+})
 public class Post extends BaseTimeEntity {
 
     @Id
@@ -38,6 +46,26 @@ public class Post extends BaseTimeEntity {
     @Column(name = "image_url")
     private String imageUrl; // S3 Object Key
 
+    // 비정규화 카운터 (PostRepository의 원자적 UPDATE로 갱신, PostCounterReconciler가 주기적으로 보정)
+    @Column(columnDefinition = "BIGINT DEFAULT 0")
+    private Long commentCount = 0L;
+
+    @Column(columnDefinition = "BIGINT DEFAULT 0")
+    private Long reactionCount = 0L; // 전체 리액션 수
+
+    @Embedded
+    private PostReactionCounts reactionCounts = new PostReactionCounts();
+
+    @Column(columnDefinition = "BIGINT DEFAULT 0")
+    private Long viewCount = 0L; // PostViewService가 모아서 반영
+
+    // 감정 분석 결과 (post_emotions.dominant_emotion 비정규화, 피드 쿼리에서 조인 없이 사용)
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private EmotionType dominantEmotion;
+
+    private boolean analyzed; // 감정 분석 결과 반영 여부
+
     @Builder
     public Post(String content, Users users, Category category, String imageUrl) {
         this.content = content;
@@ -66,4 +94,21 @@ public class Post extends BaseTimeEntity {
     public void updateImageUrl(String imageUrl) {
         this.imageUrl = imageUrl;
     }
-}
\ No newline at end of file
+
+    // 감정 분석 완료 시 (CategoryStatsService)
+    public void applyEmotionAnalysis(EmotionType dominantEmotion) {
+        this.dominantEmotion = dominantEmotion;
+        this.analyzed = true;
+    }
+
+    // 감정 분석 결과 삭제 시
+    public void clearEmotionAnalysis() {
+        this.dominantEmotion = null;
+        this.analyzed = false;
+    }
+
+    // 감정별 리액션 수 (0인 감정 제외)
+    public java.util.Map<EmotionType, Long> getReactionCountMap() {
+        return reactionCounts != null ? reactionCounts.toMap() : new java.util.HashMap<>();
+    }
+}
@@ -0,0 +1,82 @@
+package com.feelscore.back.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 게시글의 감정별 리액션 수 (posts 테이블에 비정규화된 카운터)
+ * - 값 변경은 PostRepository의 원자적 UPDATE 쿼리로만 수행합니다.
+ */
+@Embeddable
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PostReactionCounts {
+
+    @Column(name = "joy_reaction_count", columnDefinition = "BIGINT DEFAULT 0")
+    private Long joyCount = 0L;
+
+    @Column(name = "sadness_reaction_count", columnDefinition = "BIGINT DEFAULT 0")
+    private Long sadnessCount = 0L;
+
+    @Column(name = "anger_reaction_count", columnDefinition = "BIGINT DEFAULT 0")
+    private Long angerCount = 0L;
+
+    @Column(name = "fear_reaction_count", columnDefinition = "BIGINT DEFAULT 0")
+    private Long fearCount = 0L;
+
+    @Column(name = "disgust_reaction_count", columnDefinition = "BIGINT DEFAULT 0")
+    private Long disgustCount = 0L;
+
+    @Column(name = "surprise_reaction_count", columnDefinition = "BIGINT DEFAULT 0")
+    private Long surpriseCount = 0L;
+
+    @Column(name = "contempt_reaction_count", columnDefinition = "BIGINT DEFAULT 0")
+    private Long contemptCount = 0L;
+
+    @Column(name = "love_reaction_count", columnDefinition = "BIGINT DEFAULT 0")
+    private Long loveCount = 0L;
+
+    @Column(name = "anticipation_reaction_count", columnDefinition = "BIGINT DEFAULT 0")
+    private Long anticipationCount = 0L;
+
+    @Column(name = "trust_reaction_count", columnDefinition = "BIGINT DEFAULT 0")
+    private Long trustCount = 0L;
+
+    @Column(name = "neutral_reaction_count", columnDefinition = "BIGINT DEFAULT 0")
+    private Long neutralCount = 0L;
+
+    public long getCountByType(EmotionType type) {
+        Long count = switch (type) {
+            case JOY -> joyCount;
+            case SADNESS -> sadnessCount;
+            case ANGER -> angerCount;
+            case FEAR -> fearCount;
+            case DISGUST -> disgustCount;
+            case SURPRISE -> surpriseCount;
+            case CONTEMPT -> contemptCount;
+            case LOVE -> loveCount;
+            case ANTICIPATION -> anticipationCount;
+            case TRUST -> trustCount;
+            case NEUTRAL -> neutralCount;
+        };
+        return count != null ? count : 0L;
+    }
+
+    // 응답용 Map (기존 GROUP BY 결과와 동일하게 0인 감정은 제외)
+    public Map<EmotionType, Long> toMap() {
+        Map<EmotionType, Long> counts = new HashMap<>();
+        for (EmotionType type : EmotionType.values()) {
+            long count = getCountByType(type);
+            if (count > 0) {
+                counts.put(type, count);
+            }
+        }
+        return counts;
+    }
+}
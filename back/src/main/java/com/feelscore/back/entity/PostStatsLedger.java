@@ -0,0 +1,46 @@
+package com.feelscore.back.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 게시글별로 카테고리 통계에 마지막으로 반영한 감정 점수
+ * - 재분석 / 메시지 재전송으로 분석 완료가 여러 번 처리돼도, 이전에 반영한 점수와의 차이만 통계에 더합니다.
+ * - 행은 CategoryStatsService에서 게시글 단위로 잠근 뒤 갱신합니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "post_stats_ledger")
+public class PostStatsLedger {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId; // 점수를 반영한 카테고리
+
+    @Embedded
+    private EmotionScores scores;
+
+    // 새로 반영한 카테고리 / 점수 기록
+    public void apply(Long categoryId, EmotionScores scores) {
+        this.categoryId = categoryId;
+        this.scores = EmotionScores.builder()
+                .joyScore(scores.getJoyScore())
+                .sadnessScore(scores.getSadnessScore())
+                .angerScore(scores.getAngerScore())
+                .fearScore(scores.getFearScore())
+                .disgustScore(scores.getDisgustScore())
+                .surpriseScore(scores.getSurpriseScore())
+                .contemptScore(scores.getContemptScore())
+                .loveScore(scores.getLoveScore())
+                .anticipationScore(scores.getAnticipationScore())
+                .trustScore(scores.getTrustScore())
+                .neutralScore(scores.getNeutralScore())
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.feelscore.back.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 게시글 조회 기록 (로그인 유저의 중복 조회 판별용)
+ * - 조회수 자체는 posts.view_count에 모아서 반영하고, 여기에는 유저별 첫 조회만 남깁니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "post_views", indexes = @Index(name = "idx_post_view_post_user_created", columnList = "post_id, user_id, createdAt"))
+public class PostView extends BaseTimeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "post_view_id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "post_id", nullable = false)
+    private Post post;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private Users users;
+
+    @Column(length = 45)
+    private String ipAddress;
+
+    @Builder
+    public PostView(Post post, Users users, String ipAddress) {
+        this.post = post;
+        this.users = users;
+        this.ipAddress = ipAddress;
+    }
+}
@@ -0,0 +1,64 @@
+package com.feelscore.back.entity;
+
+import com.feelscore.back.dto.EmotionSumDto;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 사용자별 감정 프로필 (정상 게시글 수 + 분석 완료된 정상 게시글의 감정 점수 합)
+ * - 프로필 조회 때마다 사용자의 게시글 전체를 집계하지 않도록 미리 합산해 둡니다.
+ * - 행은 UserEmotionProfileService의 upsert로만 쓰고, 엔티티는 조회 / 스키마 용도입니다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "user_emotion_profile")
+public class UserEmotionProfile {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private Long postCount = 0L; // 정상(NORMAL) 게시글 수 (분석 전 게시글 포함)
+
+    @Column(nullable = false)
+    private Long joyScore = 0L;
+
+    @Column(nullable = false)
+    private Long sadnessScore = 0L;
+
+    @Column(nullable = false)
+    private Long angerScore = 0L;
+
+    @Column(nullable = false)
+    private Long fearScore = 0L;
+
+    @Column(nullable = false)
+    private Long disgustScore = 0L;
+
+    @Column(nullable = false)
+    private Long surpriseScore = 0L;
+
+    @Column(nullable = false)
+    private Long contemptScore = 0L;
+
+    @Column(nullable = false)
+    private Long loveScore = 0L;
+
+    @Column(nullable = false)
+    private Long anticipationScore = 0L;
+
+    @Column(nullable = false)
+    private Long trustScore = 0L;
+
+    @Column(nullable = false)
+    private Long neutralScore = 0L;
+
+    public EmotionSumDto toSumDto() {
+        return new EmotionSumDto(userId, joyScore, sadnessScore, angerScore, fearScore, disgustScore,
+                surpriseScore, contemptScore, loveScore, anticipationScore, trustScore, neutralScore);
+    }
+}
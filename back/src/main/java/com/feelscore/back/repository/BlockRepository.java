@@ -3,6 +3,8 @@ package com.feelscore.back.repository;
 import com.feelscore.back.entity.Block;
 import com.feelscore.back.entity.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -18,6 +20,14 @@ public interface BlockRepository extends JpaRepository<Block, Long> {
     // 내가 차단한 목록 조회
     List<Block> findByBlocker(Users blocker);
 
+    // 내가 차단한 유저 id (BlockGraphService 적재용)
+    @Query("SELECT b.blocked.id FROM Block b WHERE b.blocker.id = :userId")
+    List<Long> findBlockedIdsByBlockerId(@Param("userId") Long userId);
+
+    // 나를 차단한 유저 id (BlockGraphService 적재용)
+    @Query("SELECT b.blocker.id FROM Block b WHERE b.blocked.id = :userId")
+    List<Long> findBlockerIdsByBlockedId(@Param("userId") Long userId);
+
     void deleteByBlocker(Users blocker);
 
     void deleteByBlocked(Users blocked);
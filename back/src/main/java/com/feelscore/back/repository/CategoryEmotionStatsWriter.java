@@ -0,0 +1,112 @@
+package com.feelscore.back.repository;
+
+import com.feelscore.back.entity.EmotionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * category_emotion_stats 증감 전용 writer
+ * - 조회 후 저장(load-modify-save) 대신, (카테고리 x 감정) 증감들을 여러 행 INSERT ... ON DUPLICATE KEY UPDATE
+ *   한 문장으로 반영합니다. 동시에 같은 상위 카테고리 행을 갱신해도 증감이 유실되지 않습니다.
+ * - (category_id, emotion_type) 유니크 키(uk_category_emotion_stats)가 있어야 합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CategoryEmotionStatsWriter {
+
+    private static final int MAX_ROWS_PER_STATEMENT = 500;
+    private static final int EMOTION_BITS = 4; // EmotionType 11개 < 16
+
+    private static final String INSERT_PREFIX = "INSERT INTO category_emotion_stats " +
+            "(category_id, emotion_type, `count`, total_score) VALUES ";
+    private static final String ON_DUPLICATE = " ON DUPLICATE KEY UPDATE " +
+            "`count` = GREATEST(`count` + VALUES(`count`), 0), " +
+            "total_score = total_score + VALUES(total_score)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 카테고리마다 같은 증감을 반영합니다. (보통 게시글 카테고리와 그 상위 카테고리들)
+     *
+     * @param countDeltas 감정별 글 개수 증감 (EmotionType.ordinal() 인덱스)
+     * @param scoreDeltas 감정별 점수 합 증감 (EmotionType.ordinal() 인덱스)
+     * @return 반영한 (카테고리 x 감정) 수
+     */
+    public int add(List<Long> categoryIds, long[] countDeltas, long[] scoreDeltas) {
+        Map<Long, long[]> deltas = new LinkedHashMap<>();
+        for (Long categoryId : categoryIds) {
+            for (EmotionType type : EmotionType.values()) {
+                deltas.put(key(categoryId, type),
+                        new long[] { countDeltas[type.ordinal()], scoreDeltas[type.ordinal()] });
+            }
+        }
+        return addAll(deltas);
+    }
+
+    /**
+     * @param deltas key(categoryId, emotionType) -> { 글 개수 증감, 점수 합 증감 }
+     * @return 반영한 (카테고리 x 감정) 수
+     */
+    public int addAll(Map<Long, long[]> deltas) {
+        List<Object> args = new ArrayList<>();
+        int rows = 0;
+        for (Map.Entry<Long, long[]> entry : deltas.entrySet()) {
+            long count = entry.getValue()[0];
+            long score = entry.getValue()[1];
+            if (count == 0 && score == 0) {
+                continue;
+            }
+            args.add(categoryIdOf(entry.getKey()));
+            args.add(emotionTypeOf(entry.getKey()).name());
+            args.add(count);
+            args.add(score);
+            rows++;
+            if (args.size() == MAX_ROWS_PER_STATEMENT * 4) {
+                upsert(args);
+                args.clear();
+            }
+        }
+        if (!args.isEmpty()) {
+            upsert(args);
+        }
+        return rows;
+    }
+
+    /**
+     * 테이블 내용을 통째로 교체합니다. (호출한 트랜잭션이 커밋되기 전까지 다른 조회는 이전 내용을 봄)
+     *
+     * @param deltas key(categoryId, emotionType) -> { 글 개수, 점수 합 }
+     * @return 저장한 (카테고리 x 감정) 수
+     */
+    public int replaceAll(Map<Long, long[]> deltas) {
+        jdbcTemplate.update("DELETE FROM category_emotion_stats");
+        return addAll(deltas);
+    }
+
+    public static long key(long categoryId, EmotionType type) {
+        return (categoryId << EMOTION_BITS) | type.ordinal();
+    }
+
+    public static long categoryIdOf(long key) {
+        return key >>> EMOTION_BITS;
+    }
+
+    public static EmotionType emotionTypeOf(long key) {
+        return EmotionType.values()[(int) (key & ((1 << EMOTION_BITS) - 1))];
+    }
+
+    private void upsert(List<Object> args) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        for (int i = 0; i < args.size(); i += 4) {
+            sql.append(i == 0 ? "(?, ?, ?, ?)" : ", (?, ?, ?, ?)");
+        }
+        sql.append(ON_DUPLICATE);
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+}
@@ -3,9 +3,12 @@ package com.feelscore.back.repository;
 import com.feelscore.back.entity.Category;
 import com.feelscore.back.entity.CategoryHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -17,4 +20,15 @@ public interface CategoryHistoryRepository extends JpaRepository<CategoryHistory
 
     // Or just find top 1 by category desc to get the VERY latest snapshot if needed
     Optional<CategoryHistory> findTopByCategoryOrderByCreatedAtDesc(Category category);
+
+    // 카테고리별로 time 이전의 가장 최근 스냅샷 점수 (categoryId, score) - 한 번의 윈도우 쿼리
+    @Query(value = "SELECT t.category_id, t.score FROM (" +
+            "SELECT h.category_id, h.score, " +
+            "ROW_NUMBER() OVER (PARTITION BY h.category_id ORDER BY h.created_at DESC, h.id DESC) AS rn " +
+            "FROM category_history h WHERE h.created_at < :time AND h.category_id IS NOT NULL) t " +
+            "WHERE t.rn = 1", nativeQuery = true)
+    List<Object[]> findLatestScoresBefore(@Param("time") LocalDateTime time);
+
+    // time 이후 가장 먼저 저장된 스냅샷 (기준 스냅샷이 바뀌는 시점 계산용)
+    Optional<CategoryHistory> findFirstByCreatedAtGreaterThanEqualOrderByCreatedAtAsc(LocalDateTime time);
 }
@@ -0,0 +1,96 @@
+package com.feelscore.back.repository;
+
+import com.feelscore.back.dto.CommentCountDto;
+import com.feelscore.back.dto.EmotionSumDto;
+import com.feelscore.back.entity.CategoryHourlyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CategoryHourlyStatsRepository extends JpaRepository<CategoryHourlyStats, Long> {
+
+        // 버킷 하나에 증감 누적 (없으면 생성) - MySQL upsert
+        @Modifying
+        @Query(value = "INSERT INTO category_hourly_stats (category_id, bucket_hour, " +
+                        "joy_score, sadness_score, anger_score, fear_score, disgust_score, surprise_score, " +
+                        "contempt_score, love_score, anticipation_score, trust_score, neutral_score, comment_count) " +
+                        "VALUES (:categoryId, :bucketHour, :joy, :sadness, :anger, :fear, :disgust, :surprise, " +
+                        ":contempt, :love, :anticipation, :trust, :neutral, :comments) " +
+                        "ON DUPLICATE KEY UPDATE " +
+                        "joy_score = joy_score + VALUES(joy_score), " +
+                        "sadness_score = sadness_score + VALUES(sadness_score), " +
+                        "anger_score = anger_score + VALUES(anger_score), " +
+                        "fear_score = fear_score + VALUES(fear_score), " +
+                        "disgust_score = disgust_score + VALUES(disgust_score), " +
+                        "surprise_score = surprise_score + VALUES(surprise_score), " +
+                        "contempt_score = contempt_score + VALUES(contempt_score), " +
+                        "love_score = love_score + VALUES(love_score), " +
+                        "anticipation_score = anticipation_score + VALUES(anticipation_score), " +
+                        "trust_score = trust_score + VALUES(trust_score), " +
+                        "neutral_score = neutral_score + VALUES(neutral_score), " +
+                        "comment_count = comment_count + VALUES(comment_count)", nativeQuery = true)
+        int upsert(@Param("categoryId") Long categoryId,
+                        @Param("bucketHour") LocalDateTime bucketHour,
+                        @Param("joy") long joy,
+                        @Param("sadness") long sadness,
+                        @Param("anger") long anger,
+                        @Param("fear") long fear,
+                        @Param("disgust") long disgust,
+                        @Param("surprise") long surprise,
+                        @Param("contempt") long contempt,
+                        @Param("love") long love,
+                        @Param("anticipation") long anticipation,
+                        @Param("trust") long trust,
+                        @Param("neutral") long neutral,
+                        @Param("comments") long comments);
+
+        // 기간(since 이후 버킷) 카테고리별 감정 점수 합계
+        @Query("SELECT new com.feelscore.back.dto.EmotionSumDto(s.category.id, " +
+                        "SUM(s.joyScore), SUM(s.sadnessScore), SUM(s.angerScore), SUM(s.fearScore), " +
+                        "SUM(s.disgustScore), SUM(s.surpriseScore), SUM(s.contemptScore), SUM(s.loveScore), " +
+                        "SUM(s.anticipationScore), SUM(s.trustScore), SUM(s.neutralScore)) " +
+                        "FROM CategoryHourlyStats s WHERE s.bucketHour >= :since GROUP BY s.category.id")
+        List<EmotionSumDto> sumScoresSince(@Param("since") LocalDateTime since);
+
+        // 기간(since 이후 버킷) 카테고리별 댓글 수
+        @Query("SELECT new com.feelscore.back.dto.CommentCountDto(s.category.id, SUM(s.commentCount)) " +
+                        "FROM CategoryHourlyStats s WHERE s.bucketHour >= :since GROUP BY s.category.id")
+        List<CommentCountDto> sumCommentsSince(@Param("since") LocalDateTime since);
+
+        // ===== 원본 테이블 기준 재집계 (since 이후 버킷) =====
+
+        @Modifying
+        @Query(value = "DELETE FROM category_hourly_stats WHERE bucket_hour >= :since", nativeQuery = true)
+        int deleteSince(@Param("since") LocalDateTime since);
+
+        @Modifying
+        @Query(value = "INSERT INTO category_hourly_stats (category_id, bucket_hour, " +
+                        "joy_score, sadness_score, anger_score, fear_score, disgust_score, surprise_score, " +
+                        "contempt_score, love_score, anticipation_score, trust_score, neutral_score, comment_count) " +
+                        "SELECT p.category_id, DATE_FORMAT(p.created_at, '%Y-%m-%d %H:00:00'), " +
+                        "SUM(pe.joy_score), SUM(pe.sadness_score), SUM(pe.anger_score), SUM(pe.fear_score), " +
+                        "SUM(pe.disgust_score), SUM(pe.surprise_score), " +
+                        "SUM(pe.contempt_score), SUM(pe.love_score), SUM(pe.anticipation_score), SUM(pe.trust_score), " +
+                        "SUM(pe.neutral_score), 0 " +
+                        "FROM post_emotions pe JOIN posts p ON p.post_id = pe.post_id " +
+                        "WHERE p.created_at >= :since AND pe.is_analyzed = TRUE AND p.status = 'NORMAL' " +
+                        "GROUP BY p.category_id, DATE_FORMAT(p.created_at, '%Y-%m-%d %H:00:00')", nativeQuery = true)
+        int rebuildScoresSince(@Param("since") LocalDateTime since);
+
+        @Modifying
+        @Query(value = "INSERT INTO category_hourly_stats (category_id, bucket_hour, " +
+                        "joy_score, sadness_score, anger_score, fear_score, disgust_score, surprise_score, " +
+                        "contempt_score, love_score, anticipation_score, trust_score, neutral_score, comment_count) " +
+                        "SELECT p.category_id, DATE_FORMAT(c.created_at, '%Y-%m-%d %H:00:00'), 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, COUNT(*) " +
+                        "FROM comments c JOIN posts p ON p.post_id = c.post_id " +
+                        "WHERE c.created_at >= :since AND p.status = 'NORMAL' " +
+                        "GROUP BY p.category_id, DATE_FORMAT(c.created_at, '%Y-%m-%d %H:00:00') " +
+                        "ON DUPLICATE KEY UPDATE comment_count = comment_count + VALUES(comment_count)", nativeQuery = true)
+        int rebuildCommentsSince(@Param("since") LocalDateTime since);
+}
@@ -4,20 +4,30 @@ import com.feelscore.back.entity.Comment;
 import com.feelscore.back.entity.Post;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.feelscore.back.dto.CommentCountDto;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByPostOrderByCreatedAtAsc(Post post);
 
     long countByPost(Post post);
 
+    // 여러 게시글의 댓글 수를 한 번에 집계 (postId, count)
+    @Query("SELECT c.post.id, COUNT(c) FROM Comment c WHERE c.post.id IN :postIds GROUP BY c.post.id")
+    List<Object[]> countByPostIds(@Param("postIds") Collection<Long> postIds);
+
     List<Comment> findAllByUsers(com.feelscore.back.entity.Users users);
 
     void deleteAllByPost(Post post);
 
+    // 게시글 삭제 시 시간별 롤업에서 댓글 수를 차감하기 위한 작성 시각 목록
+    @Query("SELECT c.createdAt FROM Comment c WHERE c.post.id = :postId")
+    List<java.time.LocalDateTime> findCreatedAtByPostId(@Param("postId") Long postId);
+
     @Query("SELECT new com.feelscore.back.dto.CommentCountDto(p.category.id, COUNT(c)) " +
             "FROM Comment c JOIN c.post p " +
             "WHERE p.status = com.feelscore.back.entity.PostStatus.NORMAL " +
@@ -5,15 +5,13 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
 
 public interface DmMessageRepository extends JpaRepository<DmMessage, Long> {
 
-    /**
-     * 한 대화방의 메시지 전체를 시간 순으로 조회 (Legacy)
-     */
-    List<DmMessage> findByThreadIdOrderByCreatedAtAsc(Long threadId);
-
     /**
      * 한 대화방의 메시지 페이징 조회
      * - page: 요청할 페이지 번호
@@ -30,14 +28,24 @@ public interface DmMessageRepository extends JpaRepository<DmMessage, Long> {
      */
     Page<DmMessage> findByThreadId(Long threadId, Pageable pageable);
 
+    // ===== keyset(message_id) 기반 메시지 조회 =====
+    // Pageable은 LIMIT 용도로만 사용, (thread_id, message_id) 인덱스 구간을 그대로 읽음
+
     /**
-     * 안 읽은 메시지 개수 계산
-     * - lastReadMessageId 이후의 메시지 개수
+     * beforeId보다 오래된 메시지 (최신순)
      */
-    long countByThreadIdAndIdGreaterThan(Long threadId, Long lastReadMessageId);
+    @Query("SELECT m FROM DmMessage m JOIN FETCH m.sender " +
+            "WHERE m.thread.id = :threadId AND m.id < :beforeId ORDER BY m.id DESC")
+    List<DmMessage> findBefore(@Param("threadId") Long threadId, @Param("beforeId") Long beforeId,
+            Pageable pageable);
 
     /**
-     * 안 읽은 메시지 개수 계산 (읽은 메시지가 없을 때 - 전체 개수)
+     * afterId보다 새로운 메시지 (오래된 순)
      */
-    long countByThreadId(Long threadId);
+    @Query("SELECT m FROM DmMessage m JOIN FETCH m.sender " +
+            "WHERE m.thread.id = :threadId AND m.id > :afterId ORDER BY m.id ASC")
+    List<DmMessage> findAfter(@Param("threadId") Long threadId, @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    boolean existsByIdAndThreadId(Long id, Long threadId);
 }
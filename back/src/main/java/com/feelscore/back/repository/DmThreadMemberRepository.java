@@ -1,29 +1,59 @@
 package com.feelscore.back.repository;
 
+import com.feelscore.back.dto.DmInboxItemDto;
 import com.feelscore.back.entity.DmFolder;
 import com.feelscore.back.entity.DmMemberState;
 import com.feelscore.back.entity.DmThreadMember;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface DmThreadMemberRepository extends JpaRepository<DmThreadMember, Long> {
 
-    /**
-     * 특정 유저가 참여 중인 모든 DM (숨김 아닌 것만)
-     */
-    List<DmThreadMember> findByUserIdAndHiddenFalse(Long userId);
+    // ===== DM함 목록 프로젝션 (대화방 / 상대방 / 마지막 메시지를 한 쿼리로 조인) =====
+    // 1:1 대화방만 있으므로 상대 멤버(o)는 최대 한 명, 차단한 상대와의 대화는 제외
+    // 마지막 활동 시각(마지막 메시지, 없으면 대화방 생성 시각) + threadId 내림차순 keyset
+
+    String INBOX_SELECT = "SELECT new com.feelscore.back.dto.DmInboxItemDto(" +
+            "t.id, ou.id, ou.nickname, ou.profileImageUrl, " +
+            "lm.id, lm.content, lm.createdAt, COALESCE(lm.createdAt, t.createdAt), " +
+            "m.lastReadMessage.id, m.state, m.folder, m.unreadCount) " +
+            "FROM DmThreadMember m JOIN m.thread t LEFT JOIN t.lastMessage lm " +
+            "LEFT JOIN DmThreadMember o ON o.thread = t AND o.user <> m.user " +
+            "LEFT JOIN o.user ou " +
+            "WHERE m.user.id = :userId AND m.hidden = false " +
+            "AND NOT EXISTS (SELECT b.id FROM Block b WHERE b.blocker = m.user AND b.blocked = o.user) ";
+
+    String INBOX_SEEK = "AND (COALESCE(lm.createdAt, t.createdAt) < :activityAt " +
+            "OR (COALESCE(lm.createdAt, t.createdAt) = :activityAt AND t.id < :threadId)) ";
+
+    String INBOX_ORDER = "ORDER BY COALESCE(lm.createdAt, t.createdAt) DESC, t.id DESC";
 
     /**
-     * 특정 유저의 폴더(예: PRIMARY / REQUEST) 기준 DM 목록
+     * 폴더(PRIMARY 등) 기준 DM함 (커서 이후)
      */
-    List<DmThreadMember> findByUserIdAndFolderAndHiddenFalse(Long userId, DmFolder folder);
+    @Query(INBOX_SELECT + "AND m.folder = :folder " + INBOX_SEEK + INBOX_ORDER)
+    List<DmInboxItemDto> findInboxAfterCursor(@Param("userId") Long userId,
+            @Param("folder") DmFolder folder,
+            @Param("activityAt") java.time.LocalDateTime activityAt,
+            @Param("threadId") Long threadId,
+            Pageable pageable);
 
     /**
-     * 메시지 요청함만 보고 싶을 때
+     * 상태(REQUEST 등) 기준 DM함 (커서 이후)
      */
-    List<DmThreadMember> findByUserIdAndStateAndHiddenFalse(Long userId, DmMemberState state);
+    @Query(INBOX_SELECT + "AND m.state = :state " + INBOX_SEEK + INBOX_ORDER)
+    List<DmInboxItemDto> findRequestBoxAfterCursor(@Param("userId") Long userId,
+            @Param("state") DmMemberState state,
+            @Param("activityAt") java.time.LocalDateTime activityAt,
+            @Param("threadId") Long threadId,
+            Pageable pageable);
 
     /**
      * thread + user 조합으로 한 row 찾기 (상태 업데이트용)
@@ -36,4 +66,46 @@ public interface DmThreadMemberRepository extends JpaRepository<DmThreadMember,
     boolean existsByThreadIdAndUserId(Long threadId, Long userId);
 
     void deleteByUser(com.feelscore.back.entity.Users user);
+
+    // ===== 안 읽은 메시지 수 (unreadCount) =====
+
+    /**
+     * 새 메시지 전송 시 보낸 사람을 제외한 멤버의 안 읽은 수 +1
+     */
+    @Modifying
+    @Query("UPDATE DmThreadMember m SET m.unreadCount = m.unreadCount + 1 " +
+            "WHERE m.thread.id = :threadId AND m.user.id <> :senderId")
+    int incrementUnreadCount(@Param("threadId") Long threadId, @Param("senderId") Long senderId);
+
+    /**
+     * 마지막으로 읽은 메시지 기준으로 다시 계산 (읽음 처리 직후에는 그 사이 도착한 메시지만 남음)
+     */
+    @Modifying
+    @Query("UPDATE DmThreadMember m SET m.unreadCount = (SELECT COUNT(msg) FROM DmMessage msg " +
+            "WHERE msg.thread.id = m.thread.id AND msg.id > COALESCE(m.lastReadMessage.id, 0) " +
+            "AND msg.sender.id <> m.user.id) " +
+            "WHERE m.id IN :memberIds")
+    int recountUnread(@Param("memberIds") Collection<Long> memberIds);
+
+    @Modifying
+    @Query("UPDATE DmThreadMember m SET m.unreadCount = (SELECT COUNT(msg) FROM DmMessage msg " +
+            "WHERE msg.thread.id = m.thread.id AND msg.id > COALESCE(m.lastReadMessage.id, 0) " +
+            "AND msg.sender.id <> m.user.id) " +
+            "WHERE m.thread.id IN :threadIds")
+    int recountUnreadByThreadIds(@Param("threadIds") Collection<Long> threadIds);
+
+    /**
+     * 전체 안 읽은 메시지 수 (메인 DM함 + 요청함, 숨김 / 차단한 상대와의 대화 제외)
+     */
+    @Query("SELECT COALESCE(SUM(m.unreadCount), 0) FROM DmThreadMember m " +
+            "WHERE m.user.id = :userId AND m.hidden = false " +
+            "AND (m.folder = com.feelscore.back.entity.DmFolder.PRIMARY " +
+            "OR m.state = com.feelscore.back.entity.DmMemberState.REQUEST) " +
+            "AND NOT EXISTS (SELECT o.id FROM DmThreadMember o, Block b " +
+            "WHERE o.thread = m.thread AND o.user <> m.user AND b.blocker = m.user AND b.blocked = o.user)")
+    long sumUnreadCountByUserId(@Param("userId") Long userId);
+
+    // 보정 작업용 id 순 청크 조회
+    @Query("SELECT m.id FROM DmThreadMember m WHERE m.id > :lastId ORDER BY m.id ASC")
+    List<Long> findIdsAfter(@Param("lastId") Long lastId, Pageable pageable);
 }
@@ -10,20 +10,41 @@ import java.util.Optional;
 public interface DmThreadRepository extends JpaRepository<DmThread, Long> {
 
     /**
-     * 두 유저 사이의 1:1 DM 쓰레드를 찾는다.
-     * (항상 멤버가 2명인 구조를 전제로 함)
+     * 두 유저 사이의 1:1 DM 쓰레드를 찾는다. (direct_pair_key 유니크 인덱스 조회)
+     *
+     * @param pairKey DmThread.pairKeyOf(userId1, userId2)
      */
-    @Query("""
-            select t
-            from DmThread t
-                join t.members m1
-                join t.members m2
-            where m1.user.id = :userId1
-              and m2.user.id = :userId2
-            """)
-    Optional<DmThread> findDirectThreadBetween(
-            @Param("userId1") Long userId1,
-            @Param("userId2") Long userId2);
+    Optional<DmThread> findByDirectPairKey(String pairKey);
+
+    /**
+     * 1:1 쓰레드가 없으면 생성 (동시에 처음 보내도 유니크 키로 한 행만 생김)
+     *
+     * @return 새로 만들었으면 1, 이미 있으면 0
+     */
+    @org.springframework.data.jpa.repository.Modifying
+    @Query(value = "INSERT IGNORE INTO dm_threads (direct_pair_key, created_at, updated_at) " +
+            "VALUES (:pairKey, NOW(6), NOW(6))", nativeQuery = true)
+    int insertDirectIfAbsent(@Param("pairKey") String pairKey);
+
+    /**
+     * 유저가 참여한 대화방의 1:1 키 해제 (회원 탈퇴로 멤버십 삭제 전)
+     */
+    @org.springframework.data.jpa.repository.Modifying
+    @Query("UPDATE DmThread t SET t.directPairKey = null " +
+            "WHERE t.id IN (SELECT m.thread.id FROM DmThreadMember m WHERE m.user.id = :userId)")
+    int releaseDirectPairKeysOfUser(@Param("userId") Long userId);
+
+    /**
+     * direct_pair_key 도입 전 1:1 대화방(멤버 2명) 키 채우기
+     * 같은 두 유저 사이에 대화방이 여러 개면 하나만 키를 갖고 나머지는 건너뜀 (UPDATE IGNORE)
+     */
+    @org.springframework.data.jpa.repository.Modifying
+    @Query(value = "UPDATE IGNORE dm_threads t JOIN (" +
+            "SELECT thread_id, MIN(user_id) AS low_id, MAX(user_id) AS high_id FROM dm_thread_members " +
+            "GROUP BY thread_id HAVING COUNT(*) = 2) p ON p.thread_id = t.thread_id " +
+            "SET t.direct_pair_key = CONCAT(p.low_id, ':', p.high_id) " +
+            "WHERE t.direct_pair_key IS NULL", nativeQuery = true)
+    int backfillDirectPairKeys();
 
     @org.springframework.data.jpa.repository.Modifying
     @Query("UPDATE DmThread t SET t.lastMessage = null WHERE t.lastMessage.sender = :sender")
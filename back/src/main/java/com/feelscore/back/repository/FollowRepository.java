@@ -3,6 +3,8 @@ package com.feelscore.back.repository;
 import com.feelscore.back.entity.Follow;
 import com.feelscore.back.entity.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -31,4 +33,16 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
 
     // Search Followings by nickname (Case Insensitive)
     List<Follow> findByFollowerAndFollowing_NicknameContainingIgnoreCase(Users follower, String nickname);
+
+    // 홈 타임라인용 - 내가 팔로우하는 유저 ID 목록
+    @Query("SELECT f.following.id FROM Follow f WHERE f.follower.id = :followerId")
+    List<Long> findFollowingIdsByFollowerId(@Param("followerId") Long followerId);
+
+    // 홈 타임라인용 - 나를 팔로우하는 유저 ID 목록 (fan-out 대상)
+    @Query("SELECT f.follower.id FROM Follow f WHERE f.following.id = :followingId")
+    List<Long> findFollowerIdsByFollowingId(@Param("followingId") Long followingId);
+
+    // 팔로워 수가 기준 이상인 유저 ID 목록 (fan-out-on-read 대상)
+    @Query("SELECT f.following.id FROM Follow f GROUP BY f.following.id HAVING COUNT(f) >= :threshold")
+    List<Long> findUserIdsWithFollowersAtLeast(@Param("threshold") long threshold);
 }
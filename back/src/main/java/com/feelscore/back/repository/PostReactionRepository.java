@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +22,14 @@ public interface PostReactionRepository extends JpaRepository<PostReaction, Long
     @Query("SELECT r.emotionType, COUNT(r) FROM PostReaction r WHERE r.post = :post GROUP BY r.emotionType")
     List<Object[]> countReactionsByPost(@Param("post") Post post);
 
+    // Count reactions for a whole page of posts at once (postId, emotionType, count)
+    @Query("SELECT r.post.id, r.emotionType, COUNT(r) FROM PostReaction r WHERE r.post.id IN :postIds GROUP BY r.post.id, r.emotionType")
+    List<Object[]> countReactionsByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // 사용자가 리액션한 게시글 ID 목록 (탈퇴 시 카운터 재계산용)
+    @Query("SELECT DISTINCT r.post.id FROM PostReaction r WHERE r.users = :users")
+    List<Long> findPostIdsByUsers(@Param("users") Users users);
+
     void deleteByUsers(Users users);
 
     void deleteAllByPost(Post post);
@@ -5,10 +5,13 @@ import com.feelscore.back.entity.PostStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,7 +25,7 @@ public interface PostRepository extends JpaRepository<Post, Long> {
         Page<Post> findByCategory_IdAndStatus(Long categoryId, PostStatus status, Pageable pageable);
 
         // 특정 사용자의 게시글 목록 조회 (감정 분석 결과 포함)
-        @Query("SELECT p, pe.dominantEmotion FROM Post p LEFT JOIN PostEmotion pe ON p.id = pe.post.id WHERE p.users.id = :userId AND p.status = :status")
+        @Query("SELECT p, p.dominantEmotion FROM Post p WHERE p.users.id = :userId AND p.status = :status")
         Page<Object[]> findByUsers_IdAndStatusWithEmotion(@Param("userId") Long userId,
                         @Param("status") PostStatus status,
                         Pageable pageable);
@@ -61,7 +64,7 @@ public interface PostRepository extends JpaRepository<Post, Long> {
         Page<Post> findByStatusOrderByCreatedAtDesc(PostStatus status, Pageable pageable);
 
         // 여러 카테고리 ID에 속한 게시글 조회 (감정 분석 결과 포함)
-        @Query("SELECT p, pe.dominantEmotion FROM Post p LEFT JOIN PostEmotion pe ON p.id = pe.post.id WHERE p.category.id IN :categoryIds AND p.status = :status")
+        @Query("SELECT p, p.dominantEmotion FROM Post p WHERE p.category.id IN :categoryIds AND p.status = :status")
         Page<Object[]> findByCategory_IdInAndStatusWithEmotion(@Param("categoryIds") List<Long> categoryIds,
                         @Param("status") PostStatus status, Pageable pageable);
 
@@ -72,7 +75,7 @@ public interface PostRepository extends JpaRepository<Post, Long> {
         long countByUsers_Id(Long userId);
 
         // [NEW] 감정별 게시글 목록 조회 (Emotion Filtered Feed)
-        @Query("SELECT p, pe.dominantEmotion FROM Post p JOIN PostEmotion pe ON p.id = pe.post.id WHERE pe.dominantEmotion = :emotionType AND p.status = :status")
+        @Query("SELECT p, p.dominantEmotion FROM Post p WHERE p.dominantEmotion = :emotionType AND p.status = :status")
         Page<Object[]> findByEmotion(@Param("emotionType") com.feelscore.back.entity.EmotionType emotionType,
                         @Param("status") PostStatus status,
                         Pageable pageable);
@@ -80,20 +83,179 @@ public interface PostRepository extends JpaRepository<Post, Long> {
         List<Post> findAllByUsers_Id(Long userId);
 
         // [NEW] 키워드로 게시글 검색 (OR 조건, content에 포함된 게시글)
-        @Query("SELECT p, pe.dominantEmotion FROM Post p LEFT JOIN PostEmotion pe ON p.id = pe.post.id " +
+        @Query("SELECT p, p.dominantEmotion FROM Post p " +
                         "WHERE p.status = :status AND p.content LIKE CONCAT('%', :keyword, '%') " +
                         "ORDER BY p.createdAt DESC")
         Page<Object[]> searchByKeyword(@Param("keyword") String keyword,
                         @Param("status") PostStatus status,
                         Pageable pageable);
 
+        // 검색 색인 결과(postId 목록)에 해당하는 게시글 조회 (감정 분석 결과 포함, 순서는 호출 측에서 정렬)
+        @Query("SELECT p, p.dominantEmotion FROM Post p " +
+                        "WHERE p.id IN :postIds AND p.status = :status")
+        List<Object[]> findWithEmotionByIdIn(@Param("postIds") Collection<Long> postIds,
+                        @Param("status") PostStatus status);
+
+        // 홈 타임라인용 - 작성자 목록의 게시글 ID를 최신순(id 내림차순)으로 조회
+        @Query("SELECT p.id FROM Post p WHERE p.users.id IN :userIds AND p.status = :status AND p.id < :beforeId " +
+                        "ORDER BY p.id DESC")
+        List<Long> findIdsByUsersBefore(@Param("userIds") Collection<Long> userIds,
+                        @Param("status") PostStatus status,
+                        @Param("beforeId") Long beforeId,
+                        Pageable pageable);
+
+        // ===== 감정별 피드 인덱스(EmotionFeedIndex) 적재용 =====
+
+        @Query("SELECT p.id FROM Post p " +
+                        "WHERE p.dominantEmotion = :emotionType AND p.status = :status ORDER BY p.id DESC")
+        List<Long> findIdsByEmotion(@Param("emotionType") com.feelscore.back.entity.EmotionType emotionType,
+                        @Param("status") PostStatus status,
+                        Pageable pageable);
+
+        @Query("SELECT p.dominantEmotion, COUNT(p) FROM Post p " +
+                        "WHERE p.dominantEmotion IS NOT NULL AND p.status = :status GROUP BY p.dominantEmotion")
+        List<Object[]> countByDominantEmotion(@Param("status") PostStatus status);
+
+        @Query("SELECT p.status, p.dominantEmotion FROM Post p WHERE p.id = :postId")
+        List<Object[]> findStatusAndEmotionById(@Param("postId") Long postId);
+
+        // 감정 분석 결과 비정규화 이전에 분석된 게시글 채우기 (분석 결과가 있는데 analyzed = false인 게시글만)
+        @Modifying
+        @Query("UPDATE Post p SET p.dominantEmotion = " +
+                        "(SELECT pe.dominantEmotion FROM PostEmotion pe WHERE pe.post.id = p.id), p.analyzed = true " +
+                        "WHERE p.analyzed = false AND EXISTS (SELECT pe.id FROM PostEmotion pe WHERE pe.post.id = p.id)")
+        int backfillDominantEmotion();
+
+        // 검색 색인 동기화용 - 특정 시각 이후 수정된 게시글
+        @Query("SELECT p FROM Post p WHERE p.updatedAt >= :since")
+        List<Post> findUpdatedSince(@Param("since") java.time.LocalDateTime since);
+
         // [NEW] 카테고리별 게시글 조회 - 총 리액션 수 기준 정렬 (내림차순), 동점시 content 가나다순
-        @Query("SELECT p, pe.dominantEmotion, " +
-                        "(SELECT COUNT(pr) FROM PostReaction pr WHERE pr.post = p) as reactionCount " +
-                        "FROM Post p LEFT JOIN PostEmotion pe ON p.id = pe.post.id " +
+        // 리액션 수는 posts.reaction_count 비정규화 컬럼을 사용 (행마다 COUNT 서브쿼리 X)
+        @Query("SELECT p, p.dominantEmotion FROM Post p " +
                         "WHERE p.category.id IN :categoryIds AND p.status = :status " +
-                        "ORDER BY reactionCount DESC, p.content ASC")
+                        "ORDER BY p.reactionCount DESC, p.content ASC")
         Page<Object[]> findByCategoryOrderByReactionCount(@Param("categoryIds") List<Long> categoryIds,
                         @Param("status") PostStatus status,
                         Pageable pageable);
-}
\ No newline at end of file
+
+        // ===== 비정규화 카운터 (원자적 증감) =====
+
+        @Modifying
+        @Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta WHERE p.id = :postId")
+        int addCommentCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+        // 조회수는 PostViewService가 모아 둔 증가분을 주기적으로 반영 (같은 증가분끼리 한 문장으로)
+        @Transactional
+        @Modifying
+        @Query("UPDATE Post p SET p.viewCount = p.viewCount + :delta WHERE p.id IN :postIds")
+        int addViewCount(@Param("postIds") Collection<Long> postIds, @Param("delta") long delta);
+
+        // 전체 리액션 수와 해당 감정의 리액션 수를 한 문장으로 증감
+        @Modifying
+        @Query("UPDATE Post p SET p.reactionCount = p.reactionCount + :delta, " +
+                        "p.reactionCounts.joyCount = p.reactionCounts.joyCount + CASE WHEN :type = com.feelscore.back.entity.EmotionType.JOY THEN :delta ELSE 0L END," +
+                        "p.reactionCounts.sadnessCount = p.reactionCounts.sadnessCount + CASE WHEN :type = com.feelscore.back.entity.EmotionType.SADNESS THEN :delta ELSE 0L END," +
+                        "p.reactionCounts.angerCount = p.reactionCounts.angerCount + CASE WHEN :type = com.feelscore.back.entity.EmotionType.ANGER THEN :delta ELSE 0L END," +
+                        "p.reactionCounts.fearCount = p.reactionCounts.fearCount + CASE WHEN :type = com.feelscore.back.entity.EmotionType.FEAR THEN :delta ELSE 0L END," +
+                        "p.reactionCounts.disgustCount = p.reactionCounts.disgustCount + CASE WHEN :type = com.feelscore.back.entity.EmotionType.DISGUST THEN :delta ELSE 0L END," +
+                        "p.reactionCounts.surpriseCount = p.reactionCounts.surpriseCount + CASE WHEN :type = com.feelscore.back.entity.EmotionType.SURPRISE THEN :delta ELSE 0L END," +
+                        "p.reactionCounts.contemptCount = p.reactionCounts.contemptCount + CASE WHEN :type = com.feelscore.back.entity.EmotionType.CONTEMPT THEN :delta ELSE 0L END," +
+                        "p.reactionCounts.loveCount = p.reactionCounts.loveCount + CASE WHEN :type = com.feelscore.back.entity.EmotionType.LOVE THEN :delta ELSE 0L END," +
+                        "p.reactionCounts.anticipationCount = p.reactionCounts.anticipationCount + CASE WHEN :type = com.feelscore.back.entity.EmotionType.ANTICIPATION THEN :delta ELSE 0L END," +
+                        "p.reactionCounts.trustCount = p.reactionCounts.trustCount + CASE WHEN :type = com.feelscore.back.entity.EmotionType.TRUST THEN :delta ELSE 0L END," +
+                        "p.reactionCounts.neutralCount = p.reactionCounts.neutralCount + CASE WHEN :type = com.feelscore.back.entity.EmotionType.NEUTRAL THEN :delta ELSE 0L END " +
+                        "WHERE p.id = :postId")
+        int addReactionCount(@Param("postId") Long postId,
+                        @Param("type") com.feelscore.back.entity.EmotionType type,
+                        @Param("delta") long delta);
+
+        // ===== 카운터 재계산 (원본 테이블 기준, 대량 삭제 및 보정 작업용) =====
+
+        @Modifying
+        @Query("UPDATE Post p SET p.commentCount = (SELECT COUNT(c) FROM Comment c WHERE c.post.id = p.id) " +
+                        "WHERE p.id IN :postIds")
+        int recountComments(@Param("postIds") Collection<Long> postIds);
+
+        @Modifying
+        @Query("UPDATE Post p SET p.reactionCount = (SELECT COUNT(r) FROM PostReaction r WHERE r.post.id = p.id), " +
+                        "p.reactionCounts.joyCount = (SELECT COUNT(r) FROM PostReaction r WHERE r.post.id = p.id AND r.emotionType = com.feelscore.back.entity.EmotionType.JOY)," +
+                        "p.reactionCounts.sadnessCount = (SELECT COUNT(r) FROM PostReaction r WHERE r.post.id = p.id AND r.emotionType = com.feelscore.back.entity.EmotionType.SADNESS)," +
+                        "p.reactionCounts.angerCount = (SELECT COUNT(r) FROM PostReaction r WHERE r.post.id = p.id AND r.emotionType = com.feelscore.back.entity.EmotionType.ANGER)," +
+                        "p.reactionCounts.fearCount = (SELECT COUNT(r) FROM PostReaction r WHERE r.post.id = p.id AND r.emotionType = com.feelscore.back.entity.EmotionType.FEAR)," +
+                        "p.reactionCounts.disgustCount = (SELECT COUNT(r) FROM PostReaction r WHERE r.post.id = p.id AND r.emotionType = com.feelscore.back.entity.EmotionType.DISGUST)," +
+                        "p.reactionCounts.surpriseCount = (SELECT COUNT(r) FROM PostReaction r WHERE r.post.id = p.id AND r.emotionType = com.feelscore.back.entity.EmotionType.SURPRISE)," +
+                        "p.reactionCounts.contemptCount = (SELECT COUNT(r) FROM PostReaction r WHERE r.post.id = p.id AND r.emotionType = com.feelscore.back.entity.EmotionType.CONTEMPT)," +
+                        "p.reactionCounts.loveCount = (SELECT COUNT(r) FROM PostReaction r WHERE r.post.id = p.id AND r.emotionType = com.feelscore.back.entity.EmotionType.LOVE)," +
+                        "p.reactionCounts.anticipationCount = (SELECT COUNT(r) FROM PostReaction r WHERE r.post.id = p.id AND r.emotionType = com.feelscore.back.entity.EmotionType.ANTICIPATION)," +
+                        "p.reactionCounts.trustCount = (SELECT COUNT(r) FROM PostReaction r WHERE r.post.id = p.id AND r.emotionType = com.feelscore.back.entity.EmotionType.TRUST)," +
+                        "p.reactionCounts.neutralCount = (SELECT COUNT(r) FROM PostReaction r WHERE r.post.id = p.id AND r.emotionType = com.feelscore.back.entity.EmotionType.NEUTRAL) " +
+                        "WHERE p.id IN :postIds")
+        int recountReactions(@Param("postIds") Collection<Long> postIds);
+
+        // 카운터 컬럼 추가 이전 게시글처럼 댓글 / 리액션이 있는데 카운터가 비어 있는 게시글 (기동 시 보정 여부 판단용)
+        @Query("SELECT p.id FROM Post p WHERE " +
+                        "((p.commentCount IS NULL OR p.commentCount = 0) AND EXISTS (SELECT c.id FROM Comment c WHERE c.post = p)) " +
+                        "OR ((p.reactionCount IS NULL OR p.reactionCount = 0) AND EXISTS (SELECT r.id FROM PostReaction r WHERE r.post = p))")
+        List<Long> findUncountedPostIds(Pageable pageable);
+
+        // 보정 작업용 id 순 청크 조회
+        @Query("SELECT p FROM Post p WHERE p.id > :lastId ORDER BY p.id ASC")
+        List<Post> findChunkAfter(@Param("lastId") Long lastId, Pageable pageable);
+
+        // ===== 커서(keyset) 기반 피드 =====
+        // Pageable은 LIMIT 용도로만 사용 (List 반환이므로 COUNT 쿼리 없음)
+        // (createdAt, id) 정렬은 (카테고리 | 작성자 | 감정, status, createdAt) 복합 인덱스를 그대로 탑니다.
+        // (InnoDB 보조 인덱스는 PK를 포함하므로 id 동점 처리도 인덱스 안에서 해결)
+
+        @Query("SELECT p, p.dominantEmotion FROM Post p " +
+                        "WHERE p.category.id IN :categoryIds AND p.status = :status " +
+                        "AND (p.reactionCount < :reactionCount OR (p.reactionCount = :reactionCount AND p.id < :id)) " +
+                        "ORDER BY p.reactionCount DESC, p.id DESC")
+        List<Object[]> findByCategoryAfterCursor(@Param("categoryIds") List<Long> categoryIds,
+                        @Param("status") PostStatus status,
+                        @Param("reactionCount") Long reactionCount,
+                        @Param("id") Long id,
+                        Pageable pageable);
+
+        @Query("SELECT p, p.dominantEmotion FROM Post p " +
+                        "WHERE p.users.id = :userId AND p.status = :status " +
+                        "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+                        "ORDER BY p.createdAt DESC, p.id DESC")
+        List<Object[]> findByUserAfterCursor(@Param("userId") Long userId,
+                        @Param("status") PostStatus status,
+                        @Param("createdAt") java.time.LocalDateTime createdAt,
+                        @Param("id") Long id,
+                        Pageable pageable);
+
+        @Query("SELECT p, p.dominantEmotion FROM Post p " +
+                        "WHERE p.dominantEmotion = :emotionType AND p.status = :status " +
+                        "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+                        "ORDER BY p.createdAt DESC, p.id DESC")
+        List<Object[]> findByEmotionAfterCursor(
+                        @Param("emotionType") com.feelscore.back.entity.EmotionType emotionType,
+                        @Param("status") PostStatus status,
+                        @Param("createdAt") java.time.LocalDateTime createdAt,
+                        @Param("id") Long id,
+                        Pageable pageable);
+
+        // 유저가 태그된 게시글 (게시글 / 댓글 멘션 모두, id 내림차순)
+        // 목록 응답에 필요한 작성자 / 카테고리까지 한 번에 가져옴
+        @Query("SELECT DISTINCT p, p.dominantEmotion FROM Mention m JOIN m.post p " +
+                        "JOIN FETCH p.users JOIN FETCH p.category " +
+                        "WHERE m.mentionedUser.id = :userId AND p.status = :status AND p.id < :id " +
+                        "ORDER BY p.id DESC")
+        List<Object[]> findTaggedAfterCursor(@Param("userId") Long userId,
+                        @Param("status") PostStatus status,
+                        @Param("id") Long id,
+                        Pageable pageable);
+
+        // 검색 색인을 쓸 수 없을 때의 커서 검색 (색인 검색과 같은 id 내림차순)
+        @Query("SELECT p, p.dominantEmotion FROM Post p " +
+                        "WHERE p.status = :status AND p.content LIKE CONCAT('%', :keyword, '%') AND p.id < :id " +
+                        "ORDER BY p.id DESC")
+        List<Object[]> searchByKeywordAfterCursor(@Param("keyword") String keyword,
+                        @Param("status") PostStatus status,
+                        @Param("id") Long id,
+                        Pageable pageable);
+}
@@ -0,0 +1,41 @@
+package com.feelscore.back.repository;
+
+import com.feelscore.back.entity.PostStatsLedger;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PostStatsLedgerRepository extends JpaRepository<PostStatsLedger, Long> {
+
+    // 아직 반영한 점수가 없으면 0점으로 생성 (동시에 처음 처리돼도 한 행만 생김)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO post_stats_ledger (post_id, category_id, " +
+            "joy_score, sadness_score, anger_score, fear_score, disgust_score, surprise_score, " +
+            "contempt_score, love_score, anticipation_score, trust_score, neutral_score) " +
+            "VALUES (:postId, :categoryId, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0)", nativeQuery = true)
+    int insertIfAbsent(@Param("postId") Long postId, @Param("categoryId") Long categoryId);
+
+    // 같은 게시글의 분석 완료가 동시에 처리되지 않도록 행 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM PostStatsLedger l WHERE l.postId = :postId")
+    Optional<PostStatsLedger> findForUpdate(@Param("postId") Long postId);
+
+    // 원장 도입 이전에 분석된 게시글은 현재 분석 결과가 반영돼 있다고 보고 채움
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO post_stats_ledger (post_id, category_id, " +
+            "joy_score, sadness_score, anger_score, fear_score, disgust_score, surprise_score, " +
+            "contempt_score, love_score, anticipation_score, trust_score, neutral_score) " +
+            "SELECT p.post_id, p.category_id, pe.joy_score, pe.sadness_score, pe.anger_score, pe.fear_score, " +
+            "pe.disgust_score, pe.surprise_score, pe.contempt_score, pe.love_score, pe.anticipation_score, " +
+            "pe.trust_score, pe.neutral_score " +
+            "FROM post_emotions pe JOIN posts p ON p.post_id = pe.post_id " +
+            "WHERE pe.is_analyzed = TRUE", nativeQuery = true)
+    int backfillFromAnalyses();
+}
@@ -0,0 +1,16 @@
+package com.feelscore.back.repository;
+
+import com.feelscore.back.entity.PostView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PostViewRepository extends JpaRepository<PostView, Long> {
+
+    @Modifying
+    @Query("DELETE FROM PostView v WHERE v.users.id = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,70 @@
+package com.feelscore.back.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * post_views 첫 조회 기록 전용 writer
+ * - 조회마다 INSERT하지 않고, 모아 둔 로그인 유저 조회를 JDBC 배치 한 번으로 기록합니다.
+ * - 행마다 중복 판별 기간 안의 기존 기록이 없을 때만 넣으므로, 재시작으로 메모리 중복 판별이 사라져도 조회수가 두 번 오르지 않습니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PostViewWriter {
+
+    private static final int MAX_ROWS_PER_BATCH = 500;
+
+    private static final String INSERT_IF_NOT_VIEWED = "INSERT INTO post_views " +
+            "(post_id, user_id, ip_address, created_at, updated_at) " +
+            "SELECT ?, ?, ?, ?, ? FROM DUAL " +
+            "WHERE NOT EXISTS (SELECT 1 FROM post_views v " +
+            "WHERE v.post_id = ? AND v.user_id = ? AND v.created_at > ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param dedupeHours 이 시간 안에 같은 유저의 기록이 있으면 넣지 않음
+     * @return views와 같은 순서로, 새로 기록됐으면 true
+     */
+    @Transactional
+    public boolean[] insertFirstViews(List<FirstView> views, int dedupeHours) {
+        boolean[] inserted = new boolean[views.size()];
+        for (int from = 0; from < views.size(); from += MAX_ROWS_PER_BATCH) {
+            List<FirstView> chunk = views.subList(from, Math.min(from + MAX_ROWS_PER_BATCH, views.size()));
+            List<Object[]> args = new ArrayList<>(chunk.size());
+            for (FirstView view : chunk) {
+                Timestamp viewedAt = Timestamp.valueOf(view.getViewedAt());
+                args.add(new Object[] { view.getPostId(), view.getUserId(), view.getIpAddress(), viewedAt, viewedAt,
+                        view.getPostId(), view.getUserId(),
+                        Timestamp.valueOf(view.getViewedAt().minusHours(dedupeHours)) });
+            }
+            int[] counts = jdbcTemplate.batchUpdate(INSERT_IF_NOT_VIEWED, args);
+            for (int i = 0; i < counts.length; i++) {
+                inserted[from + i] = counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO;
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * 기록 대기 중인 로그인 유저 조회 1건
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class FirstView {
+        private final Long postId;
+        private final Long userId;
+        private final String ipAddress;
+        private final LocalDateTime viewedAt;
+    }
+}
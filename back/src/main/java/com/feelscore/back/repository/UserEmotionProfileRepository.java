@@ -0,0 +1,107 @@
+package com.feelscore.back.repository;
+
+import com.feelscore.back.entity.UserEmotionProfile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserEmotionProfileRepository extends JpaRepository<UserEmotionProfile, Long> {
+
+        // 게시글 수 / 감정 점수 증감 누적 (없으면 생성) - MySQL upsert
+        @Modifying
+        @Query(value = "INSERT INTO user_emotion_profile (user_id, post_count, " +
+                        "joy_score, sadness_score, anger_score, fear_score, disgust_score, surprise_score, " +
+                        "contempt_score, love_score, anticipation_score, trust_score, neutral_score) " +
+                        "VALUES (:userId, :posts, :joy, :sadness, :anger, :fear, :disgust, :surprise, " +
+                        ":contempt, :love, :anticipation, :trust, :neutral) " +
+                        "ON DUPLICATE KEY UPDATE " +
+                        "post_count = GREATEST(post_count + VALUES(post_count), 0), " +
+                        "joy_score = joy_score + VALUES(joy_score), " +
+                        "sadness_score = sadness_score + VALUES(sadness_score), " +
+                        "anger_score = anger_score + VALUES(anger_score), " +
+                        "fear_score = fear_score + VALUES(fear_score), " +
+                        "disgust_score = disgust_score + VALUES(disgust_score), " +
+                        "surprise_score = surprise_score + VALUES(surprise_score), " +
+                        "contempt_score = contempt_score + VALUES(contempt_score), " +
+                        "love_score = love_score + VALUES(love_score), " +
+                        "anticipation_score = anticipation_score + VALUES(anticipation_score), " +
+                        "trust_score = trust_score + VALUES(trust_score), " +
+                        "neutral_score = neutral_score + VALUES(neutral_score)", nativeQuery = true)
+        int upsert(@Param("userId") Long userId,
+                        @Param("posts") long posts,
+                        @Param("joy") long joy,
+                        @Param("sadness") long sadness,
+                        @Param("anger") long anger,
+                        @Param("fear") long fear,
+                        @Param("disgust") long disgust,
+                        @Param("surprise") long surprise,
+                        @Param("contempt") long contempt,
+                        @Param("love") long love,
+                        @Param("anticipation") long anticipation,
+                        @Param("trust") long trust,
+                        @Param("neutral") long neutral);
+
+        // ===== 원본 테이블 기준 재집계 (countByUsers_IdAndStatus / sumScoresByUserId와 같은 조건) =====
+
+        // 한 사용자 재집계 (게시글이 없으면 0으로 초기화)
+        @Modifying
+        @Query(value = "INSERT INTO user_emotion_profile (user_id, post_count, " +
+                        "joy_score, sadness_score, anger_score, fear_score, disgust_score, surprise_score, " +
+                        "contempt_score, love_score, anticipation_score, trust_score, neutral_score) " +
+                        "SELECT :userId, COUNT(p.post_id), " +
+                        "COALESCE(SUM(pe.joy_score), 0), COALESCE(SUM(pe.sadness_score), 0), " +
+                        "COALESCE(SUM(pe.anger_score), 0), COALESCE(SUM(pe.fear_score), 0), " +
+                        "COALESCE(SUM(pe.disgust_score), 0), COALESCE(SUM(pe.surprise_score), 0), " +
+                        "COALESCE(SUM(pe.contempt_score), 0), COALESCE(SUM(pe.love_score), 0), " +
+                        "COALESCE(SUM(pe.anticipation_score), 0), COALESCE(SUM(pe.trust_score), 0), " +
+                        "COALESCE(SUM(pe.neutral_score), 0) " +
+                        "FROM posts p LEFT JOIN post_emotions pe ON pe.post_id = p.post_id AND pe.is_analyzed = TRUE " +
+                        "WHERE p.user_id = :userId AND p.status = 'NORMAL' " +
+                        "ON DUPLICATE KEY UPDATE " +
+                        "post_count = VALUES(post_count), " +
+                        "joy_score = VALUES(joy_score), " +
+                        "sadness_score = VALUES(sadness_score), " +
+                        "anger_score = VALUES(anger_score), " +
+                        "fear_score = VALUES(fear_score), " +
+                        "disgust_score = VALUES(disgust_score), " +
+                        "surprise_score = VALUES(surprise_score), " +
+                        "contempt_score = VALUES(contempt_score), " +
+                        "love_score = VALUES(love_score), " +
+                        "anticipation_score = VALUES(anticipation_score), " +
+                        "trust_score = VALUES(trust_score), " +
+                        "neutral_score = VALUES(neutral_score)", nativeQuery = true)
+        int rebuild(@Param("userId") Long userId);
+
+        // 게시글이 있는 사용자 전체 재집계 (기동 시 보정 - 기동 중 먼저 쌓인 부분 증감 행도 덮어씀)
+        @Modifying
+        @Query(value = "INSERT INTO user_emotion_profile (user_id, post_count, " +
+                        "joy_score, sadness_score, anger_score, fear_score, disgust_score, surprise_score, " +
+                        "contempt_score, love_score, anticipation_score, trust_score, neutral_score) " +
+                        "SELECT p.user_id, COUNT(p.post_id), " +
+                        "COALESCE(SUM(pe.joy_score), 0), COALESCE(SUM(pe.sadness_score), 0), " +
+                        "COALESCE(SUM(pe.anger_score), 0), COALESCE(SUM(pe.fear_score), 0), " +
+                        "COALESCE(SUM(pe.disgust_score), 0), COALESCE(SUM(pe.surprise_score), 0), " +
+                        "COALESCE(SUM(pe.contempt_score), 0), COALESCE(SUM(pe.love_score), 0), " +
+                        "COALESCE(SUM(pe.anticipation_score), 0), COALESCE(SUM(pe.trust_score), 0), " +
+                        "COALESCE(SUM(pe.neutral_score), 0) " +
+                        "FROM posts p LEFT JOIN post_emotions pe ON pe.post_id = p.post_id AND pe.is_analyzed = TRUE " +
+                        "WHERE p.user_id IS NOT NULL AND p.status = 'NORMAL' " +
+                        "GROUP BY p.user_id " +
+                        "ON DUPLICATE KEY UPDATE " +
+                        "post_count = VALUES(post_count), " +
+                        "joy_score = VALUES(joy_score), " +
+                        "sadness_score = VALUES(sadness_score), " +
+                        "anger_score = VALUES(anger_score), " +
+                        "fear_score = VALUES(fear_score), " +
+                        "disgust_score = VALUES(disgust_score), " +
+                        "surprise_score = VALUES(surprise_score), " +
+                        "contempt_score = VALUES(contempt_score), " +
+                        "love_score = VALUES(love_score), " +
+                        "anticipation_score = VALUES(anticipation_score), " +
+                        "trust_score = VALUES(trust_score), " +
+                        "neutral_score = VALUES(neutral_score)", nativeQuery = true)
+        int rebuildAll();
+}
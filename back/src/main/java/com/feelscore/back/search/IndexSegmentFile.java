@@ -0,0 +1,157 @@
+package com.feelscore.back.search;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 역색인 스냅샷을 메모리 매핑 파일(segment)로 저장 / 로드합니다.
+ * - 재시작 시 posts 전체를 다시 토큰화하지 않고 파일을 매핑해서 바로 색인을 복원
+ * - 파일 구조: [magic][version][snapshotAt][문서 수][(docId, length)...][term 수][(term, posting 수, ids..., tfs...)...]
+ * - 임시 파일에 쓴 뒤 원자적으로 교체하므로, 쓰는 도중 종료되어도 이전 스냅샷은 그대로 남습니다.
+ */
+public final class IndexSegmentFile {
+
+    private static final int MAGIC = 0x46534958; // "FSIX"
+    private static final int VERSION = 1;
+
+    private IndexSegmentFile() {
+    }
+
+    public static void write(InvertedIndex index, Path file, long snapshotAtMillis) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        index.lock().readLock().lock();
+        try {
+            List<byte[]> termBytes = new ArrayList<>(index.postings.size());
+            List<InvertedIndex.Postings> termPostings = new ArrayList<>(index.postings.size());
+            long size = 4 + 4 + 8 + 4 + (long) index.docs.size() * 12 + 4;
+            for (Map.Entry<String, InvertedIndex.Postings> entry : index.postings.entrySet()) {
+                byte[] bytes = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                termBytes.add(bytes);
+                termPostings.add(entry.getValue());
+                size += 4 + bytes.length + 4 + (long) entry.getValue().size * 12;
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Index segment too large to map: " + size + " bytes");
+            }
+
+            Files.deleteIfExists(tmp);
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buf.putInt(MAGIC);
+                buf.putInt(VERSION);
+                buf.putLong(snapshotAtMillis);
+
+                buf.putInt(index.docs.size());
+                for (Map.Entry<Long, InvertedIndex.DocEntry> doc : index.docs.entrySet()) {
+                    buf.putLong(doc.getKey());
+                    buf.putInt(doc.getValue().length);
+                }
+
+                buf.putInt(termBytes.size());
+                for (int i = 0; i < termBytes.size(); i++) {
+                    byte[] bytes = termBytes.get(i);
+                    InvertedIndex.Postings p = termPostings.get(i);
+                    buf.putInt(bytes.length);
+                    buf.put(bytes);
+                    buf.putInt(p.size);
+                    for (int j = 0; j < p.size; j++) {
+                        buf.putLong(p.ids[j]);
+                    }
+                    for (int j = 0; j < p.size; j++) {
+                        buf.putInt(p.tfs[j]);
+                    }
+                }
+                buf.force();
+            }
+        } finally {
+            index.lock().readLock().unlock();
+        }
+
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return 로드된 스냅샷, 파일이 없으면 null
+     */
+    public static Loaded read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        InvertedIndex index = new InvertedIndex();
+        long snapshotAt;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buf.getInt() != MAGIC || buf.getInt() != VERSION) {
+                throw new IOException("Unsupported index segment: " + file);
+            }
+            snapshotAt = buf.getLong();
+
+            int docCount = buf.getInt();
+            Map<Long, Integer> lengths = new HashMap<>(docCount * 2);
+            for (int i = 0; i < docCount; i++) {
+                lengths.put(buf.getLong(), buf.getInt());
+            }
+
+            Map<Long, List<String>> docTerms = new HashMap<>(docCount * 2);
+            int termCount = buf.getInt();
+            for (int i = 0; i < termCount; i++) {
+                byte[] bytes = new byte[buf.getInt()];
+                buf.get(bytes);
+                String term = new String(bytes, StandardCharsets.UTF_8);
+
+                int n = buf.getInt();
+                InvertedIndex.Postings p = new InvertedIndex.Postings();
+                p.ids = new long[Math.max(n, 1)];
+                p.tfs = new int[Math.max(n, 1)];
+                for (int j = 0; j < n; j++) {
+                    p.ids[j] = buf.getLong();
+                    docTerms.computeIfAbsent(p.ids[j], id -> new ArrayList<>()).add(term);
+                }
+                for (int j = 0; j < n; j++) {
+                    p.tfs[j] = buf.getInt();
+                }
+                p.size = n;
+                index.postings.put(term, p);
+            }
+
+            for (Map.Entry<Long, Integer> entry : lengths.entrySet()) {
+                List<String> terms = docTerms.getOrDefault(entry.getKey(), new ArrayList<>());
+                index.docs.put(entry.getKey(), new InvertedIndex.DocEntry(terms.toArray(new String[0]), entry.getValue()));
+                index.totalLength += entry.getValue();
+            }
+        }
+        return new Loaded(index, snapshotAt);
+    }
+
+    public static class Loaded {
+        private final InvertedIndex index;
+        private final long snapshotAtMillis;
+
+        Loaded(InvertedIndex index, long snapshotAtMillis) {
+            this.index = index;
+            this.snapshotAtMillis = snapshotAtMillis;
+        }
+
+        public InvertedIndex getIndex() {
+            return index;
+        }
+
+        public long getSnapshotAtMillis() {
+            return snapshotAtMillis;
+        }
+    }
+}
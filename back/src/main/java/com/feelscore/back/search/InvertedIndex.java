@@ -0,0 +1,358 @@
+package com.feelscore.back.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 게시글 본문 역색인 (in-process)
+ * - term → (postId 오름차순 배열, 출현 횟수 배열) 형태의 posting list
+ * - 검색은 키워드별 gram posting의 교집합, 키워드 간 AND(교집합) / OR(합집합) 후 BM25로 정렬
+ * - 쓰기(색인/삭제)는 write lock, 검색은 read lock으로 보호합니다.
+ */
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    final Map<String, Postings> postings = new HashMap<>();
+    final Map<Long, DocEntry> docs = new HashMap<>();
+    long totalLength;
+
+    /**
+     * 게시글을 색인합니다. 이미 색인된 게시글이면 이전 내용을 지우고 다시 색인합니다.
+     */
+    public void index(long docId, String content) {
+        Map<String, Integer> termFreqs = KoreanNgramTokenizer.tokenizeDocument(content);
+        int length = 0;
+        for (int tf : termFreqs.values()) {
+            length += tf;
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(docId);
+            if (termFreqs.isEmpty()) {
+                return;
+            }
+            String[] terms = new String[termFreqs.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : termFreqs.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), t -> new Postings()).put(docId, entry.getValue());
+                terms[i++] = entry.getKey();
+            }
+            docs.put(docId, new DocEntry(terms, length));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long docId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeInternal(long docId) {
+        DocEntry entry = docs.remove(docId);
+        if (entry == null) {
+            return;
+        }
+        for (String term : entry.terms) {
+            Postings p = postings.get(term);
+            if (p != null && p.remove(docId) && p.size == 0) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= entry.length;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return 검색 결과, 색인으로 처리할 수 없는 키워드가 있으면 null (호출 측에서 DB 검색으로 대체)
+     */
+    public SearchHits search(List<String> keywords, SearchMode mode, int offset, int limit) {
+        List<List<String>> keywordGrams = tokenizeKeywords(keywords);
+        if (keywordGrams == null) {
+            return null;
+        }
+        if (keywordGrams.isEmpty()) {
+            return SearchHits.EMPTY;
+        }
+
+        lock.readLock().lock();
+        try {
+            // 1. 키워드별 후보 문서 (해당 키워드의 gram을 모두 포함)
+            long[] candidates = matchKeywords(keywordGrams, mode);
+            if (candidates.length == 0 || offset >= candidates.length) {
+                return new SearchHits(Collections.emptyList(), candidates.length);
+            }
+
+            // 2. BM25 점수 계산 (쿼리 gram 전체 기준)
+            Set<String> queryTerms = new LinkedHashSet<>();
+            keywordGrams.forEach(queryTerms::addAll);
+            double[] scores = score(candidates, queryTerms);
+
+            // 3. 점수 내림차순, 동점이면 최신 게시글(id 큰 순)
+            Integer[] order = new Integer[candidates.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            final long[] ids = candidates;
+            Arrays.sort(order, (a, b) -> {
+                int cmp = Double.compare(scores[b], scores[a]);
+                return cmp != 0 ? cmp : Long.compare(ids[b], ids[a]);
+            });
+
+            int end = (int) Math.min((long) offset + limit, candidates.length);
+            List<Long> page = new ArrayList<>(end - offset);
+            for (int i = offset; i < end; i++) {
+                page.add(ids[order[i]]);
+            }
+            return new SearchHits(page, candidates.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 키워드에 맞는 게시글 중 beforeId보다 작은 id를 최신순(id 내림차순)으로 최대 limit개 반환합니다. (커서 검색용)
+     *
+     * @return 게시글 id 목록, 색인으로 처리할 수 없는 키워드가 있으면 null
+     */
+    public List<Long> searchBefore(List<String> keywords, SearchMode mode, long beforeId, int limit) {
+        List<List<String>> keywordGrams = tokenizeKeywords(keywords);
+        if (keywordGrams == null) {
+            return null;
+        }
+        if (keywordGrams.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            long[] candidates = matchKeywords(keywordGrams, mode);
+            // 후보는 id 오름차순이므로 beforeId 바로 앞부터 거꾸로 읽음
+            int pos = Arrays.binarySearch(candidates, beforeId);
+            int from = (pos >= 0 ? pos : -pos - 1) - 1;
+            List<Long> page = new ArrayList<>(Math.min(limit, from + 1));
+            for (int i = from; i >= 0 && page.size() < limit; i--) {
+                page.add(candidates[i]);
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 키워드별 검색 gram, 색인으로 처리할 수 없는 키워드가 있으면 null
+    private List<List<String>> tokenizeKeywords(List<String> keywords) {
+        List<List<String>> keywordGrams = new ArrayList<>();
+        for (String keyword : keywords) {
+            List<String> grams = KoreanNgramTokenizer.tokenizeQuery(keyword);
+            if (grams == null) {
+                return null;
+            }
+            keywordGrams.add(grams);
+        }
+        return keywordGrams;
+    }
+
+    // 키워드 간 AND(교집합) / OR(합집합) 후보 (id 오름차순)
+    private long[] matchKeywords(List<List<String>> keywordGrams, SearchMode mode) {
+        long[] candidates = null;
+        for (List<String> grams : keywordGrams) {
+            long[] matched = matchAll(grams);
+            if (candidates == null) {
+                candidates = matched;
+            } else if (mode == SearchMode.AND) {
+                candidates = intersect(candidates, candidates.length, matched, matched.length);
+            } else {
+                candidates = union(candidates, matched);
+            }
+        }
+        return candidates;
+    }
+
+    private long[] matchAll(List<String> grams) {
+        List<Postings> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            Postings p = postings.get(gram);
+            if (p == null) {
+                return new long[0];
+            }
+            lists.add(p);
+        }
+        // 가장 짧은 posting부터 교집합
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+        long[] result = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, result.length, lists.get(i).ids, lists.get(i).size);
+        }
+        return result;
+    }
+
+    private double[] score(long[] candidates, Set<String> queryTerms) {
+        double[] scores = new double[candidates.length];
+        int n = docs.size();
+        double avgdl = n > 0 ? (double) totalLength / n : 1.0;
+
+        for (String term : queryTerms) {
+            Postings p = postings.get(term);
+            if (p == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (n - p.size + 0.5) / (p.size + 0.5));
+            for (int i = 0; i < candidates.length; i++) {
+                int pos = Arrays.binarySearch(p.ids, 0, p.size, candidates[i]);
+                if (pos < 0) {
+                    continue;
+                }
+                int tf = p.tfs[pos];
+                DocEntry doc = docs.get(candidates[i]);
+                double dl = doc != null ? doc.length : avgdl;
+                scores[i] += idf * (tf * (K1 + 1)) / (tf + K1 * (1 - B + B * dl / avgdl));
+            }
+        }
+        return scores;
+    }
+
+    static long[] intersect(long[] a, int aLen, long[] b, int bLen) {
+        long[] out = new long[Math.min(aLen, bLen)];
+        int i = 0, j = 0, k = 0;
+        while (i < aLen && j < bLen) {
+            if (a[i] == b[j]) {
+                out[k++] = a[i];
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, k);
+    }
+
+    static long[] union(long[] a, long[] b) {
+        long[] out = new long[a.length + b.length];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length || j < b.length) {
+            if (j >= b.length || (i < a.length && a[i] < b[j])) {
+                out[k++] = a[i++];
+            } else if (i >= a.length || b[j] < a[i]) {
+                out[k++] = b[j++];
+            } else {
+                out[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, k);
+    }
+
+    ReentrantReadWriteLock lock() {
+        return lock;
+    }
+
+    /**
+     * term 하나의 posting list (postId 오름차순)
+     */
+    static final class Postings {
+        long[] ids = new long[4];
+        int[] tfs = new int[4];
+        int size;
+
+        void put(long docId, int tf) {
+            // 새 게시글은 id가 가장 크므로 대부분 뒤에 붙이기만 하면 됨
+            if (size == 0 || ids[size - 1] < docId) {
+                ensureCapacity(size + 1);
+                ids[size] = docId;
+                tfs[size] = tf;
+                size++;
+                return;
+            }
+            int pos = Arrays.binarySearch(ids, 0, size, docId);
+            if (pos >= 0) {
+                tfs[pos] = tf;
+                return;
+            }
+            int insertAt = -pos - 1;
+            ensureCapacity(size + 1);
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(tfs, insertAt, tfs, insertAt + 1, size - insertAt);
+            ids[insertAt] = docId;
+            tfs[insertAt] = tf;
+            size++;
+        }
+
+        boolean remove(long docId) {
+            int pos = Arrays.binarySearch(ids, 0, size, docId);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            System.arraycopy(tfs, pos + 1, tfs, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > ids.length) {
+                int newCapacity = Math.max(capacity, ids.length + (ids.length >> 1));
+                ids = Arrays.copyOf(ids, newCapacity);
+                tfs = Arrays.copyOf(tfs, newCapacity);
+            }
+        }
+    }
+
+    static final class DocEntry {
+        final String[] terms;
+        final int length;
+
+        DocEntry(String[] terms, int length) {
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+
+    public static class SearchHits {
+        static final SearchHits EMPTY = new SearchHits(Collections.emptyList(), 0);
+
+        private final List<Long> ids;
+        private final long total;
+
+        SearchHits(List<Long> ids, long total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.feelscore.back.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 한국어 게시글용 n-gram 토크나이저
+ * - 공백/문장부호로 어절을 나누고, 한글 / 영문 / 숫자가 바뀌는 지점에서 한 번 더 나눕니다. (예: "아이폰15를" → "아이폰", "15", "를")
+ * - 문서는 각 토막의 bigram + trigram으로 색인합니다. 조사가 붙은 어절("학교에서")도 "학교"로 검색됩니다.
+ * - 검색어는 토막 길이가 3 이상이면 trigram, 2이면 bigram만 사용합니다. (한 글자 토막은 색인으로 처리할 수 없음)
+ */
+public final class KoreanNgramTokenizer {
+
+    private KoreanNgramTokenizer() {
+    }
+
+    /**
+     * 문서 토큰화 결과 (term → 출현 횟수)
+     */
+    public static Map<String, Integer> tokenizeDocument(String text) {
+        Map<String, Integer> termFreqs = new HashMap<>();
+        for (String run : splitRuns(text)) {
+            int len = run.length();
+            for (int i = 0; i + 2 <= len; i++) {
+                termFreqs.merge(run.substring(i, i + 2), 1, Integer::sum);
+            }
+            for (int i = 0; i + 3 <= len; i++) {
+                termFreqs.merge(run.substring(i, i + 3), 1, Integer::sum);
+            }
+        }
+        return termFreqs;
+    }
+
+    /**
+     * 검색어 하나를 gram 목록으로 변환합니다.
+     *
+     * @return 중복 없는 gram 목록, 색인으로 처리할 수 없는 검색어(한 글자 토막 포함)면 null
+     */
+    public static List<String> tokenizeQuery(String keyword) {
+        List<String> runs = splitRuns(keyword);
+        if (runs.isEmpty()) {
+            return null;
+        }
+
+        Set<String> grams = new LinkedHashSet<>();
+        for (String run : runs) {
+            int len = run.length();
+            if (len < 2) {
+                return null;
+            }
+            int n = len >= 3 ? 3 : 2;
+            for (int i = 0; i + n <= len; i++) {
+                grams.add(run.substring(i, i + n));
+            }
+        }
+        return new ArrayList<>(grams);
+    }
+
+    static List<String> splitRuns(String text) {
+        List<String> runs = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return runs;
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder current = new StringBuilder();
+        int currentScript = -1;
+
+        for (int i = 0; i < normalized.length(); i++) {
+            char ch = normalized.charAt(i);
+            int script = scriptOf(ch);
+            if (script < 0) {
+                flush(runs, current);
+                currentScript = -1;
+                continue;
+            }
+            if (script != currentScript) {
+                flush(runs, current);
+                currentScript = script;
+            }
+            current.append(ch);
+        }
+        flush(runs, current);
+        return runs;
+    }
+
+    private static void flush(List<String> runs, StringBuilder current) {
+        if (current.length() > 0) {
+            runs.add(current.toString());
+            current.setLength(0);
+        }
+    }
+
+    // 0: 한글, 1: 숫자, 2: 그 외 문자, -1: 구분자
+    private static int scriptOf(char ch) {
+        if ((ch >= '가' && ch <= '힣') || (ch >= 'ㄱ' && ch <= 'ㆎ')) {
+            return 0;
+        }
+        if (Character.isDigit(ch)) {
+            return 1;
+        }
+        if (Character.isLetter(ch)) {
+            return 2;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,187 @@
+package com.feelscore.back.search;
+
+import com.feelscore.back.entity.Post;
+import com.feelscore.back.entity.PostStatus;
+import com.feelscore.back.repository.PostRepository;
+import com.feelscore.back.util.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 게시글 검색 색인 관리
+ * - 기동 시: 스냅샷(segment 파일)이 있으면 매핑해서 복원 후 그 이후 변경분만 반영, 없으면 posts 전체 색인
+ * - 게시글 작성 / 수정 / 삭제 시 트랜잭션 커밋 이후 반영 (PostService에서 호출, 롤백된 변경은 반영하지 않음)
+ * - search.index.dir 이 설정된 경우에만 주기적으로 스냅샷을 저장합니다.
+ * - 색인이 준비되기 전에는 isReady()가 false이므로 호출 측은 DB(LIKE) 검색을 사용합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostSearchIndex {
+
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+    private static final String SEGMENT_FILE_NAME = "posts.idx";
+    // 스냅샷 시각 직전에 시작되어 늦게 커밋된 트랜잭션까지 다시 반영하기 위한 여유
+    private static final long CATCH_UP_MARGIN_SECONDS = 60;
+
+    private final PostRepository postRepository;
+
+    @Value("${search.index.dir:}")
+    private String indexDir;
+
+    private volatile InvertedIndex index = new InvertedIndex();
+    private volatile boolean ready = false;
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public void index(Long postId, String content) {
+        AfterCommit.run(() -> {
+            index.index(postId, content);
+            dirty.set(true);
+        });
+    }
+
+    public void remove(Long postId) {
+        AfterCommit.run(() -> {
+            index.remove(postId);
+            dirty.set(true);
+        });
+    }
+
+    /**
+     * @return 검색 결과, 색인이 준비되지 않았거나 색인으로 처리할 수 없는 검색어면 null
+     */
+    public InvertedIndex.SearchHits search(List<String> keywords, SearchMode mode, int offset, int limit) {
+        if (!ready) {
+            return null;
+        }
+        return index.search(keywords, mode, offset, limit);
+    }
+
+    /**
+     * 커서 검색용 - beforeId보다 오래된 게시글 id를 최신순으로
+     *
+     * @return 게시글 id 목록, 색인이 준비되지 않았거나 색인으로 처리할 수 없는 검색어면 null
+     */
+    public List<Long> searchBefore(List<String> keywords, SearchMode mode, long beforeId, int limit) {
+        if (!ready) {
+            return null;
+        }
+        return index.searchBefore(keywords, mode, beforeId, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        long started = System.currentTimeMillis();
+        LocalDateTime catchUpSince = null;
+
+        Path segment = segmentPath();
+        if (segment != null) {
+            try {
+                IndexSegmentFile.Loaded loaded = IndexSegmentFile.read(segment);
+                if (loaded != null) {
+                    index = loaded.getIndex();
+                    catchUpSince = toLocalDateTime(loaded.getSnapshotAtMillis());
+                    log.info("Loaded post search segment {} ({} posts)", segment, index.size());
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to load post search segment {}, rebuilding from DB", segment, e);
+                index = new InvertedIndex();
+            }
+        }
+
+        try {
+            if (catchUpSince == null) {
+                catchUpSince = LocalDateTime.now();
+                rebuildFromDatabase();
+            }
+            catchUp(catchUpSince.minusSeconds(CATCH_UP_MARGIN_SECONDS));
+            ready = true;
+            dirty.set(true);
+            log.info("Post search index ready: {} posts in {} ms", index.size(),
+                    System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            log.error("Failed to build post search index, falling back to DB search", e);
+        }
+    }
+
+    private void rebuildFromDatabase() {
+        long lastId = 0L;
+        List<Post> chunk;
+        while (!(chunk = postRepository.findChunkAfter(lastId, PageRequest.of(0, REBUILD_CHUNK_SIZE))).isEmpty()) {
+            for (Post post : chunk) {
+                if (post.getStatus() == PostStatus.NORMAL) {
+                    index.index(post.getId(), post.getContent());
+                }
+            }
+            lastId = chunk.get(chunk.size() - 1).getId();
+        }
+    }
+
+    // 스냅샷(또는 재색인 시작) 이후 수정된 게시글 반영 (삭제 처리도 updatedAt이 갱신됨)
+    private void catchUp(LocalDateTime since) {
+        for (Post post : postRepository.findUpdatedSince(since)) {
+            if (post.getStatus() == PostStatus.NORMAL) {
+                index.index(post.getId(), post.getContent());
+            } else {
+                index.remove(post.getId());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.snapshot-interval-ms:600000}")
+    public void persistSnapshot() {
+        Path segment = segmentPath();
+        if (segment == null || !ready || !dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            Files.createDirectories(segment.getParent());
+            IndexSegmentFile.write(index, segment, System.currentTimeMillis());
+            log.info("Saved post search segment {} ({} posts)", segment, index.size());
+        } catch (IOException | RuntimeException e) {
+            dirty.set(true);
+            log.warn("Failed to save post search segment {}", segment, e);
+        }
+    }
+
+    @PreDestroy
+    public void onShutdown() {
+        persistSnapshot();
+    }
+
+    private Path segmentPath() {
+        if (indexDir == null || indexDir.isBlank()) {
+            return null;
+        }
+        return Paths.get(indexDir).toAbsolutePath().resolve(SEGMENT_FILE_NAME);
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,6 @@
+package com.feelscore.back.search;
+
+public enum SearchMode {
+    AND, // 모든 키워드를 포함
+    OR   // 키워드 중 하나라도 포함
+}
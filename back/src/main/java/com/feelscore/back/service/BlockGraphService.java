@@ -0,0 +1,175 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.repository.BlockRepository;
+import com.feelscore.back.util.AfterCommit;
+import com.feelscore.back.util.LongHashSet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * 차단 관계 캐시 (유저별 내가 차단한 / 나를 차단한 유저 id 셋)
+ * - DM, 팔로우, 멘션, 피드에서 차단 여부를 볼 때마다 block 테이블을 조회하지 않도록, 유저별 두 셋을 LRU로 들고 있습니다.
+ * - BlockService에서 차단 / 해제가 커밋되면 두 유저의 항목을 버리고, 다음 조회 때 다시 적재합니다.
+ * - 적재는 호출한 쪽 커넥션으로 읽고(새 트랜잭션을 열지 않음), 최신 커밋을 읽은 경우에만 캐시에 넣습니다.
+ *   트랜잭션 밖(autocommit)이나 READ_COMMITTED 트랜잭션에서는 적재 시작 전에 커밋된 차단이 항상 보이고,
+ *   적재 도중 커밋된 차단은 무효화 세대가 바뀌므로 적재 결과를 저장하지 않습니다.
+ *   REPEATABLE READ 트랜잭션의 스냅샷은 이미 무효화된 차단 이전 상태일 수 있으므로 그 요청에만 쓰고 저장하지 않습니다.
+ * - 로그인 요청은 BlockGraphPreloadInterceptor가 트랜잭션이 열리기 전에 조회자 항목을 미리 적재합니다.
+ */
+@Service
+public class BlockGraphService {
+
+    private final BlockRepository blockRepository;
+    private final Map<Long, Edges> entries;
+    // 무효화될 때마다 증가 (적재 중에 무효화가 있었는지 확인용)
+    private final AtomicLong generation = new AtomicLong();
+
+    public BlockGraphService(BlockRepository blockRepository,
+            @Value("${block-graph.cache.max-entries:50000}") int maxEntries) {
+        this.blockRepository = blockRepository;
+        this.entries = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Edges> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * blockerId가 blockedId를 차단했는지
+     */
+    public boolean isBlocking(Long blockerId, Long blockedId) {
+        return edgesOf(blockerId).blocked.contains(blockedId);
+    }
+
+    /**
+     * 두 유저 중 한쪽이라도 상대를 차단했는지
+     */
+    public boolean isBlockedEitherWay(Long userId, Long otherUserId) {
+        return edgesOf(userId).hides(otherUserId);
+    }
+
+    /**
+     * viewer에게 보여도 되는 항목만 남김 (순서 유지, viewer가 없으면 그대로)
+     *
+     * @param authorIdOf 항목의 작성자 id
+     */
+    public <T> List<T> filterVisible(Long viewerId, List<T> items, ToLongFunction<T> authorIdOf) {
+        if (viewerId == null || items.isEmpty()) {
+            return items;
+        }
+        Edges edges = edgesOf(viewerId);
+        if (edges.isEmpty()) {
+            return items;
+        }
+        List<T> visible = new ArrayList<>(items.size());
+        for (T item : items) {
+            if (!edges.hides(authorIdOf.applyAsLong(item))) {
+                visible.add(item);
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * 트랜잭션이 열리기 전에 유저의 차단 관계를 캐시에 적재 (이미 있으면 아무것도 하지 않음)
+     */
+    public void preload(Long userId) {
+        if (userId != null) {
+            edgesOf(userId);
+        }
+    }
+
+    /**
+     * 두 유저 사이 차단 관계가 바뀐 뒤 호출 (커밋 이후 반영)
+     */
+    public void invalidate(Long userId, Long otherUserId) {
+        AfterCommit.run(() -> {
+            synchronized (entries) {
+                generation.incrementAndGet();
+                entries.remove(userId);
+                entries.remove(otherUserId);
+            }
+        });
+    }
+
+    /**
+     * 여러 유저의 차단 관계가 한꺼번에 바뀐 뒤 호출 (회원 탈퇴, 커밋 이후 반영)
+     */
+    public void invalidateAll() {
+        AfterCommit.run(() -> {
+            synchronized (entries) {
+                generation.incrementAndGet();
+                entries.clear();
+            }
+        });
+    }
+
+    private Edges edgesOf(Long userId) {
+        synchronized (entries) {
+            Edges cached = entries.get(userId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        long loadedAt = generation.get();
+        Edges loaded = new Edges(toSet(blockRepository.findBlockedIdsByBlockerId(userId)),
+                toSet(blockRepository.findBlockerIdsByBlockedId(userId)));
+        if (!readsLatestCommitted()) {
+            return loaded;
+        }
+        synchronized (entries) {
+            if (generation.get() == loadedAt) {
+                entries.put(userId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    // 지금 읽으면 문장마다 최신 커밋을 보는지 (트랜잭션 밖 autocommit 또는 READ_COMMITTED 트랜잭션)
+    private static boolean readsLatestCommitted() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return true;
+        }
+        Integer isolation = TransactionSynchronizationManager.getCurrentTransactionIsolationLevel();
+        return isolation != null && isolation == TransactionDefinition.ISOLATION_READ_COMMITTED;
+    }
+
+    private static LongHashSet toSet(List<Long> ids) {
+        LongHashSet set = new LongHashSet(ids.size());
+        for (Long id : ids) {
+            set.add(id);
+        }
+        return set;
+    }
+
+    // 한 유저의 차단 관계 (적재 후에는 읽기만 함)
+    private static final class Edges {
+
+        private final LongHashSet blocked;
+        private final LongHashSet blockedBy;
+
+        private Edges(LongHashSet blocked, LongHashSet blockedBy) {
+            this.blocked = blocked;
+            this.blockedBy = blockedBy;
+        }
+
+        private boolean hides(long otherUserId) {
+            return blocked.contains(otherUserId) || blockedBy.contains(otherUserId);
+        }
+
+        private boolean isEmpty() {
+            return blocked.isEmpty() && blockedBy.isEmpty();
+        }
+    }
+}
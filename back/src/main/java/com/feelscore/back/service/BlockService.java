@@ -22,6 +22,7 @@ public class BlockService {
 
         private final BlockRepository blockRepository;
         private final UserRepository userRepository;
+        private final BlockGraphService blockGraphService;
 
         /**
          * 유저 차단하기
@@ -49,6 +50,7 @@ public class BlockService {
                                 .build();
 
                 blockRepository.save(block);
+                blockGraphService.invalidate(blockerId, blockedId);
         }
 
         /**
@@ -62,6 +64,7 @@ public class BlockService {
                                 .orElseThrow(() -> new NoSuchElementException("User not found: " + blockedId));
 
                 blockRepository.deleteByBlockerAndBlocked(blocker, blocked);
+                blockGraphService.invalidate(blockerId, blockedId);
         }
 
         /**
@@ -81,6 +84,7 @@ public class BlockService {
                 Users user = userRepository.findById(userId).orElseThrow();
                 blockRepository.deleteByBlocker(user);
                 blockRepository.deleteByBlocked(user);
+                blockGraphService.invalidateAll();
         }
 
 }
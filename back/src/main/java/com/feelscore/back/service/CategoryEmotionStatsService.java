@@ -20,6 +20,7 @@ public class CategoryEmotionStatsService {
 
     private final CategoryEmotionStatsRepository statsRepository;
     private final CategoryRepository categoryRepository;
+    private final GlobalEmotionTotals globalEmotionTotals;
 
 
     // 이전에 구현된 PostEmotionService의 통계 로직을 가져왔음을 가정합니다.
@@ -54,6 +55,7 @@ public class CategoryEmotionStatsService {
 
         // 3. 변경된 것들만 한 번에 저장 (새로 생성된 엔티티 포함)
         statsRepository.saveAll(statsMap.values());
+        globalEmotionTotals.requestReconcile();
     }
 
     // 메모리에서 통계 업데이트 (내부 헬퍼 메서드)
@@ -81,6 +83,10 @@ public class CategoryEmotionStatsService {
 
     // 전체 감정 순위 조회 (카테고리 무관, count 기준)
     public List<CategoryEmotionStatsDto.GlobalRankingResponse> getGlobalEmotionRankingByCount() {
+        // 메모리의 감정별 합계가 준비됐으면 DB 조회 없이 정렬만
+        if (globalEmotionTotals.isReady()) {
+            return rankFromTotals(true);
+        }
         // 🚨 수정: 리포지토리에서 GlobalStatProjection DTO를 바로 반환하도록 변경 (List<Object[]> 대신)
         // 리포지토리 쿼리가 TotalCount와 TotalScore를 모두 SUM하도록 수정되었음을 가정합니다.
         List<GlobalStatProjection> results = statsRepository.getEmotionRankingByCountProjection();
@@ -104,6 +110,9 @@ public class CategoryEmotionStatsService {
 
     // 전체 감정 순위 조회 (카테고리 무관, score 기준)
     public List<CategoryEmotionStatsDto.GlobalRankingResponse> getGlobalEmotionRankingByScore() {
+        if (globalEmotionTotals.isReady()) {
+            return rankFromTotals(false);
+        }
         // 🚨 수정: 리포지토리에서 GlobalStatProjection DTO를 바로 반환하도록 변경
         // 리포지토리 쿼리가 TotalCount와 TotalScore를 모두 SUM하도록 수정되었음을 가정합니다.
         List<GlobalStatProjection> results = statsRepository.getEmotionRankingByScoreProjection();
@@ -123,6 +132,33 @@ public class CategoryEmotionStatsService {
 
         return rankings;
     }
+    // 감정별 합계 복사본을 정렬해 순위 매기기 (통계 행이 없는 감정은 DB 쿼리처럼 제외)
+    private List<CategoryEmotionStatsDto.GlobalRankingResponse> rankFromTotals(boolean byCount) {
+        long[] counts = globalEmotionTotals.copyCounts();
+        long[] scores = globalEmotionTotals.copyScores();
+        long[] keys = byCount ? counts : scores;
+
+        List<EmotionType> types = new ArrayList<>();
+        for (EmotionType type : EmotionType.values()) {
+            if (counts[type.ordinal()] != 0 || scores[type.ordinal()] != 0) {
+                types.add(type);
+            }
+        }
+        types.sort(Comparator.comparingLong((EmotionType type) -> keys[type.ordinal()]).reversed());
+
+        List<CategoryEmotionStatsDto.GlobalRankingResponse> rankings = new ArrayList<>(types.size());
+        for (int i = 0; i < types.size(); i++) {
+            EmotionType type = types.get(i);
+            rankings.add(CategoryEmotionStatsDto.GlobalRankingResponse.of(
+                    type,
+                    counts[type.ordinal()],
+                    scores[type.ordinal()],
+                    i + 1 // 순위
+            ));
+        }
+        return rankings;
+    }
+
     // 🌟 추가할 메서드: 특정 카테고리 내 감정 순위 조회 (점수 높은 순)
     /**
      * 특정 카테고리의 모든 감정 통계를 조회하고, 점수 총합을 기준으로 순위를 매겨 DTO로 변환합니다.
@@ -22,6 +22,7 @@ public class CategoryHistoryScheduler {
     private final CategoryStatsService categoryStatsService;
     private final CategoryRepository categoryRepository;
     private final CategoryHistoryRepository categoryHistoryRepository;
+    private final CategoryHistorySnapshotService categoryHistorySnapshotService;
 
     // Run every 6 hours: 00:00, 06:00, 12:00, 18:00
     @Scheduled(cron = "0 0 0,6,12,18 * * *")
@@ -48,6 +49,7 @@ public class CategoryHistoryScheduler {
             }
         }
 
+        categoryHistorySnapshotService.invalidate();
         log.info("Finished category stats snapshot. Saved {} records.", currentStats.size());
     }
 }
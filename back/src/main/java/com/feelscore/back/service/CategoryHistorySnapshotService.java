@@ -0,0 +1,82 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.entity.CategoryHistory;
+import com.feelscore.back.repository.CategoryHistoryRepository;
+import com.feelscore.back.util.AfterCommit;
+import com.feelscore.back.util.LongLongHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 통계 추세(UP / DOWN / STABLE) 비교용 과거 스냅샷 점수
+ * - 카테고리별로 약 6시간 전(기준 시각 이전 가장 최근) 스냅샷 점수를 한 번의 윈도우 쿼리로 읽어 메모리에 둡니다.
+ * - 기준 스냅샷은 CategoryHistoryScheduler가 새로 저장하거나, 저장된 스냅샷이 기준 시각을 지날 때만 바뀌므로
+ *   그 사이에는 다시 조회하지 않습니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class CategoryHistorySnapshotService {
+
+    private static final int TREND_HISTORY_HOURS = 5; // 약 6시간 전 스냅샷과 비교
+
+    private final CategoryHistoryRepository categoryHistoryRepository;
+
+    private volatile Baseline cached;
+
+    /**
+     * categoryId -> 비교 기준 스냅샷 점수 (스냅샷이 없는 카테고리는 키 없음)
+     */
+    public LongLongHashMap getBaselineScores() {
+        Baseline current = cached;
+        LocalDateTime now = LocalDateTime.now();
+        if (current != null && now.isBefore(current.validUntil)) {
+            return current.scores;
+        }
+        synchronized (this) {
+            current = cached;
+            if (current == null || !now.isBefore(current.validUntil)) {
+                current = load(now);
+                cached = current;
+            }
+            return current.scores;
+        }
+    }
+
+    /**
+     * 새 스냅샷 저장 후 호출 (커밋 이후 캐시 제거)
+     */
+    public void invalidate() {
+        AfterCommit.run(() -> cached = null);
+    }
+
+    private Baseline load(LocalDateTime now) {
+        LocalDateTime threshold = now.minusHours(TREND_HISTORY_HOURS);
+
+        LongLongHashMap scores = new LongLongHashMap(64);
+        for (Object[] row : categoryHistoryRepository.findLatestScoresBefore(threshold)) {
+            if (row[1] != null) {
+                scores.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+            }
+        }
+
+        // 기준 시각 이후 저장된 스냅샷이 있으면 그것이 기준 시각을 지나는 순간 기준이 바뀜
+        LocalDateTime validUntil = categoryHistoryRepository
+                .findFirstByCreatedAtGreaterThanEqualOrderByCreatedAtAsc(threshold)
+                .map(CategoryHistory::getCreatedAt)
+                .map(createdAt -> createdAt.plusHours(TREND_HISTORY_HOURS))
+                .orElse(LocalDateTime.MAX);
+        return new Baseline(scores, validUntil);
+    }
+
+    private static final class Baseline {
+        final LongLongHashMap scores;
+        final LocalDateTime validUntil;
+
+        Baseline(LongLongHashMap scores, LocalDateTime validUntil) {
+            this.scores = scores;
+            this.validUntil = validUntil;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.entity.EmotionScores;
+import com.feelscore.back.entity.EmotionType;
+import com.feelscore.back.repository.CategoryHourlyStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 카테고리 x 시간(hour) 감정 점수 / 댓글 수 롤업 (category_hourly_stats)
+ * - 분석 완료 / 댓글 작성 / 게시글 삭제 시 해당 버킷에 증감을 upsert
+ * - DAY / WEEK / MONTH 통계는 최대 720개(30일 x 24시간) 버킷만 합산합니다.
+ * - 증감으로 따라가기 어려운 변경(대량 삭제, 수동 재분석)은 재집계를 요청하고, 매일 새벽에도 재집계합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class CategoryRollupService {
+
+    // MONTH(30일) 창보다 하루 여유를 두고 재집계
+    private static final int REBUILD_DAYS = 31;
+
+    private final CategoryHourlyStatsRepository categoryHourlyStatsRepository;
+
+    private volatile boolean rebuildRequested;
+
+    /**
+     * 게시글 점수 반영 (분석 완료 sign = 1, 삭제 sign = -1). 버킷은 게시글 작성 시각 기준
+     */
+    public void addScores(Long categoryId, LocalDateTime postCreatedAt, EmotionScores scores, int sign) {
+        if (categoryId == null || postCreatedAt == null || scores == null) {
+            return;
+        }
+        long[] v = new long[EmotionType.values().length];
+        for (EmotionType type : EmotionType.values()) {
+            Integer score = scores.getScoreByType(type);
+            v[type.ordinal()] = score != null ? (long) sign * score : 0L;
+        }
+        categoryHourlyStatsRepository.upsert(categoryId, bucketOf(postCreatedAt),
+                v[EmotionType.JOY.ordinal()], v[EmotionType.SADNESS.ordinal()], v[EmotionType.ANGER.ordinal()],
+                v[EmotionType.FEAR.ordinal()], v[EmotionType.DISGUST.ordinal()], v[EmotionType.SURPRISE.ordinal()],
+                v[EmotionType.CONTEMPT.ordinal()], v[EmotionType.LOVE.ordinal()],
+                v[EmotionType.ANTICIPATION.ordinal()], v[EmotionType.TRUST.ordinal()],
+                v[EmotionType.NEUTRAL.ordinal()], 0L);
+    }
+
+    /**
+     * 댓글 수 반영. 버킷은 댓글 작성 시각 기준
+     */
+    public void addComments(Long categoryId, LocalDateTime commentedAt, long delta) {
+        if (categoryId == null || commentedAt == null || delta == 0) {
+            return;
+        }
+        categoryHourlyStatsRepository.upsert(categoryId, bucketOf(commentedAt),
+                0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, delta);
+    }
+
+    /**
+     * 여러 댓글을 버킷별로 묶어 차감 (게시글 삭제 시)
+     */
+    public void removeComments(Long categoryId, Collection<LocalDateTime> commentedAts) {
+        Map<LocalDateTime, Long> byBucket = new TreeMap<>();
+        for (LocalDateTime at : commentedAts) {
+            if (at != null) {
+                byBucket.merge(bucketOf(at), 1L, Long::sum);
+            }
+        }
+        byBucket.forEach((bucket, count) -> addComments(categoryId, bucket, -count));
+    }
+
+    public void requestRebuild() {
+        rebuildRequested = true;
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void rebuildIfRequested() {
+        if (rebuildRequested) {
+            rebuildRequested = false;
+            rebuildRecent();
+        }
+    }
+
+    // 최초 배포 시 기존 데이터로 채우기
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (categoryHourlyStatsRepository.count() == 0) {
+            rebuildRecent();
+        }
+    }
+
+    @Scheduled(cron = "0 45 4 * * *")
+    public void rebuildRecent() {
+        LocalDateTime since = bucketOf(LocalDateTime.now().minusDays(REBUILD_DAYS));
+        categoryHourlyStatsRepository.deleteSince(since);
+        int scoreBuckets = categoryHourlyStatsRepository.rebuildScoresSince(since);
+        int commentBuckets = categoryHourlyStatsRepository.rebuildCommentsSince(since);
+        log.info("Rebuilt hourly category stats since {} ({} score rows, {} comment rows)", since, scoreBuckets,
+                commentBuckets);
+    }
+
+    static LocalDateTime bucketOf(LocalDateTime time) {
+        return time.truncatedTo(ChronoUnit.HOURS);
+    }
+}
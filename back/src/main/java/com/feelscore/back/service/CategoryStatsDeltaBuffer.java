@@ -0,0 +1,220 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.entity.EmotionType;
+import com.feelscore.back.repository.CategoryEmotionStatsWriter;
+import com.feelscore.back.util.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * category_emotion_stats 증감 버퍼
+ * - 분석 완료 / 리액션이 몰리면 같은 상위 카테고리 행이 초당 여러 번 갱신되므로, (카테고리, 감정)별 증감을
+ *   스레드별 스트라이프에 모았다가 주기적으로(또는 일정 개수가 쌓이면) 한 트랜잭션의 upsert로 반영합니다.
+ * - 증감은 호출한 트랜잭션이 커밋된 뒤에 버퍼에 넣으므로 롤백된 변경은 반영되지 않습니다.
+ * - 반영 전 서버가 죽으면 버퍼의 증감은 유실됩니다. (정상 종료 시에는 모두 반영)
+ * - 전체 재계산(CategoryStatsRebuildJob) 중에는 반영을 멈추고(hold), 증감이 들어온 카테고리를 기록해 둡니다.
+ *   재계산이 그 카테고리를 다시 읽은 뒤 보류된 증감을 버리므로, 재계산에 이미 포함된 증감이 두 번 더해지지 않습니다.
+ */
+@Slf4j
+@Component
+public class CategoryStatsDeltaBuffer {
+
+    private static final int STRIPES = 16;
+
+    private final CategoryEmotionStatsWriter categoryEmotionStatsWriter;
+    private final GlobalEmotionTotals globalEmotionTotals;
+    private final TransactionTemplate transactionTemplate;
+    private final long maxPending;
+
+    // key(categoryId, emotionType) -> { 글 개수 증감, 점수 합 증감 }
+    private final List<ConcurrentHashMap<Long, long[]>> pending = createStripes();
+    private final AtomicLong pendingDeltas = new AtomicLong();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+
+    // 재계산 중 반영 보류 여부와, 보류 중 증감이 들어온 게시글 카테고리 (상위 카테고리 제외)
+    private volatile boolean held;
+    private final Set<Long> heldOrigins = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushedRows = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public CategoryStatsDeltaBuffer(CategoryEmotionStatsWriter categoryEmotionStatsWriter,
+            GlobalEmotionTotals globalEmotionTotals,
+            PlatformTransactionManager transactionManager,
+            @Value("${category-stats.buffer.max-pending:5000}") long maxPending) {
+        this.categoryEmotionStatsWriter = categoryEmotionStatsWriter;
+        this.globalEmotionTotals = globalEmotionTotals;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * 카테고리마다 같은 증감을 더합니다. (커밋 이후 반영)
+     *
+     * @param categoryIds 게시글 카테고리와 그 상위 카테고리들 (게시글 카테고리가 첫 번째)
+     * @param countDeltas 감정별 글 개수 증감 (EmotionType.ordinal() 인덱스)
+     * @param scoreDeltas 감정별 점수 합 증감 (EmotionType.ordinal() 인덱스)
+     */
+    public void add(List<Long> categoryIds, long[] countDeltas, long[] scoreDeltas) {
+        AfterCommit.run(() -> {
+            if (held && !categoryIds.isEmpty()) {
+                heldOrigins.add(categoryIds.get(0)); // 증감보다 먼저 기록 (discardHeld가 증감만 꺼내 가지 않도록)
+            }
+            ConcurrentHashMap<Long, long[]> stripe = pending.get(stripe());
+            int added = 0;
+            for (Long categoryId : categoryIds) {
+                for (EmotionType type : EmotionType.values()) {
+                    long count = countDeltas[type.ordinal()];
+                    long score = scoreDeltas[type.ordinal()];
+                    if (count != 0 || score != 0) {
+                        stripe.merge(CategoryEmotionStatsWriter.key(categoryId, type), new long[] { count, score },
+                                CategoryStatsDeltaBuffer::sum);
+                        added++;
+                    }
+                }
+            }
+            if (pendingDeltas.addAndGet(added) >= maxPending) {
+                flush(); // 너무 많이 쌓이면 주기를 기다리지 않고 반영
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${category-stats.buffer.flush-interval-ms:1000}")
+    public void flush() {
+        if (held) {
+            return; // 재계산 중 (교체 이후 반영)
+        }
+        flushPending();
+    }
+
+    /**
+     * 지금까지의 증감을 반영하고, release 전까지 반영을 멈춥니다. (재계산 시작 시)
+     */
+    public void hold() {
+        held = true;
+        heldOrigins.clear();
+        flushPending();
+    }
+
+    /**
+     * 보류 중인 증감을 버리고, 그 증감이 들어온 게시글 카테고리를 반환합니다.
+     * (호출한 쪽이 이 카테고리들을 원본 테이블에서 다시 읽어야 함. 비어 있으면 보류 중 변경 없음)
+     */
+    public Set<Long> discardHeld() {
+        drain(); // 증감을 먼저 꺼내야, 꺼낸 증감의 카테고리가 아래에서 빠짐없이 잡힘
+        Set<Long> origins = new HashSet<>();
+        for (Iterator<Long> it = heldOrigins.iterator(); it.hasNext();) {
+            origins.add(it.next());
+            it.remove();
+        }
+        return origins;
+    }
+
+    /**
+     * 반영을 다시 시작합니다. (보류 중 남은 증감은 다음 주기에 반영)
+     */
+    public void release() {
+        held = false;
+        heldOrigins.clear();
+    }
+
+    private void flushPending() {
+        if (!flushing.compareAndSet(false, true)) {
+            return; // 다른 스레드가 반영 중 (남은 증감은 다음 주기에)
+        }
+        try {
+            Map<Long, long[]> drained = drain();
+            if (drained.isEmpty()) {
+                return;
+            }
+            try {
+                // 커밋에 성공한 증감만 전체 감정 합계에도 반영
+                globalEmotionTotals.apply(() -> transactionTemplate
+                        .executeWithoutResult(status -> categoryEmotionStatsWriter.addAll(drained)), drained);
+                flushes.increment();
+                flushedRows.add(drained.size());
+            } catch (RuntimeException e) {
+                // 반영 실패분은 다시 대기열로 (다음 주기에 재시도)
+                failures.increment();
+                log.warn("Failed to flush {} category stats deltas: {}", drained.size(), e.getMessage());
+                ConcurrentHashMap<Long, long[]> stripe = pending.get(stripe());
+                drained.forEach((key, delta) -> stripe.merge(key, delta, CategoryStatsDeltaBuffer::sum));
+                pendingDeltas.addAndGet(drained.size());
+            }
+        } finally {
+            flushing.set(false);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long keys = 0;
+        for (ConcurrentHashMap<Long, long[]> stripe : pending) {
+            keys += stripe.size();
+        }
+        stats.put("pendingKeys", keys);
+        stats.put("pendingDeltas", pendingDeltas.get());
+        stats.put("maxPending", maxPending);
+        stats.put("held", held);
+        stats.put("flushes", flushes.sum());
+        stats.put("flushedRows", flushedRows.sum());
+        stats.put("failures", failures.sum());
+        return stats;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushPending(); // 재계산이 끝나지 않았으면 교체 전 테이블에 반영
+    }
+
+    private Map<Long, long[]> drain() {
+        pendingDeltas.set(0); // 꺼내는 동안 들어온 증감은 다음 주기 개수로 셈
+        Map<Long, long[]> drained = new HashMap<>();
+        for (ConcurrentHashMap<Long, long[]> stripe : pending) {
+            for (Long key : stripe.keySet()) {
+                long[] delta = stripe.remove(key); // 원자적으로 꺼내므로 이후 증감은 다음 주기로 넘어감
+                if (delta != null) {
+                    drained.merge(key, delta, CategoryStatsDeltaBuffer::sum);
+                }
+            }
+        }
+        return drained;
+    }
+
+    private static long[] sum(long[] a, long[] b) {
+        return new long[] { a[0] + b[0], a[1] + b[1] };
+    }
+
+    private static int stripe() {
+        return (int) (Thread.currentThread().getId() & (STRIPES - 1));
+    }
+
+    private static List<ConcurrentHashMap<Long, long[]>> createStripes() {
+        List<ConcurrentHashMap<Long, long[]>> stripes = new ArrayList<>(STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes.add(new ConcurrentHashMap<>());
+        }
+        return stripes;
+    }
+}
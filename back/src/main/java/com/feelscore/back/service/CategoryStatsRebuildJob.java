@@ -0,0 +1,367 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.entity.Category;
+import com.feelscore.back.entity.EmotionType;
+import com.feelscore.back.exception.ConflictException;
+import com.feelscore.back.repository.CategoryEmotionStatsWriter;
+import com.feelscore.back.repository.CategoryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * category_emotion_stats 전체 재계산 (관리자 실행)
+ * - post_emotions를 analysis_id 구간으로 나눠 ForkJoinPool에서 병렬로 읽고, 카테고리별 long[] 누적값으로 합칩니다.
+ * - 리액션 가중치(게시글 카테고리 x 감정별 리액션 수)를 더한 뒤 상위 카테고리로 올려 합산하고,
+ *   한 트랜잭션에서 테이블 내용을 교체합니다. (정상 게시글만 집계)
+ * - 스캔 시작부터 교체까지 증감 버퍼의 반영을 보류합니다. 스캔 중 커밋된 분석 완료 / 리액션은 스캔에 포함됐는지 알 수 없으므로,
+ *   보류된 증감을 버리고 그 게시글 카테고리만 다시 읽어 덮어씁니다. (다시 읽는 동안 새 증감이 없을 때까지 반복)
+ *   교체 이후 들어온 증감은 보류를 풀면 새 테이블 위에 반영됩니다.
+ */
+@Slf4j
+@Service
+public class CategoryStatsRebuildJob {
+
+    private static final int EMOTIONS = EmotionType.values().length;
+    private static final String SCAN_SQL = buildScanSql("pe.analysis_id BETWEEN ? AND ?");
+    private static final int MAX_RESCAN_ROUNDS = 5;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryRepository categoryRepository;
+    private final CategoryEmotionStatsWriter categoryEmotionStatsWriter;
+    private final CategoryStatsDeltaBuffer categoryStatsDeltaBuffer;
+    private final GlobalEmotionTotals globalEmotionTotals;
+    private final TransactionTemplate transactionTemplate;
+    private final int parallelism;
+    private final long partitionSize;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "category-stats-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // 진행 상황 (실행마다 초기화)
+    private volatile String phase = "IDLE";
+    private volatile LocalDateTime startedAt;
+    private volatile long startedNanos;
+    private volatile long totalPartitions;
+    private final AtomicLong completedPartitions = new AtomicLong();
+    private final AtomicLong scannedRows = new AtomicLong();
+    private volatile Map<String, Object> lastResult;
+
+    public CategoryStatsRebuildJob(JdbcTemplate jdbcTemplate,
+            CategoryRepository categoryRepository,
+            CategoryEmotionStatsWriter categoryEmotionStatsWriter,
+            CategoryStatsDeltaBuffer categoryStatsDeltaBuffer,
+            GlobalEmotionTotals globalEmotionTotals,
+            PlatformTransactionManager transactionManager,
+            @Value("${category-stats.rebuild.parallelism:4}") int parallelism,
+            @Value("${category-stats.rebuild.partition-size:20000}") long partitionSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.categoryRepository = categoryRepository;
+        this.categoryEmotionStatsWriter = categoryEmotionStatsWriter;
+        this.categoryStatsDeltaBuffer = categoryStatsDeltaBuffer;
+        this.globalEmotionTotals = globalEmotionTotals;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.parallelism = Math.max(1, parallelism); // DB 커넥션 풀 크기보다 작게
+        this.partitionSize = Math.max(1, partitionSize);
+    }
+
+    /**
+     * 백그라운드에서 재계산을 시작합니다.
+     *
+     * @throws ConflictException 이미 실행 중인 경우
+     */
+    public Map<String, Object> start() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("Category stats rebuild is already running.");
+        }
+        phase = "STARTING";
+        startedAt = LocalDateTime.now();
+        startedNanos = System.nanoTime();
+        totalPartitions = 0;
+        completedPartitions.set(0);
+        scannedRows.set(0);
+        runner.execute(this::run);
+        return status();
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        boolean active = running.get();
+        status.put("running", active);
+        status.put("phase", phase);
+        if (active) {
+            long rows = scannedRows.get();
+            status.put("startedAt", startedAt);
+            status.put("totalPartitions", totalPartitions);
+            status.put("completedPartitions", completedPartitions.get());
+            status.put("scannedRows", rows);
+            status.put("rowsPerSecond", rowsPerSecond(rows, System.nanoTime() - startedNanos));
+        }
+        status.put("lastResult", lastResult);
+        return status;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    private void run() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("startedAt", startedAt);
+        try {
+            // 이미 커밋된 증감은 먼저 반영하고, 이후 증감은 교체할 때까지 보류
+            categoryStatsDeltaBuffer.hold();
+
+            phase = "SCANNING";
+            Map<Long, long[]> byCategory = scanAnalyses();
+            long rows = scannedRows.get();
+            long scanNanos = System.nanoTime() - startedNanos;
+
+            phase = "AGGREGATING";
+            addReactions(byCategory, null);
+
+            phase = "RESCANNING";
+            int rescanned = rescanTouched(byCategory);
+            Map<Long, long[]> rolledUp = rollUp(byCategory);
+
+            phase = "SWAPPING";
+            int[] written = new int[1];
+            globalEmotionTotals.apply(() -> transactionTemplate.executeWithoutResult(
+                    status -> written[0] = categoryEmotionStatsWriter.replaceAll(toDeltas(rolledUp))), Map.of());
+            categoryStatsDeltaBuffer.release();
+            globalEmotionTotals.reconcile();
+
+            long elapsedNanos = System.nanoTime() - startedNanos;
+            result.put("status", "COMPLETED");
+            result.put("scannedRows", rows);
+            result.put("partitions", totalPartitions);
+            result.put("categories", rolledUp.size());
+            result.put("writtenRows", written[0]);
+            result.put("rescannedCategories", rescanned);
+            result.put("scanMillis", TimeUnit.NANOSECONDS.toMillis(scanNanos));
+            result.put("elapsedMillis", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            result.put("rowsPerSecond", rowsPerSecond(rows, scanNanos));
+            log.info("Rebuilt category_emotion_stats: {}", result);
+        } catch (RuntimeException e) {
+            result.put("status", "FAILED");
+            result.put("error", e.getMessage());
+            log.error("Category stats rebuild failed", e);
+        } finally {
+            categoryStatsDeltaBuffer.release(); // 실패한 경우 기존 테이블에 이어서 반영
+            result.put("finishedAt", LocalDateTime.now());
+            lastResult = result;
+            phase = "IDLE";
+            running.set(false);
+        }
+    }
+
+    // ===== 1. post_emotions 병렬 스캔 =====
+
+    private Map<Long, long[]> scanAnalyses() {
+        long[] range = jdbcTemplate.queryForObject(
+                "SELECT MIN(analysis_id), MAX(analysis_id) FROM post_emotions",
+                (rs, rowNum) -> new long[] { rs.getLong(1), rs.wasNull() ? -1 : rs.getLong(2) });
+        if (range == null || range[1] < 0) {
+            return new HashMap<>();
+        }
+        totalPartitions = (range[1] - range[0]) / partitionSize + 1;
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new ScanTask(range[0], range[1]));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // [from, to] analysis_id 구간을 partitionSize 이하가 될 때까지 반으로 나눠 스캔
+    private final class ScanTask extends RecursiveTask<Map<Long, long[]>> {
+        private final long from;
+        private final long to;
+
+        ScanTask(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<Long, long[]> compute() {
+            if (to - from + 1 <= partitionSize) {
+                return scanPartition(from, to);
+            }
+            // 파티션 경계가 partitionSize 배수에 맞도록 나눔 (진행률 계산과 일치)
+            long partitions = (to - from) / partitionSize + 1;
+            long mid = from + (partitions / 2) * partitionSize - 1;
+            ScanTask left = new ScanTask(from, mid);
+            left.fork();
+            Map<Long, long[]> right = new ScanTask(mid + 1, to).compute();
+            return merge(left.join(), right);
+        }
+    }
+
+    // 카테고리별 누적값: [0, EMOTIONS) 감정별 글 개수, [EMOTIONS, 2 * EMOTIONS) 감정별 점수 합
+    private Map<Long, long[]> scanPartition(long from, long to) {
+        Map<Long, long[]> acc = new HashMap<>();
+        long[] rows = new long[1];
+        jdbcTemplate.query(SCAN_SQL, rs -> {
+            accumulate(acc.computeIfAbsent(rs.getLong(1), id -> new long[EMOTIONS * 2]), rs);
+            rows[0]++;
+        }, from, to);
+        scannedRows.addAndGet(rows[0]);
+        completedPartitions.incrementAndGet();
+        return acc;
+    }
+
+    // 스캔 결과 한 행의 감정 점수를 카테고리 누적값에 더함
+    private static void accumulate(long[] sums, ResultSet rs) throws SQLException {
+        for (int i = 0; i < EMOTIONS; i++) {
+            int score = rs.getInt(i + 2);
+            if (score > 0) { // CategoryStatsService.addEmotionStats와 같은 기준 (0점 감정은 제외)
+                sums[i]++;
+                sums[EMOTIONS + i] += score;
+            }
+        }
+    }
+
+    private static Map<Long, long[]> merge(Map<Long, long[]> into, Map<Long, long[]> from) {
+        if (into.size() < from.size()) {
+            Map<Long, long[]> swap = into;
+            into = from;
+            from = swap;
+        }
+        for (Map.Entry<Long, long[]> entry : from.entrySet()) {
+            long[] target = into.get(entry.getKey());
+            if (target == null) {
+                into.put(entry.getKey(), entry.getValue());
+            } else {
+                long[] source = entry.getValue();
+                for (int i = 0; i < target.length; i++) {
+                    target[i] += source[i];
+                }
+            }
+        }
+        return into;
+    }
+
+    // 스캔 중 증감이 들어온 게시글 카테고리를 다시 읽어 덮어씀 (다시 읽은 카테고리 수 반환)
+    private int rescanTouched(Map<Long, long[]> byCategory) {
+        Set<Long> rescanned = new HashSet<>();
+        for (int round = 0; round < MAX_RESCAN_ROUNDS; round++) {
+            Set<Long> touched = categoryStatsDeltaBuffer.discardHeld();
+            if (touched.isEmpty()) {
+                return rescanned.size();
+            }
+            Map<Long, long[]> fresh = new HashMap<>();
+            for (Long categoryId : touched) {
+                fresh.put(categoryId, new long[EMOTIONS * 2]); // 정상 게시글이 모두 빠진 카테고리는 0으로
+            }
+            String in = String.join(", ", Collections.nCopies(touched.size(), "?"));
+            Object[] ids = touched.toArray();
+            jdbcTemplate.query(buildScanSql("p.category_id IN (" + in + ")"),
+                    rs -> accumulate(fresh.get(rs.getLong(1)), rs), ids);
+            addReactions(fresh, in, ids);
+            byCategory.putAll(fresh);
+            rescanned.addAll(touched);
+        }
+        log.warn("Category stats kept changing during rebuild; deltas held after {} rescans are applied as is.",
+                MAX_RESCAN_ROUNDS);
+        return rescanned.size();
+    }
+
+    // ===== 2. 리액션 가중치 / 상위 카테고리 합산 =====
+
+    // categoryIn이 있으면 그 카테고리들만 (IN 절 자리표시자, args는 카테고리 id)
+    private void addReactions(Map<Long, long[]> byCategory, String categoryIn, Object... args) {
+        jdbcTemplate.query("SELECT p.category_id, r.emotion_type, COUNT(*) FROM post_reactions r " +
+                "JOIN posts p ON p.post_id = r.post_id " +
+                "WHERE p.status = 'NORMAL' AND p.category_id IS NOT NULL " +
+                (categoryIn != null ? "AND p.category_id IN (" + categoryIn + ") " : "") +
+                "GROUP BY p.category_id, r.emotion_type", rs -> {
+                    int index = EmotionType.valueOf(rs.getString(2)).ordinal();
+                    long reactions = rs.getLong(3);
+                    long[] sums = byCategory.computeIfAbsent(rs.getLong(1), id -> new long[EMOTIONS * 2]);
+                    sums[index] += reactions;
+                    sums[EMOTIONS + index] += reactions * CategoryStatsService.REACTION_WEIGHT;
+                }, args);
+    }
+
+    private Map<Long, long[]> rollUp(Map<Long, long[]> byCategory) {
+        // categoryId -> parentId
+        Map<Long, Long> parents = transactionTemplate.execute(status -> {
+            Map<Long, Long> map = new HashMap<>();
+            for (Category category : categoryRepository.findAll()) {
+                map.put(category.getId(), category.getParent() != null ? category.getParent().getId() : null);
+            }
+            return map;
+        });
+
+        Map<Long, long[]> rolledUp = new HashMap<>();
+        byCategory.forEach((categoryId, sums) -> {
+            if (!parents.containsKey(categoryId)) {
+                return; // 삭제된 카테고리
+            }
+            int depth = 0;
+            for (Long current = categoryId; current != null && depth <= parents.size(); current = parents.get(current)) {
+                long[] target = rolledUp.computeIfAbsent(current, id -> new long[EMOTIONS * 2]);
+                for (int i = 0; i < target.length; i++) {
+                    target[i] += sums[i];
+                }
+                depth++; // 부모 관계가 순환하더라도 멈춤
+            }
+        });
+        return rolledUp;
+    }
+
+    // CategoryEmotionStatsWriter 형식으로 변환: key(categoryId, emotionType) -> { 글 개수, 점수 합 }
+    private static Map<Long, long[]> toDeltas(Map<Long, long[]> rolledUp) {
+        Map<Long, long[]> deltas = new LinkedHashMap<>();
+        rolledUp.forEach((categoryId, sums) -> {
+            for (EmotionType type : EmotionType.values()) {
+                int i = type.ordinal();
+                deltas.put(CategoryEmotionStatsWriter.key(categoryId, type), new long[] { sums[i], sums[EMOTIONS + i] });
+            }
+        });
+        return deltas;
+    }
+
+    private static long rowsPerSecond(long rows, long nanos) {
+        return nanos > 0 ? rows * TimeUnit.SECONDS.toNanos(1) / nanos : 0;
+    }
+
+    private static String buildScanSql(String condition) {
+        StringBuilder sql = new StringBuilder("SELECT p.category_id");
+        for (EmotionType type : EmotionType.values()) {
+            sql.append(", pe.").append(type.name().toLowerCase()).append("_score");
+        }
+        return sql.append(" FROM post_emotions pe JOIN posts p ON p.post_id = pe.post_id ")
+                .append("WHERE ").append(condition).append(" AND pe.is_analyzed = TRUE ")
+                .append("AND p.status = 'NORMAL' AND p.category_id IS NOT NULL")
+                .toString();
+    }
+}
@@ -1,9 +1,9 @@
 package com.feelscore.back.service;
 
 import com.feelscore.back.entity.*;
-import com.feelscore.back.repository.CategoryEmotionStatsRepository;
 import com.feelscore.back.repository.PostEmotionRepository;
 import com.feelscore.back.repository.PostRepository;
+import com.feelscore.back.repository.PostStatsLedgerRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -16,12 +16,20 @@ import java.util.NoSuchElementException;
 @RequiredArgsConstructor
 public class CategoryStatsService {
 
+    // User Reaction Weight: 100 (Strongest confidence)
+    public static final int REACTION_WEIGHT = 100;
+
     private final PostRepository postRepository;
     private final PostEmotionRepository postEmotionRepository;
-    private final CategoryEmotionStatsRepository categoryEmotionStatsRepository;
+    private final CategoryStatsDeltaBuffer categoryStatsDeltaBuffer;
+    private final PostStatsLedgerRepository postStatsLedgerRepository;
     private final com.feelscore.back.repository.CategoryRepository categoryRepository;
     private final com.feelscore.back.repository.CommentRepository commentRepository;
-    private final com.feelscore.back.repository.CategoryHistoryRepository categoryHistoryRepository;
+    private final CategoryHistorySnapshotService categoryHistorySnapshotService;
+    private final CategoryStatsTree categoryStatsTree;
+    private final CategoryRollupService categoryRollupService;
+    private final com.feelscore.back.repository.CategoryHourlyStatsRepository categoryHourlyStatsRepository;
+    private final UserEmotionProfileService userEmotionProfileService;
 
     @Transactional
     public void updateStats(Long postId) {
@@ -33,71 +41,180 @@ public class CategoryStatsService {
         PostEmotion postEmotion = postEmotionRepository.findByPost_Id(postId)
                 .orElseThrow(() -> new NoSuchElementException("PostEmotion not found for Post ID: " + postId));
 
+        // 피드 쿼리가 post_emotions를 조인하지 않도록 게시글에 대표 감정 복사
+        post.applyEmotionAnalysis(postEmotion.getDominantEmotion());
+        if (post.getStatus() == PostStatus.DELETED) {
+            return; // 삭제 시 통계에서 이미 뺐으므로 늦게 도착한 분석 결과는 반영하지 않음
+        }
+
         Category category = post.getCategory();
         EmotionScores scores = postEmotion.getScores();
 
         log.info("Category: {}, Scores: {}", category.getName(), scores);
 
-        // 모든 감정 타입에 대해 점수 업데이트 (재귀적)
-        for (EmotionType type : EmotionType.values()) {
-            Integer score = scores.getScoreByType(type);
-            if (score > 0) {
-                log.info("Updating stats for Type: {}, Score: {}", type, score);
-                updateCategoryStatRecursive(category, type, score);
+        // 이 게시글에 마지막으로 반영한 점수 (재분석 / 재전송이면 그 차이만 반영)
+        postStatsLedgerRepository.insertIfAbsent(postId, category.getId());
+        PostStatsLedger ledger = postStatsLedgerRepository.findForUpdate(postId)
+                .orElseThrow(() -> new NoSuchElementException("Stats ledger not found for Post ID: " + postId));
+        Long appliedCategoryId = ledger.getCategoryId();
+        Category appliedCategory = appliedCategoryId.equals(category.getId())
+                ? category
+                : categoryRepository.findById(appliedCategoryId).orElse(null);
+        EmotionScores applied = ledger.getScores();
+
+        // 모든 감정 타입에 대해 점수 업데이트 (상위 카테고리까지, 버퍼에 모아 upsert)
+        addEmotionStats(appliedCategory, applied, -1);
+        addEmotionStats(category, scores, 1);
+        ledger.apply(category.getId(), scores);
+
+        // 홈 통계 상주 트리 / 시간별 롤업 / 작성자 감정 프로필에 차이 반영 (sumScoresAll과 같은 조건: 분석 완료 + 정상 게시글)
+        if (post.getStatus() == PostStatus.NORMAL && postEmotion.isAnalyzed()) {
+            if (!applied.isEmpty()) {
+                categoryStatsTree.addScores(appliedCategoryId, applied, -1);
+                categoryRollupService.addScores(appliedCategoryId, post.getCreatedAt(), applied, -1);
             }
+            categoryStatsTree.addScores(category.getId(), scores, 1);
+            categoryRollupService.addScores(category.getId(), post.getCreatedAt(), scores, 1);
+            userEmotionProfileService.applyScores(post.getUsers().getId(), applied, scores);
         }
     }
 
-    private void updateCategoryStatRecursive(Category category, EmotionType type, Integer score) {
-        if (category == null)
-            return;
-
-        CategoryEmotionStats stats = categoryEmotionStatsRepository.findByCategoryAndEmotionType(category, type)
-                .orElseGet(() -> CategoryEmotionStats.builder()
-                        .category(category)
-                        .emotionType(type)
-                        .build());
+    /**
+     * 감정 분석 결과 삭제 시 이 게시글에 반영해 둔 점수를 통계에서 되돌립니다.
+     */
+    @Transactional
+    public void revertStats(Long postId) {
+        Post post = postRepository.findById(postId)
+                .orElseThrow(() -> new NoSuchElementException("Post not found: " + postId));
+        PostStatsLedger ledger = postStatsLedgerRepository.findForUpdate(postId).orElse(null);
+        if (ledger == null) {
+            return; // 반영한 점수가 없음
+        }
+        EmotionScores applied = revertApplied(post, ledger);
+        if (post.getStatus() == PostStatus.NORMAL && !applied.isEmpty()) {
+            userEmotionProfileService.applyScores(post.getUsers().getId(), applied, null);
+        }
+    }
 
-        stats.addScore(score);
-        categoryEmotionStatsRepository.save(stats);
+    /**
+     * 게시글 삭제 시 카테고리 통계에서 이 게시글의 분석 점수와 리액션 가중치를 뺍니다. (재계산은 정상 게시글만 집계)
+     * 상주 트리 / 시간별 롤업에서도 분석 점수를 빼고, 뺀 점수를 반환합니다. (반영한 점수가 없으면 null)
+     */
+    @Transactional
+    public EmotionScores removePost(Post post) {
+        PostStatsLedger ledger = postStatsLedgerRepository.findForUpdate(post.getId()).orElse(null);
+        EmotionScores applied = ledger != null ? revertApplied(post, ledger) : null;
 
-        // 부모 카테고리로 재귀 호출
-        updateCategoryStatRecursive(category.getParent(), type, score);
+        addReactionStats(post.getCategory(), post.getReactionCountMap(), -1);
+        return applied;
     }
 
+    /**
+     * 게시글 카테고리 변경 시 반영해 둔 감정 점수와 리액션 가중치를 새 카테고리로 옮깁니다.
+     * (post는 이미 새 카테고리로 바뀐 상태, previousCategory는 변경 전 카테고리)
+     */
     @Transactional
-    public void updateUserReactionStats(Category category, EmotionType type, boolean isAddition) {
-        // User Reaction Weight: 100 (Strongest confidence)
-        final int REACTION_WEIGHT = 100;
-        updateUserReactionRecursive(category, type, isAddition, REACTION_WEIGHT);
+    public void moveCategory(Post post, Category previousCategory, Category newCategory) {
+        if (previousCategory != null && !previousCategory.getId().equals(newCategory.getId())) {
+            java.util.Map<EmotionType, Long> reactionCounts = post.getReactionCountMap();
+            addReactionStats(previousCategory, reactionCounts, -1);
+            addReactionStats(newCategory, reactionCounts, 1);
+        }
+
+        PostStatsLedger ledger = postStatsLedgerRepository.findForUpdate(post.getId()).orElse(null);
+        if (ledger == null || ledger.getCategoryId().equals(newCategory.getId())) {
+            return; // 아직 반영한 점수가 없음 (분석 완료 시 새 카테고리로 반영됨)
+        }
+        categoryRepository.findById(ledger.getCategoryId())
+                .ifPresent(previous -> addEmotionStats(previous, ledger.getScores(), -1));
+        addEmotionStats(newCategory, ledger.getScores(), 1);
+        ledger.apply(newCategory.getId(), ledger.getScores());
     }
 
-    private void updateUserReactionRecursive(Category category, EmotionType type, boolean isAddition, int score) {
-        if (category == null)
+    // 반영해 둔 점수를 카테고리 통계 / 상주 트리 / 시간별 롤업에서 빼고 ledger를 비움 (뺀 점수 반환)
+    private EmotionScores revertApplied(Post post, PostStatsLedger ledger) {
+        Long appliedCategoryId = ledger.getCategoryId();
+        EmotionScores applied = ledger.getScores();
+        if (!applied.isEmpty()) {
+            categoryRepository.findById(appliedCategoryId)
+                    .ifPresent(category -> addEmotionStats(category, applied, -1));
+            if (post.getStatus() == PostStatus.NORMAL) {
+                categoryStatsTree.addScores(appliedCategoryId, applied, -1);
+                categoryRollupService.addScores(appliedCategoryId, post.getCreatedAt(), applied, -1);
+            }
+        }
+        ledger.apply(appliedCategoryId, EmotionScores.builder().build());
+        return applied;
+    }
+
+    // 카테고리와 상위 카테고리의 감정별 글 개수 / 점수 합에 sign 방향으로 반영 (0점 감정은 제외)
+    private void addEmotionStats(Category category, EmotionScores scores, int sign) {
+        if (category == null) {
             return;
+        }
+        long[] countDeltas = new long[EmotionType.values().length];
+        long[] scoreDeltas = new long[EmotionType.values().length];
+        boolean any = false;
+        for (EmotionType type : EmotionType.values()) {
+            Integer score = scores.getScoreByType(type);
+            if (score > 0) {
+                countDeltas[type.ordinal()] = sign;
+                scoreDeltas[type.ordinal()] = (long) sign * score;
+                any = true;
+            }
+        }
+        if (any) {
+            categoryStatsDeltaBuffer.add(categoryChainOf(category), countDeltas, scoreDeltas);
+        }
+    }
 
-        CategoryEmotionStats stats = categoryEmotionStatsRepository.findByCategoryAndEmotionType(category, type)
-                .orElseGet(() -> CategoryEmotionStats.builder()
-                        .category(category)
-                        .emotionType(type)
-                        .build());
+    // 카테고리와 상위 카테고리에 리액션 수 / 리액션 가중치를 sign 방향으로 반영
+    private void addReactionStats(Category category, java.util.Map<EmotionType, Long> reactionCounts, int sign) {
+        if (category == null) {
+            return;
+        }
+        long[] countDeltas = new long[EmotionType.values().length];
+        long[] scoreDeltas = new long[EmotionType.values().length];
+        boolean any = false;
+        for (java.util.Map.Entry<EmotionType, Long> entry : reactionCounts.entrySet()) {
+            long count = entry.getValue() != null ? entry.getValue() : 0L;
+            if (count > 0) {
+                countDeltas[entry.getKey().ordinal()] = sign * count;
+                scoreDeltas[entry.getKey().ordinal()] = sign * count * REACTION_WEIGHT;
+                any = true;
+            }
+        }
+        if (any) {
+            categoryStatsDeltaBuffer.add(categoryChainOf(category), countDeltas, scoreDeltas);
+        }
+    }
 
-        if (isAddition) {
-            stats.addScore(score);
-        } else {
-            stats.subtractScore(score);
+    // 카테고리와 모든 상위 카테고리 id
+    private java.util.List<Long> categoryChainOf(Category category) {
+        java.util.List<Long> chain = new java.util.ArrayList<>();
+        for (Category current = category; current != null; current = current.getParent()) {
+            chain.add(current.getId());
         }
-        categoryEmotionStatsRepository.save(stats);
+        return chain;
+    }
+
+    @Transactional
+    public void updateUserReactionStats(Category category, EmotionType type, boolean isAddition) {
+        if (category == null)
+            return;
 
-        // Recurse to parent
-        updateUserReactionRecursive(category.getParent(), type, isAddition, score);
+        long[] countDeltas = new long[EmotionType.values().length];
+        long[] scoreDeltas = new long[EmotionType.values().length];
+        countDeltas[type.ordinal()] = isAddition ? 1 : -1;
+        scoreDeltas[type.ordinal()] = isAddition ? REACTION_WEIGHT : -REACTION_WEIGHT;
+        categoryStatsDeltaBuffer.add(categoryChainOf(category), countDeltas, scoreDeltas);
     }
 
     @Transactional(readOnly = true)
     public java.util.List<com.feelscore.back.dto.CategoryStatsDto> getRealtimeStats(
             com.feelscore.back.dto.StatsPeriod period) {
         // 1. 기간에 따른 통계 데이터 조회
-        java.time.LocalDateTime startDate;
+        java.time.LocalDateTime startDate = null;
         java.util.List<com.feelscore.back.dto.EmotionSumDto> rawSums;
 
         if (period == com.feelscore.back.dto.StatsPeriod.ALL) {
@@ -117,7 +234,9 @@ public class CategoryStatsService {
                 default:
                     startDate = now.minusYears(100);
             }
-            rawSums = postEmotionRepository.sumScoresByDate(startDate);
+            // 시간별 롤업에서 정시 단위로 합산 (최대 30일 x 24개 버킷)
+            startDate = startDate.truncatedTo(java.time.temporal.ChronoUnit.HOURS);
+            rawSums = categoryHourlyStatsRepository.sumScoresSince(startDate);
         }
 
         // 2. 결과를 Map으로 변환 (CategoryId -> EmotionMap)
@@ -128,25 +247,21 @@ public class CategoryStatsService {
 
         // [NEW] 댓글 수 조회 (CategoryId -> Count)
         java.util.Map<Long, Long> commentCountMap = new java.util.HashMap<>();
-        if (period == com.feelscore.back.dto.StatsPeriod.ALL) {
-            java.util.List<com.feelscore.back.dto.CommentCountDto> commentCounts = commentRepository
-                    .countCommentsGroupByCategory();
-            for (com.feelscore.back.dto.CommentCountDto c : commentCounts) {
-                commentCountMap.put(c.getCategoryId(), c.getCount());
-            }
+        java.util.List<com.feelscore.back.dto.CommentCountDto> commentCounts = period == com.feelscore.back.dto.StatsPeriod.ALL
+                ? commentRepository.countCommentsGroupByCategory()
+                : categoryHourlyStatsRepository.sumCommentsSince(startDate);
+        for (com.feelscore.back.dto.CommentCountDto c : commentCounts) {
+            commentCountMap.put(c.getCategoryId(), c.getCount());
         }
-        // NOTE: Comment counts per period are not implemented in repository yet,
-        // defaulting to ALL logic or 0 for period views.
 
         // 3. 최상위 카테고리 로드 및 트리 구성
         java.util.List<Category> rootCategories = categoryRepository.findByDepth(1);
 
-        // [NEW] Prepare history comparison time threshold (e.g., 5 hours ago to find
-        // the approx 6h old snapshot)
-        java.time.LocalDateTime historyThreshold = java.time.LocalDateTime.now().minusHours(5);
+        // 추세 비교용 과거 스냅샷 점수 (카테고리마다 조회하지 않고 한 번에)
+        com.feelscore.back.util.LongLongHashMap historyScores = categoryHistorySnapshotService.getBaselineScores();
 
         return rootCategories.stream()
-                .map(root -> buildStatsRecursive(root, selfScoreMap, commentCountMap, historyThreshold).dto)
+                .map(root -> buildStatsRecursive(root, selfScoreMap, commentCountMap, historyScores).dto)
                 .sorted(java.util.Comparator.comparingLong(com.feelscore.back.dto.CategoryStatsDto::getScore)
                         .reversed())
                 .collect(java.util.stream.Collectors.toList());
@@ -162,7 +277,7 @@ public class CategoryStatsService {
     private StatsResult buildStatsRecursive(Category category,
             java.util.Map<Long, java.util.Map<EmotionType, Long>> selfScoreMap,
             java.util.Map<Long, Long> commentCountMap,
-            java.time.LocalDateTime historyThreshold) {
+            com.feelscore.back.util.LongLongHashMap historyScores) {
 
         // 1. 내 점수
         java.util.Map<EmotionType, Long> myScores = new java.util.HashMap<>(
@@ -177,7 +292,7 @@ public class CategoryStatsService {
         Long totalCommentCount = myCommentCount;
 
         for (Category child : category.getChildren()) {
-            StatsResult childResult = buildStatsRecursive(child, selfScoreMap, commentCountMap, historyThreshold);
+            StatsResult childResult = buildStatsRecursive(child, selfScoreMap, commentCountMap, historyScores);
             childrenDtos.add(childResult.dto);
 
             // 자식 점수 누적
@@ -206,14 +321,11 @@ public class CategoryStatsService {
         // 4. Trend Calculation
         // Compare maxScore (current) with history
         String trend = "-";
-        com.feelscore.back.entity.CategoryHistory history = categoryHistoryRepository
-                .findFirstByCategoryAndCreatedAtBeforeOrderByCreatedAtDesc(category, historyThreshold)
-                .orElse(null);
-
-        if (history != null) {
-            if (maxScore > history.getScore()) {
+        if (historyScores.containsKey(category.getId())) {
+            long historyScore = historyScores.getOrDefault(category.getId(), 0L);
+            if (maxScore > historyScore) {
                 trend = "UP";
-            } else if (maxScore < history.getScore()) {
+            } else if (maxScore < historyScore) {
                 trend = "DOWN";
             } else {
                 trend = "STABLE";
@@ -0,0 +1,297 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.dto.CategoryStatsDto;
+import com.feelscore.back.dto.CommentCountDto;
+import com.feelscore.back.dto.EmotionSumDto;
+import com.feelscore.back.dto.StatsPeriod;
+import com.feelscore.back.entity.Category;
+import com.feelscore.back.entity.EmotionScores;
+import com.feelscore.back.entity.EmotionType;
+import com.feelscore.back.repository.CategoryRepository;
+import com.feelscore.back.repository.CommentRepository;
+import com.feelscore.back.repository.PostEmotionRepository;
+import com.feelscore.back.util.AfterCommit;
+import com.feelscore.back.util.LongLongHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * 홈 통계(/api/stats/home, 전체 기간)용 상주 카테고리 집계 트리
+ * - 카테고리별 감정 점수 합(long[11])과 댓글 수를 메모리에 두고, 분석 완료 / 댓글 / 게시글 삭제 시 증감만 반영
+ *   (증감은 호출한 트랜잭션이 커밋된 뒤에 반영하므로 롤백된 변경은 반영되지 않음)
+ * - 전체 적재 중에 들어온 증감은 기존 트리에 반영하면서 따로 모아 두었다가, 새로 적재한 트리에도 다시 반영합니다.
+ * - 조회는 불변 스냅샷(CategoryStatsDto 트리)을 AtomicReference로 바꿔 끼우는 방식이라 잠금 없이 읽습니다.
+ * - 대량 삭제 / 카테고리 변경처럼 증감으로 따라가기 어려운 변경은 다시 적재를 요청하고,
+ *   그 외 오차도 주기적인 전체 적재로 보정합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryStatsTree {
+
+    private static final int EMOTIONS = EmotionType.values().length;
+
+    private final CategoryRepository categoryRepository;
+    private final PostEmotionRepository postEmotionRepository;
+    private final CommentRepository commentRepository;
+    private final CategoryHistorySnapshotService categoryHistorySnapshotService;
+
+    private final AtomicReference<List<CategoryStatsDto>> snapshot = new AtomicReference<>();
+    private volatile boolean dirty;
+    private volatile boolean reloadRequested;
+
+    // 전체 적재는 한 번에 하나만
+    private final Object loadLock = new Object();
+
+    // 아래 상태는 synchronized (this)에서만 접근
+    private Map<Long, Node> nodes = new HashMap<>();
+    private List<Node> roots = new ArrayList<>();
+    // 적재 중에 반영한 증감 (적재 중이 아니면 null)
+    private List<Consumer<Map<Long, Node>>> appliedDuringLoad;
+
+    /**
+     * 현재 집계 스냅샷 (적재 전이거나 지원하지 않는 기간이면 null)
+     */
+    public List<CategoryStatsDto> getSnapshot(StatsPeriod period) {
+        if (period != StatsPeriod.ALL) {
+            return null;
+        }
+        List<CategoryStatsDto> current = snapshot.get();
+        if (current == null || !dirty) {
+            return current;
+        }
+        LongLongHashMap historyScores = categoryHistorySnapshotService.getBaselineScores();
+        synchronized (this) {
+            if (dirty) {
+                dirty = false;
+                snapshot.set(buildSnapshot(historyScores));
+            }
+            return snapshot.get();
+        }
+    }
+
+    /**
+     * 분석 완료(sign = 1) / 게시글 삭제(sign = -1) 시 해당 카테고리 점수 반영 (커밋 이후)
+     */
+    public void addScores(Long categoryId, EmotionScores scores, int sign) {
+        if (scores == null) {
+            return;
+        }
+        // 커밋 전에 점수 객체가 바뀌어도 호출 시점 값으로 반영
+        long[] deltas = new long[EMOTIONS];
+        for (EmotionType type : EmotionType.values()) {
+            Integer score = scores.getScoreByType(type);
+            if (score != null) {
+                deltas[type.ordinal()] = (long) sign * score;
+            }
+        }
+        AfterCommit.run(() -> apply(target -> {
+            Node node = target.get(categoryId);
+            if (node != null) {
+                for (int i = 0; i < EMOTIONS; i++) {
+                    node.scores[i] += deltas[i];
+                }
+            }
+        }));
+    }
+
+    /**
+     * 댓글 작성 / 삭제 시 해당 카테고리 댓글 수 반영 (커밋 이후)
+     */
+    public void addComments(Long categoryId, long delta) {
+        AfterCommit.run(() -> apply(target -> {
+            Node node = target.get(categoryId);
+            if (node != null) {
+                node.comments += delta;
+            }
+        }));
+    }
+
+    private synchronized void apply(Consumer<Map<Long, Node>> delta) {
+        delta.accept(nodes);
+        if (appliedDuringLoad != null) {
+            appliedDuringLoad.add(delta);
+        }
+        dirty = true;
+    }
+
+    /**
+     * 증감으로 반영하기 어려운 변경 후 호출 (다음 주기에 전체 다시 적재)
+     */
+    public void requestReload() {
+        reloadRequested = true;
+    }
+
+    @Scheduled(fixedDelay = 5_000)
+    public void reloadIfRequested() {
+        if (reloadRequested) {
+            reloadRequested = false;
+            load();
+        }
+    }
+
+    @Scheduled(initialDelay = 600_000, fixedDelay = 600_000)
+    public void reload() {
+        load();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (loadLock) {
+            synchronized (this) {
+                appliedDuringLoad = new ArrayList<>();
+            }
+            try {
+                loadTree();
+            } finally {
+                synchronized (this) {
+                    appliedDuringLoad = null;
+                }
+            }
+        }
+    }
+
+    private void loadTree() {
+        long started = System.currentTimeMillis();
+
+        List<Category> categories = categoryRepository.findAll();
+        Map<Long, Node> loaded = new HashMap<>();
+        for (Category category : categories) {
+            loaded.put(category.getId(), new Node(category.getId(), category.getName()));
+        }
+
+        List<Node> loadedRoots = new ArrayList<>();
+        for (Category category : categories) {
+            Node node = loaded.get(category.getId());
+            Node parent = category.getParent() != null ? loaded.get(category.getParent().getId()) : null;
+            if (parent != null) {
+                parent.children.add(node);
+            }
+            if (Integer.valueOf(1).equals(category.getDepth())) {
+                loadedRoots.add(node);
+            }
+        }
+
+        for (EmotionSumDto sum : postEmotionRepository.sumScoresAll()) {
+            Node node = loaded.get(sum.getId());
+            if (node != null) {
+                sum.toMap().forEach((type, value) -> node.scores[type.ordinal()] = value);
+            }
+        }
+        for (CommentCountDto count : commentRepository.countCommentsGroupByCategory()) {
+            Node node = loaded.get(count.getCategoryId());
+            if (node != null) {
+                node.comments = count.getCount();
+            }
+        }
+
+        LongLongHashMap historyScores = categoryHistorySnapshotService.getBaselineScores();
+        synchronized (this) {
+            // 집계 조회 이후 커밋된 증감이 빠지지 않도록 적재 중에 반영한 증감을 새 트리에도 반영
+            // (조회 직전에 커밋되어 집계에도 포함된 증감은 중복될 수 있으나 다음 주기 적재로 보정)
+            for (Consumer<Map<Long, Node>> delta : appliedDuringLoad) {
+                delta.accept(loaded);
+            }
+            nodes = loaded;
+            roots = loadedRoots;
+            dirty = false;
+            snapshot.set(buildSnapshot(historyScores));
+        }
+        log.info("Category stats tree loaded: {} categories in {} ms", loaded.size(),
+                System.currentTimeMillis() - started);
+    }
+
+    // synchronized (this)에서 호출
+    private List<CategoryStatsDto> buildSnapshot(LongLongHashMap historyScores) {
+        List<CategoryStatsDto> result = new ArrayList<>(roots.size());
+        for (Node root : roots) {
+            result.add(build(root, new long[EMOTIONS], historyScores).dto);
+        }
+        result.sort(Comparator.comparingLong(CategoryStatsDto::getScore).reversed());
+        return Collections.unmodifiableList(result);
+    }
+
+    // 하위 카테고리까지 누적한 점수로 DTO 구성 (accumulated에 내 누적 점수를 더해 반환)
+    private Built build(Node node, long[] accumulated, LongLongHashMap historyScores) {
+        long[] mine = node.scores.clone();
+        long comments = node.comments;
+
+        List<CategoryStatsDto> children = new ArrayList<>(node.children.size());
+        for (Node child : node.children) {
+            Built built = build(child, mine, historyScores);
+            children.add(built.dto);
+            comments += built.comments;
+        }
+        children.sort(Comparator.comparingLong(CategoryStatsDto::getScore).reversed());
+
+        EmotionType dominant = null;
+        long maxScore = 0;
+        for (EmotionType type : EmotionType.values()) {
+            if (mine[type.ordinal()] > maxScore) {
+                maxScore = mine[type.ordinal()];
+                dominant = type;
+            }
+        }
+        for (int i = 0; i < EMOTIONS; i++) {
+            accumulated[i] += mine[i];
+        }
+
+        CategoryStatsDto dto = CategoryStatsDto.builder()
+                .categoryId(node.id)
+                .name(node.name)
+                .dominantEmotion(dominant)
+                .score(maxScore)
+                .commentCount(comments)
+                .trend(trendOf(maxScore, node.id, historyScores))
+                .children(Collections.unmodifiableList(children))
+                .build();
+        return new Built(dto, comments);
+    }
+
+    private static String trendOf(long score, Long categoryId, LongLongHashMap historyScores) {
+        if (!historyScores.containsKey(categoryId)) {
+            return "-";
+        }
+        long historyScore = historyScores.getOrDefault(categoryId, 0L);
+        if (score > historyScore) {
+            return "UP";
+        }
+        return score < historyScore ? "DOWN" : "STABLE";
+    }
+
+    private static final class Node {
+        final Long id;
+        final String name;
+        final List<Node> children = new ArrayList<>();
+        final long[] scores = new long[EMOTIONS]; // 이 카테고리에 직접 속한 게시글의 감정별 점수 합
+        long comments;
+
+        Node(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    private static final class Built {
+        final CategoryStatsDto dto;
+        final long comments;
+
+        Built(CategoryStatsDto dto, long comments) {
+            this.dto = dto;
+            this.comments = comments;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.feelscore.back.service;
 import com.feelscore.back.dto.CommentDto;
 import com.feelscore.back.entity.Comment;
 import com.feelscore.back.entity.Post;
+import com.feelscore.back.entity.PostStatus;
 import com.feelscore.back.entity.Users;
 import com.feelscore.back.repository.CommentRepository;
 import com.feelscore.back.repository.PostRepository;
@@ -30,6 +31,9 @@ public class CommentService {
         private final UserRepository userRepository;
         private final NotificationProducer notificationProducer; // 🔹 알림 발송자 주입
         private final MentionService mentionService; // @멘션 서비스
+        private final PostDetailCache postDetailCache;
+        private final CategoryStatsTree categoryStatsTree;
+        private final CategoryRollupService categoryRollupService;
 
         @Transactional
         public CommentDto.Response createComment(Long postId, Long userId, String content, Long parentId) {
@@ -53,6 +57,12 @@ public class CommentService {
                                 .build();
 
                 commentRepository.save(comment);
+                postRepository.addCommentCount(postId, 1);
+                postDetailCache.adjustCommentCount(postId, 1);
+                if (post.getStatus() == PostStatus.NORMAL) {
+                        categoryStatsTree.addComments(post.getCategory().getId(), 1);
+                        categoryRollupService.addComments(post.getCategory().getId(), comment.getCreatedAt(), 1);
+                }
 
                 // 🔹 알림 발송 (내 글에 내가 쓴 댓글은 알림 X)
                 // 답글인 경우 원댓글 작성자에게 알림? (Optional enhancement, sticking to post writer for now
@@ -222,12 +232,23 @@ public class CommentService {
                 Users user = userRepository.findById(userId).orElseThrow();
                 List<Comment> comments = commentRepository.findAllByUsers(user);
 
+                java.util.Set<Long> postIds = new java.util.HashSet<>();
                 for (Comment comment : comments) {
+                        postIds.add(comment.getPost().getId());
                         // 댓글에 달린 리액션 삭제
                         commentReactionRepository.deleteAllByComment(comment);
                         // 댓글 삭제
                         commentRepository.delete(comment);
                 }
+
+                // 답글까지 함께 삭제될 수 있으므로 영향받은 게시글의 댓글 수를 다시 계산
+                if (!postIds.isEmpty()) {
+                        commentRepository.flush();
+                        postRepository.recountComments(postIds);
+                        postDetailCache.invalidateAll(postIds);
+                        categoryStatsTree.requestReload();
+                        categoryRollupService.requestRebuild();
+                }
         }
 
         @Transactional
@@ -245,5 +266,16 @@ public class CommentService {
                         // 댓글 삭제
                         commentRepository.delete(comment);
                 }
+
+                if (!comments.isEmpty()) {
+                        postRepository.addCommentCount(post.getId(), -comments.size());
+                        postDetailCache.invalidate(post.getId());
+                        if (post.getStatus() == PostStatus.NORMAL) {
+                                categoryStatsTree.addComments(post.getCategory().getId(), -comments.size());
+                                categoryRollupService.removeComments(post.getCategory().getId(),
+                                                comments.stream().map(Comment::getCreatedAt)
+                                                                .collect(Collectors.toList()));
+                        }
+                }
         }
 }
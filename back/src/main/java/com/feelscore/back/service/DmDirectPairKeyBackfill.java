@@ -0,0 +1,30 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.repository.DmThreadRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * direct_pair_key 도입 이전에 만들어진 1:1 대화방의 키를 채웁니다.
+ * - 키가 없고 멤버가 2명인 대화방만 대상이므로, 이미 채워진 뒤에는 바뀌는 행이 없습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DmDirectPairKeyBackfill {
+
+    private final DmThreadRepository dmThreadRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        int updated = dmThreadRepository.backfillDirectPairKeys();
+        if (updated > 0) {
+            log.info("Backfilled direct pair keys for {} DM threads.", updated);
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.feelscore.back.service;
 
+import com.feelscore.back.dto.CursorResponse;
+import com.feelscore.back.dto.DmInboxItemDto;
+import com.feelscore.back.dto.DmMessageResponse;
+import com.feelscore.back.dto.DmMessageSliceResponse;
+import com.feelscore.back.dto.PostCursor;
 import com.feelscore.back.entity.DmFolder;
 import com.feelscore.back.entity.DmMemberState;
 import com.feelscore.back.entity.DmMessage;
 import com.feelscore.back.entity.DmThread;
 import com.feelscore.back.entity.DmThreadMember;
 import com.feelscore.back.entity.Users;
-import com.feelscore.back.repository.BlockRepository;
 import com.feelscore.back.repository.DmMessageRepository;
 import com.feelscore.back.repository.DmThreadMemberRepository;
 import com.feelscore.back.repository.DmThreadRepository;
@@ -15,11 +19,14 @@ import com.feelscore.back.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.feelscore.back.entity.Block;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -30,12 +37,14 @@ import java.util.stream.Collectors;
 @lombok.extern.slf4j.Slf4j
 public class DmService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final DmThreadRepository dmThreadRepository;
     private final DmThreadMemberRepository dmThreadMemberRepository;
     private final DmMessageRepository dmMessageRepository;
     private final FollowRepository followRepository;
     private final UserRepository userRepository;
-    private final BlockRepository blockRepository;
+    private final BlockGraphService blockGraphService;
     private final NotificationService notificationService;
     private final S3Service s3Service;
 
@@ -44,7 +53,10 @@ public class DmService {
      * - threadId 있으면 해당 쓰레드에 전송
      * - threadId 없으면 sender/receiver 사이의 1:1 쓰레드 찾거나 생성
      * - 팔로우 여부에 따라 NORMAL / REQUEST / PRIMARY / REQUEST 폴더 결정
+     * - READ_COMMITTED: 같은 두 유저의 첫 메시지가 동시에 들어와 한쪽이 대화방 생성을 양보한 경우,
+     *   먼저 커밋된 대화방 / 멤버를 바로 읽을 수 있도록
      */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public DmMessage sendMessage(Long senderId, Long receiverId, Long threadId, String content) {
 
         if (senderId.equals(receiverId)) {
@@ -60,7 +72,7 @@ public class DmService {
             receiver = findUser(receiverId);
 
             // 차단 여부 확인 (원래대로 IllegalStateException 사용)
-            if (blockRepository.existsByBlockerAndBlocked(receiver, sender)) {
+            if (blockGraphService.isBlocking(receiverId, senderId)) {
                 throw new IllegalStateException("상대방이 당신을 차단하여 메시지를 보낼 수 없습니다.");
             }
         }
@@ -84,14 +96,13 @@ public class DmService {
                 throw new IllegalArgumentException("receiverId 또는 threadId 중 하나는 필수입니다.");
             }
 
-            // 1) 기존 쓰레드 있는지 먼저 확인
-            thread = dmThreadRepository
-                    .findDirectThreadBetween(senderId, receiverId)
-                    .orElse(null);
+            // 1) 기존 쓰레드 있는지 먼저 확인 (두 유저 키로 조회)
+            String pairKey = DmThread.pairKeyOf(senderId, receiverId);
+            thread = dmThreadRepository.findByDirectPairKey(pairKey).orElse(null);
 
             if (thread == null) {
                 // 2) 없으면 새 쓰레드를 만들면서 팔로우 여부로 상태/폴더 결정
-                thread = createNewThread(sender, receiver);
+                thread = createNewThread(sender, receiver, pairKey);
             } else {
                 // 3) 이미 존재하는 쓰레드면, 현재 팔로우 상태에 따라
                 // REQUEST → PRIMARY 로 승격해줄 수 있음
@@ -113,6 +124,10 @@ public class DmService {
 
         senderMember.updateLastRead(message);
 
+        // 안 읽은 수: 다른 멤버는 +1, 보낸 사람은 방금 보낸 메시지까지 읽은 것으로 다시 계산
+        dmThreadMemberRepository.incrementUnreadCount(thread.getId(), senderId);
+        dmThreadMemberRepository.recountUnread(List.of(senderMember.getId()));
+
         // 발신자가 숨겼던 채팅방이면 다시 표시
         if (senderMember.isHidden()) {
             senderMember.unhide();
@@ -158,10 +173,17 @@ public class DmService {
     /**
      * ➜ 새 DM Thread 생성 (팔로우 여부에 따라 상태/폴더 자동 처리)
      */
-    private DmThread createNewThread(Users sender, Users receiver) {
+    private DmThread createNewThread(Users sender, Users receiver, String pairKey) {
 
-        DmThread thread = DmThread.create();
-        dmThreadRepository.save(thread);
+        boolean created = dmThreadRepository.insertDirectIfAbsent(pairKey) > 0;
+        DmThread thread = dmThreadRepository.findByDirectPairKey(pairKey)
+                .orElseThrow(() -> new EntityNotFoundException("DM 쓰레드를 찾을 수 없습니다."));
+
+        if (!created) {
+            // 동시에 보낸 다른 요청이 먼저 만든 쓰레드 사용
+            updateMemberStateByFollow(sender, receiver, thread);
+            return thread;
+        }
 
         // 팔로우 관계 확인
         boolean receiverFollowsSender = followRepository.existsByFollowerAndFollowing(receiver, sender);
@@ -221,34 +243,15 @@ public class DmService {
 
     /**
      * 내 일반 DM함 조회 (숨김 제외) - Unread Count 포함
+     * - 대화방 / 상대방 / 마지막 메시지를 프로젝션 쿼리 한 번으로 조회 (마지막 활동 순)
      */
     @Transactional(readOnly = true)
     public List<com.feelscore.back.dto.DmThreadMemberResponseDto> getInbox(Long userId) {
-        log.info("getInbox userId={}", userId);
-        List<DmThreadMember> members = dmThreadMemberRepository.findByUserIdAndFolderAndHiddenFalse(userId,
-                DmFolder.PRIMARY);
-        log.info("Found {} members in Inbox (Primary)", members.size());
-
-        List<DmThreadMember> filteredMembers = filterBlockedMembers(userId, members);
-
-        return filteredMembers.stream().map(member -> {
-            // 상대방 찾기
-            DmThreadMember otherMember = member.getThread().getMembers().stream()
-                    .filter(m -> !m.getUser().getId().equals(userId))
-                    .findFirst()
-                    .orElse(member); // 나 자신과의 대화인 경우 (예외처리)
-
-            // 안 읽은 메시지 수 계산
-            long unreadCount = 0;
-            if (member.getLastReadMessage() != null) {
-                unreadCount = dmMessageRepository.countByThreadIdAndIdGreaterThan(
-                        member.getThread().getId(), member.getLastReadMessage().getId());
-            } else {
-                unreadCount = dmMessageRepository.countByThreadId(member.getThread().getId());
-            }
-
-            return new com.feelscore.back.dto.DmThreadMemberResponseDto(member, otherMember, unreadCount);
-        }).collect(Collectors.toList());
+        return dmThreadMemberRepository.findInboxAfterCursor(userId, DmFolder.PRIMARY,
+                PostCursor.createdAtOf(null), PostCursor.idOf(null), Pageable.unpaged())
+                .stream()
+                .map(com.feelscore.back.dto.DmThreadMemberResponseDto::new)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -256,93 +259,61 @@ public class DmService {
      */
     @Transactional(readOnly = true)
     public List<com.feelscore.back.dto.DmThreadMemberResponseDto> getRequestBox(Long userId) {
-        log.info("getRequestBox userId={}", userId);
-        List<DmThreadMember> members = dmThreadMemberRepository.findByUserIdAndStateAndHiddenFalse(userId,
-                DmMemberState.REQUEST);
-        log.info("Found {} members in RequestBox (Request)", members.size());
-
-        List<DmThreadMember> filteredMembers = filterBlockedMembers(userId, members);
-
-        return filteredMembers.stream().map(member -> {
-            // 상대방 찾기
-            DmThreadMember otherMember = member.getThread().getMembers().stream()
-                    .filter(m -> !m.getUser().getId().equals(userId))
-                    .findFirst()
-                    .orElse(member);
-
-            // 안 읽은 메시지 수 계산 (요청함도 미리보기로 확인 가능하므로 계산)
-            long unreadCount = 0;
-            if (member.getLastReadMessage() != null) {
-                unreadCount = dmMessageRepository.countByThreadIdAndIdGreaterThan(
-                        member.getThread().getId(), member.getLastReadMessage().getId());
-            } else {
-                unreadCount = dmMessageRepository.countByThreadId(member.getThread().getId());
-            }
-
-            return new com.feelscore.back.dto.DmThreadMemberResponseDto(member, otherMember, unreadCount);
-        }).collect(Collectors.toList());
+        return dmThreadMemberRepository.findRequestBoxAfterCursor(userId, DmMemberState.REQUEST,
+                PostCursor.createdAtOf(null), PostCursor.idOf(null), Pageable.unpaged())
+                .stream()
+                .map(com.feelscore.back.dto.DmThreadMemberResponseDto::new)
+                .collect(Collectors.toList());
     }
 
     /**
-     * 전체 안 읽은 메시지 수 조회 (메인 + 요청)
+     * 내 일반 DM함 커서 조회 - 마지막 활동 시각 내림차순
+     *
+     * @param cursor 이전 응답의 nextCursor (첫 페이지는 null)
      */
     @Transactional(readOnly = true)
-    public long getTotalUnreadCount(Long userId) {
-        long totalUnread = 0;
-
-        // 1. Inbox (Primary)
-        List<DmThreadMember> primaryMembers = dmThreadMemberRepository.findByUserIdAndFolderAndHiddenFalse(userId,
-                DmFolder.PRIMARY);
-        List<DmThreadMember> filteredPrimary = filterBlockedMembers(userId, primaryMembers);
-        for (DmThreadMember member : filteredPrimary) {
-            if (member.getLastReadMessage() != null) {
-                totalUnread += dmMessageRepository.countByThreadIdAndIdGreaterThan(
-                        member.getThread().getId(), member.getLastReadMessage().getId());
-            } else {
-                totalUnread += dmMessageRepository.countByThreadId(member.getThread().getId());
-            }
-        }
-
-        // 2. Requests
-        List<DmThreadMember> requestMembers = dmThreadMemberRepository.findByUserIdAndStateAndHiddenFalse(userId,
-                DmMemberState.REQUEST);
-        List<DmThreadMember> filteredRequests = filterBlockedMembers(userId, requestMembers);
-        for (DmThreadMember member : filteredRequests) {
-            if (member.getLastReadMessage() != null) {
-                totalUnread += dmMessageRepository.countByThreadIdAndIdGreaterThan(
-                        member.getThread().getId(), member.getLastReadMessage().getId());
-            } else {
-                totalUnread += dmMessageRepository.countByThreadId(member.getThread().getId());
-            }
-        }
+    public CursorResponse<DmInboxItemDto> getInboxCursor(Long userId, String cursor, int size) {
+        PostCursor c = PostCursor.decode(cursor);
+        int limit = normalizeSize(size);
+        return toCursorResponse(dmThreadMemberRepository.findInboxAfterCursor(userId, DmFolder.PRIMARY,
+                PostCursor.createdAtOf(c), PostCursor.idOf(c), PageRequest.of(0, limit + 1)), limit);
+    }
 
-        return totalUnread;
+    /**
+     * 내 메시지 요청함 커서 조회 - 마지막 활동 시각 내림차순
+     */
+    @Transactional(readOnly = true)
+    public CursorResponse<DmInboxItemDto> getRequestBoxCursor(Long userId, String cursor, int size) {
+        PostCursor c = PostCursor.decode(cursor);
+        int limit = normalizeSize(size);
+        return toCursorResponse(dmThreadMemberRepository.findRequestBoxAfterCursor(userId, DmMemberState.REQUEST,
+                PostCursor.createdAtOf(c), PostCursor.idOf(c), PageRequest.of(0, limit + 1)), limit);
     }
 
-    private List<DmThreadMember> filterBlockedMembers(Long userId, List<DmThreadMember> members) {
-        Users me = findUser(userId);
-        List<Block> blocks = blockRepository.findByBlocker(me);
-        Set<Long> blockedUserIds = blocks.stream()
-                .map(block -> block.getBlocked().getId())
-                .collect(Collectors.toSet());
+    // limit + 1개를 조회해서 다음 페이지 존재 여부를 판단 (COUNT 쿼리 대신)
+    private CursorResponse<DmInboxItemDto> toCursorResponse(List<DmInboxItemDto> rows, int limit) {
+        boolean hasNext = rows.size() > limit;
+        List<DmInboxItemDto> page = hasNext ? rows.subList(0, limit) : rows;
 
-        if (blockedUserIds.isEmpty()) {
-            return members;
+        String nextCursor = null;
+        if (hasNext) {
+            DmInboxItemDto last = page.get(page.size() - 1);
+            nextCursor = PostCursor.of(last.getLastActivityAt(), last.getThreadId()).encode();
         }
+        return CursorResponse.of(page, nextCursor);
+    }
 
-        return members.stream()
-                .filter(member -> {
-                    // Check other members in the thread
-                    for (DmThreadMember m : member.getThread().getMembers()) {
-                        if (!m.getUser().getId().equals(userId)) {
-                            if (blockedUserIds.contains(m.getUser().getId())) {
-                                return false; // Blocked user found in thread
-                            }
-                        }
-                    }
-                    return true;
-                })
-                .collect(Collectors.toList());
+    private int normalizeSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
+
+    /**
+     * 전체 안 읽은 메시지 수 조회 (메인 + 요청)
+     * - 멤버별 unreadCount 합계 한 번으로 조회 (숨김 / 차단한 상대와의 대화 제외)
+     */
+    @Transactional(readOnly = true)
+    public long getTotalUnreadCount(Long userId) {
+        return dmThreadMemberRepository.sumUnreadCountByUserId(userId);
     }
 
     /**
@@ -394,6 +365,12 @@ public class DmService {
                 .findByThreadIdAndUserId(threadId, userId)
                 .orElseThrow(() -> new EntityNotFoundException("DM 멤버 정보를 찾을 수 없습니다."));
 
+        // 멤버가 빠진 대화방은 더 이상 두 유저의 1:1 대화방으로 찾지 않음
+        DmThread thread = me.getThread();
+        if (thread.getDirectPairKey() != null) {
+            thread.releaseDirectPairKey();
+        }
+
         dmThreadMemberRepository.delete(me);
 
         // (선택사항) 쓰레드에 남은 멤버가 없으면 쓰레드 자체를 삭제하는 로직 추가 가능
@@ -401,21 +378,77 @@ public class DmService {
     }
 
     /**
-     * 특정 쓰레드 메시지 전체 불러오기 (Legacy)
+     * 특정 쓰레드 메시지 페이징 불러오기
+     * - Pageable을 통해 offset, limit 처리 (긴 대화방은 loadMessageSlice의 keyset 조회 사용)
+     * - 접근 권한 체크 추가
      */
     @Transactional(readOnly = true)
-    public List<DmMessage> loadMessages(Long threadId) {
-        return dmMessageRepository.findByThreadIdOrderByCreatedAtAsc(threadId);
+    public Page<DmMessage> loadMessages(Long threadId, Pageable pageable, Long userId) {
+        checkThreadMember(threadId, userId);
+        return dmMessageRepository.findByThreadId(threadId, pageable);
     }
 
     /**
-     * 특정 쓰레드 메시지 페이징 불러오기
-     * - Pageable을 통해 offset, limit 처리
-     * - 접근 권한 체크 추가
+     * 특정 쓰레드 메시지 keyset 조회 (message_id 커서, offset 없음)
+     * - beforeId: 그보다 오래된 메시지 size개 (위로 스크롤)
+     * - afterId: 그보다 새로운 메시지 size개 (아래로 스크롤 / 재접속 시 놓친 메시지)
+     * - 둘 다 없으면 최신 메시지 size개
      */
     @Transactional(readOnly = true)
-    public Page<DmMessage> loadMessages(Long threadId, Pageable pageable, Long userId) {
-        // 권한 체크: 사용자가 해당 쓰레드의 멤버인지 확인
+    public DmMessageSliceResponse loadMessageSlice(Long threadId, Long userId, Long beforeId, Long afterId,
+            int size) {
+        checkThreadMember(threadId, userId);
+        if (beforeId != null && afterId != null) {
+            throw new IllegalArgumentException("before와 after는 함께 사용할 수 없습니다.");
+        }
+        int limit = normalizeSize(size);
+
+        if (afterId != null) {
+            List<DmMessage> newer = dmMessageRepository.findAfter(threadId, afterId, PageRequest.of(0, limit + 1));
+            boolean hasNewer = newer.size() > limit;
+            List<DmMessage> page = hasNewer ? newer.subList(0, limit) : newer;
+            // 커서 메시지(afterId)가 더 오래된 쪽에 있으므로 hasOlder는 커서가 있는지로 판단
+            return DmMessageSliceResponse.of(toMessageResponses(page, userId), afterId > 0, hasNewer);
+        }
+
+        Long seek = beforeId != null ? beforeId : Long.MAX_VALUE;
+        List<DmMessage> older = dmMessageRepository.findBefore(threadId, seek, PageRequest.of(0, limit + 1));
+        boolean hasOlder = older.size() > limit;
+        List<DmMessage> page = new ArrayList<>(hasOlder ? older.subList(0, limit) : older);
+        Collections.reverse(page); // 화면 표시용 오래된 순
+        return DmMessageSliceResponse.of(toMessageResponses(page, userId), hasOlder, beforeId != null);
+    }
+
+    /**
+     * 특정 메시지로 이동 (검색 결과 / 답장 원문 등)
+     * - messageId 앞쪽 size / 2개와 messageId를 포함한 뒤쪽 메시지를 한 구간으로 반환
+     */
+    @Transactional(readOnly = true)
+    public DmMessageSliceResponse loadMessageWindow(Long threadId, Long userId, Long messageId, int size) {
+        checkThreadMember(threadId, userId);
+        if (!dmMessageRepository.existsByIdAndThreadId(messageId, threadId)) {
+            throw new EntityNotFoundException("존재하지 않는 메시지입니다. id=" + messageId);
+        }
+        int limit = normalizeSize(size);
+        int olderCount = limit / 2;
+        int newerCount = limit - olderCount; // 기준 메시지 포함
+
+        List<DmMessage> older = dmMessageRepository.findBefore(threadId, messageId,
+                PageRequest.of(0, olderCount + 1));
+        boolean hasOlder = older.size() > olderCount;
+        List<DmMessage> window = new ArrayList<>(hasOlder ? older.subList(0, olderCount) : older);
+        Collections.reverse(window);
+
+        List<DmMessage> newer = dmMessageRepository.findAfter(threadId, messageId - 1,
+                PageRequest.of(0, newerCount + 1));
+        boolean hasNewer = newer.size() > newerCount;
+        window.addAll(hasNewer ? newer.subList(0, newerCount) : newer);
+
+        return DmMessageSliceResponse.of(toMessageResponses(window, userId), hasOlder, hasNewer);
+    }
+
+    // 권한 체크: 사용자가 해당 쓰레드의 멤버인지 확인
+    private void checkThreadMember(Long threadId, Long userId) {
         boolean isMember = dmThreadMemberRepository.existsByThreadIdAndUserId(threadId, userId);
         log.info("Access Check: threadId={}, userId={}, isMember={}", threadId, userId, isMember);
 
@@ -423,9 +456,12 @@ public class DmService {
             log.error("Access Denied for userId={} on threadId={}", userId, threadId);
             throw new IllegalArgumentException("해당 대화방에 접근 권한이 없습니다.");
         }
+    }
 
-        // TODO: 향후 퍼포먼스 이슈 시 NoOffset 방식(lastMessageId 기반) 고려 가능
-        return dmMessageRepository.findByThreadId(threadId, pageable);
+    private List<DmMessageResponse> toMessageResponses(List<DmMessage> messages, Long userId) {
+        return messages.stream()
+                .map(message -> new DmMessageResponse(message, userId))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -439,9 +475,26 @@ public class DmService {
         DmThread thread = me.getThread();
         if (thread.getLastMessage() != null) {
             me.updateLastRead(thread.getLastMessage());
+            // 0으로 덮어쓰지 않고 다시 계산 (읽음 처리와 동시에 도착한 메시지는 남김)
+            dmThreadMemberRepository.recountUnread(List.of(me.getId()));
         }
     }
 
+    /**
+     * 안 읽은 수 보정 (id 순 청크 단위, 청크마다 별도 트랜잭션)
+     *
+     * @return 처리한 마지막 멤버 id, 더 없으면 null
+     */
+    public Long recountUnreadChunk(Long lastId, int size) {
+        List<Long> memberIds = dmThreadMemberRepository.findIdsAfter(lastId,
+                PageRequest.of(0, size));
+        if (memberIds.isEmpty()) {
+            return null;
+        }
+        dmThreadMemberRepository.recountUnread(memberIds);
+        return memberIds.get(memberIds.size() - 1);
+    }
+
     // ======================
     // 내부 메서드
     // ======================
@@ -456,7 +509,8 @@ public class DmService {
      */
     @Transactional(readOnly = true)
     public Long findExistingDirectThreadId(Long senderId, Long receiverId) {
-        DmThread thread = dmThreadRepository.findDirectThreadBetween(senderId, receiverId).orElse(null);
+        DmThread thread = dmThreadRepository.findByDirectPairKey(DmThread.pairKeyOf(senderId, receiverId))
+                .orElse(null);
         return (thread != null) ? thread.getId() : null;
     }
 
@@ -480,9 +534,18 @@ public class DmService {
         }
 
         // 3. 메시지 삭제
+        Set<Long> threadIds = messages.stream()
+                .map(message -> message.getThread().getId())
+                .collect(Collectors.toSet());
         dmMessageRepository.deleteAll(messages);
 
-        // 4. 내가 참여한 대화방 멤버십 삭제
+        // 4. 내가 참여한 대화방 멤버십 삭제 (1:1 키도 해제)
+        dmThreadRepository.releaseDirectPairKeysOfUser(userId);
         dmThreadMemberRepository.deleteByUser(user);
+
+        // 5. 삭제된 메시지가 있던 대화방의 남은 멤버 안 읽은 수 다시 계산
+        if (!threadIds.isEmpty()) {
+            dmThreadMemberRepository.recountUnreadByThreadIds(threadIds);
+        }
     }
 }
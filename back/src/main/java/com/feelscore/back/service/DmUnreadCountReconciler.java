@@ -0,0 +1,43 @@
+package com.feelscore.back.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * DM 멤버별 안 읽은 수(dm_thread_members.unread_count) 보정
+ * - 기동 시(컬럼 추가 직후 기존 대화방 채우기 포함)와 매일 새벽에 메시지 기준으로 다시 계산합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DmUnreadCountReconciler {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final DmService dmService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcileUnreadCounts();
+    }
+
+    // Run every day at 04:40 (low traffic)
+    @Scheduled(cron = "0 40 4 * * *")
+    public void reconcileUnreadCounts() {
+        long lastId = 0L;
+        long chunks = 0;
+
+        // 청크마다 별도 트랜잭션으로 처리 (긴 트랜잭션으로 멤버 행을 오래 잠그지 않도록)
+        Long next;
+        while ((next = dmService.recountUnreadChunk(lastId, CHUNK_SIZE)) != null) {
+            lastId = next;
+            chunks++;
+        }
+
+        log.info("Finished DM unread count reconciliation. Recounted {} chunks up to member id {}.", chunks, lastId);
+    }
+}
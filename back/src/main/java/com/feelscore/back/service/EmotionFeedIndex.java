@@ -0,0 +1,242 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.entity.EmotionType;
+import com.feelscore.back.entity.PostStatus;
+import com.feelscore.back.repository.PostRepository;
+import com.feelscore.back.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 감정별 최신 게시글 ID 인덱스 (감정 피드용)
+ * - 감정(dominantEmotion)마다 최근 NORMAL 게시글 id를 고정 크기 링 버퍼에 id 오름차순(= 작성 순)으로 보관
+ * - 감정 분석 완료 / 게시글 삭제 시 갱신하고, 버퍼보다 깊은 페이지는 DB로 조회합니다.
+ * - 전체 개수는 증감으로 유지하되, 버퍼 밖 게시글의 재분석 / 삭제로 생기는 오차는 주기적으로 다시 셉니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmotionFeedIndex {
+
+    private static final int CAPACITY = 2000; // 감정별 보관하는 최근 게시글 수
+
+    private final PostRepository postRepository;
+
+    private final Map<EmotionType, IdRing> rings = createRings();
+    private final AtomicLongArray totals = new AtomicLongArray(EmotionType.values().length);
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (EmotionType type : EmotionType.values()) {
+            List<Long> recent = postRepository.findIdsByEmotion(type, PostStatus.NORMAL, PageRequest.of(0, CAPACITY));
+            IdRing ring = rings.get(type);
+            // 적재 중에 들어온 분석 결과와 섞이도록 덮어쓰지 않고 추가 (DB 결과는 최신순이므로 오래된 것부터)
+            for (int i = recent.size() - 1; i >= 0; i--) {
+                ring.add(recent.get(i));
+            }
+            if (recent.size() >= CAPACITY) {
+                ring.markTruncated();
+            }
+        }
+        refreshTotals();
+        ready = true;
+        log.info("Emotion feed index loaded.");
+    }
+
+    @Scheduled(initialDelay = 600_000, fixedDelay = 600_000)
+    public void refreshTotals() {
+        long[] counts = new long[EmotionType.values().length];
+        for (Object[] row : postRepository.countByDominantEmotion(PostStatus.NORMAL)) {
+            if (row[0] != null) {
+                counts[((EmotionType) row[0]).ordinal()] = ((Number) row[1]).longValue();
+            }
+        }
+        for (int i = 0; i < counts.length; i++) {
+            totals.set(i, counts[i]);
+        }
+    }
+
+    /**
+     * 감정 분석(재분석 포함)이 끝난 게시글을 현재 감정 / 상태 기준으로 다시 반영합니다.
+     */
+    public void onAnalysisComplete(Long postId) {
+        EmotionType previous = removeFromRings(postId);
+        if (previous != null) {
+            totals.decrementAndGet(previous.ordinal());
+        }
+
+        List<Object[]> rows = postRepository.findStatusAndEmotionById(postId);
+        if (rows.isEmpty()) {
+            return;
+        }
+        PostStatus status = (PostStatus) rows.get(0)[0];
+        EmotionType emotion = (EmotionType) rows.get(0)[1];
+        if (status == PostStatus.NORMAL && emotion != null) {
+            rings.get(emotion).add(postId);
+            totals.incrementAndGet(emotion.ordinal());
+        }
+    }
+
+    /**
+     * 삭제된 게시글 제외 (커밋 이후 반영)
+     */
+    public void remove(Long postId) {
+        AfterCommit.run(() -> {
+            EmotionType previous = removeFromRings(postId);
+            if (previous != null) {
+                totals.decrementAndGet(previous.ordinal());
+            }
+        });
+    }
+
+    /**
+     * 최신순 offset부터 size개의 게시글 ID
+     *
+     * @return 인덱스로 처리할 수 없으면(적재 전이거나 버퍼보다 깊은 페이지) null
+     */
+    public Slice find(EmotionType emotionType, long offset, int size) {
+        if (!ready) {
+            return null;
+        }
+        return rings.get(emotionType).slice(offset, size, totals.get(emotionType.ordinal()));
+    }
+
+    private EmotionType removeFromRings(Long postId) {
+        for (Map.Entry<EmotionType, IdRing> entry : rings.entrySet()) {
+            if (entry.getValue().remove(postId)) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    private static Map<EmotionType, IdRing> createRings() {
+        Map<EmotionType, IdRing> rings = new EnumMap<>(EmotionType.class);
+        for (EmotionType type : EmotionType.values()) {
+            rings.put(type, new IdRing(CAPACITY));
+        }
+        return rings;
+    }
+
+    public static class Slice {
+        private final List<Long> ids;
+        private final long total;
+
+        Slice(List<Long> ids, long total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+    }
+
+    /**
+     * 감정 하나의 post id 링 버퍼 (head부터 id 오름차순)
+     * - 대부분 가장 최신 id가 뒤에 붙고, 분석이 늦게 끝난 게시글만 중간에 끼워 넣습니다.
+     * - 가득 차면 가장 오래된 id를 버립니다. 버퍼보다 오래된 게시글이 있으면 보관 중인 가장 오래된 id보다 오래된 id는 넣지 않습니다.
+     */
+    static final class IdRing {
+        private final long[] ring;
+        private int head; // 가장 오래된 id 위치
+        private int size;
+        private boolean truncated; // 버퍼보다 오래된 게시글이 더 있는지
+
+        IdRing(int capacity) {
+            this.ring = new long[capacity];
+        }
+
+        synchronized void add(long postId) {
+            int pos = search(postId);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+
+            // 보관 중인 게시글보다 오래됨 (DB 조회 구간). 삭제로 자리가 비어 있어도 끼워 넣으면
+            // 사이에 있는 DB 게시글을 건너뛰게 되므로, 버퍼 밖 게시글이 있으면 항상 버림
+            if (pos == 0 && (truncated || size == ring.length)) {
+                truncated = true;
+                return;
+            }
+            if (size == ring.length) {
+                truncated = true;
+                head = (head + 1) % ring.length;
+                size--;
+                pos--;
+            }
+            for (int i = size; i > pos; i--) {
+                ring[at(i)] = ring[at(i - 1)];
+            }
+            ring[at(pos)] = postId;
+            size++;
+        }
+
+        synchronized boolean remove(long postId) {
+            int pos = search(postId);
+            if (pos < 0) {
+                return false;
+            }
+            for (int i = pos; i < size - 1; i++) {
+                ring[at(i)] = ring[at(i + 1)];
+            }
+            size--;
+            return true;
+        }
+
+        synchronized void markTruncated() {
+            truncated = true;
+        }
+
+        // 최신순 offset부터 size개 (버퍼에 없는 구간이 필요하면 null)
+        synchronized Slice slice(long offset, int limit, long total) {
+            if (truncated && offset + limit > size) {
+                return null;
+            }
+            List<Long> ids = new ArrayList<>(limit);
+            for (long k = size - 1 - offset; k >= 0 && ids.size() < limit; k--) {
+                ids.add(ring[at((int) k)]);
+            }
+            return new Slice(ids, truncated ? Math.max(total, size) : size);
+        }
+
+        private int at(int logicalIndex) {
+            return (head + logicalIndex) % ring.length;
+        }
+
+        // Arrays.binarySearch와 같은 규약 (없으면 -(삽입 위치) - 1)
+        private int search(long postId) {
+            int lo = 0;
+            int hi = size - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                long value = ring[at(mid)];
+                if (value < postId) {
+                    lo = mid + 1;
+                } else if (value > postId) {
+                    hi = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(lo + 1);
+        }
+    }
+}
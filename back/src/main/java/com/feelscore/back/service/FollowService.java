@@ -6,7 +6,6 @@ import com.feelscore.back.dto.UsersDto;
 import com.feelscore.back.entity.Follow;
 import com.feelscore.back.entity.Users;
 import com.feelscore.back.repository.FollowRepository;
-import com.feelscore.back.repository.BlockRepository;
 import com.feelscore.back.repository.UserRepository;
 import lombok.Builder;
 import lombok.Getter;
@@ -25,9 +24,10 @@ public class FollowService {
 
         private final FollowRepository followRepository;
         private final UserRepository userRepository;
-        private final BlockRepository blockRepository;
+        private final BlockGraphService blockGraphService;
         private final NotificationProducer notificationProducer; // 🔹 알림 발송자 주입
         private final ActiveUserService activeUserService; // 🔹 활성 유저 서비스 주입
+        private final HomeTimelineService homeTimelineService;
 
         /**
          * 팔로우 토글 (팔로우 <-> 언팔로우)
@@ -46,11 +46,13 @@ public class FollowService {
                                                 "Target user not found with id: " + targetUserId));
 
                 // 차단 관계 확인 (서로 차단되어 있으면 팔로우 불가)
-                if (blockRepository.existsByBlockerAndBlocked(currentUser, targetUser) ||
-                                blockRepository.existsByBlockerAndBlocked(targetUser, currentUser)) {
+                if (blockGraphService.isBlockedEitherWay(currentUserId, targetUserId)) {
                         throw new IllegalStateException("차단된 유저입니다.");
                 }
 
+                // 팔로잉 목록이 바뀌므로 홈 타임라인은 다음 조회 때 다시 구성
+                homeTimelineService.invalidate(currentUserId);
+
                 if (followRepository.existsByFollowerAndFollowing(currentUser, targetUser)) {
                         followRepository.deleteByFollowerAndFollowing(currentUser, targetUser);
                         return false; // 언팔로우 됨
@@ -187,5 +189,6 @@ public class FollowService {
                 Users user = userRepository.findById(userId).orElseThrow();
                 followRepository.deleteByFollower(user);
                 followRepository.deleteByFollowing(user);
+                homeTimelineService.invalidate(userId);
         }
 }
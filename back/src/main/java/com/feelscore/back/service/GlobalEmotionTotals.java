@@ -0,0 +1,148 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.dto.CategoryEmotionStatsDto.GlobalStatProjection;
+import com.feelscore.back.entity.EmotionType;
+import com.feelscore.back.repository.CategoryEmotionStatsRepository;
+import com.feelscore.back.repository.CategoryEmotionStatsWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 전체 감정 순위용 감정별 합계 (category_emotion_stats 전체의 SUM(count), SUM(total_score))
+ * - EmotionType.ordinal() 인덱스 배열 11칸을 메모리에 두고, category_emotion_stats에 반영하는 것과 같은 증감으로 갱신합니다.
+ * - 증감 반영(DB 커밋 + 배열 갱신)과 DB 대조는 같은 잠금 안에서 하므로 서로 끼어들지 않습니다.
+ * - 버퍼를 거치지 않는 변경(관리자 감정 수정 등)은 대조를 요청하고, 주기적으로도 DB와 대조해 어긋나면 바로잡습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GlobalEmotionTotals {
+
+    private static final int EMOTIONS = EmotionType.values().length;
+
+    private final CategoryEmotionStatsRepository categoryEmotionStatsRepository;
+
+    private final AtomicLongArray counts = new AtomicLongArray(EMOTIONS);
+    private final AtomicLongArray scores = new AtomicLongArray(EMOTIONS);
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean ready;
+    private volatile boolean reconcileRequested;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 감정별 글 개수 합계 복사본 (EmotionType.ordinal() 인덱스)
+     */
+    public long[] copyCounts() {
+        return copy(counts);
+    }
+
+    /**
+     * 감정별 점수 합계 복사본 (EmotionType.ordinal() 인덱스)
+     */
+    public long[] copyScores() {
+        return copy(scores);
+    }
+
+    /**
+     * DB 반영(write)이 성공하면 같은 증감을 합계에 더합니다.
+     *
+     * @param deltas CategoryEmotionStatsWriter.key(categoryId, emotionType) -> { 글 개수 증감, 점수 합 증감 }
+     */
+    public void apply(Runnable write, Map<Long, long[]> deltas) {
+        lock.lock();
+        try {
+            write.run();
+            deltas.forEach((key, delta) -> {
+                int index = CategoryEmotionStatsWriter.emotionTypeOf(key).ordinal();
+                counts.addAndGet(index, delta[0]);
+                scores.addAndGet(index, delta[1]);
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 증감으로 반영하기 어려운 변경 후 호출 (다음 주기에 DB와 대조)
+     */
+    public void requestReconcile() {
+        reconcileRequested = true;
+    }
+
+    @Scheduled(fixedDelay = 5_000)
+    public void reconcileIfRequested() {
+        if (reconcileRequested) {
+            reconcileRequested = false;
+            reconcile();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+        ready = true;
+        log.info("Global emotion totals loaded.");
+    }
+
+    // 주기적인 DB 대조
+    @Scheduled(initialDelay = 600_000, fixedDelay = 600_000)
+    public void checkConsistency() {
+        reconcile();
+    }
+
+    /**
+     * DB 합계와 대조해 다르면 DB 값으로 교체합니다.
+     *
+     * @return 어긋나 있었으면 true
+     */
+    public boolean reconcile() {
+        lock.lock();
+        try {
+            long[] dbCounts = new long[EMOTIONS];
+            long[] dbScores = new long[EMOTIONS];
+            for (GlobalStatProjection row : categoryEmotionStatsRepository.getEmotionRankingByCountProjection()) {
+                if (row.getEmotionType() != null) {
+                    dbCounts[row.getEmotionType().ordinal()] = nullToZero(row.getTotalCount());
+                    dbScores[row.getEmotionType().ordinal()] = nullToZero(row.getTotalScore());
+                }
+            }
+
+            boolean drifted = false;
+            for (int i = 0; i < EMOTIONS; i++) {
+                drifted |= counts.getAndSet(i, dbCounts[i]) != dbCounts[i];
+                drifted |= scores.getAndSet(i, dbScores[i]) != dbScores[i];
+            }
+            if (drifted && ready) {
+                log.warn("Global emotion totals drifted from category_emotion_stats; reset to {} / {}",
+                        Arrays.toString(dbCounts), Arrays.toString(dbScores));
+            }
+            return drifted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long[] copy(AtomicLongArray source) {
+        long[] values = new long[source.length()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = source.get(i);
+        }
+        return values;
+    }
+
+    private static long nullToZero(Long value) {
+        return value != null ? value : 0L;
+    }
+}
@@ -0,0 +1,291 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.entity.PostStatus;
+import com.feelscore.back.repository.FollowRepository;
+import com.feelscore.back.repository.PostRepository;
+import com.feelscore.back.util.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 팔로우 기반 홈 타임라인 (게시글 ID만 관리)
+ * - fan-out-on-write: 게시글 작성 시 메모리에 올라와 있는 팔로워 타임라인(고정 크기 링 버퍼)에 post id를 push
+ * - 팔로워가 기준 이상인 유저(셀럽)의 글은 push하지 않고, 읽을 때 DB에서 가져와 병합 (fan-out-on-read)
+ * - 메모리에 없는(cold / evict된) 타임라인은 첫 조회 시 DB에서 다시 구성
+ * - 셀럽 목록이 바뀌면 이전 목록으로 구성한 타임라인은 다음 조회 때 다시 구성 (승격된 작성자의 새 글이 빠지지 않도록)
+ * - 타임라인 수는 LRU로 제한합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HomeTimelineService {
+
+    private static final int TIMELINE_CAPACITY = 800; // 유저당 보관하는 최근 게시글 수
+    private static final int MAX_RESIDENT_TIMELINES = 50_000;
+
+    private final FollowRepository followRepository;
+    private final PostRepository postRepository;
+
+    @Value("${timeline.celebrity-follower-threshold:10000}")
+    private long celebrityThreshold;
+
+    // access-order LinkedHashMap = LRU (모든 접근은 synchronized (timelines))
+    private final Map<Long, Timeline> timelines = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Timeline> eldest) {
+            return size() > MAX_RESIDENT_TIMELINES;
+        }
+    };
+
+    // 내용이 바뀔 때만 교체 (타임라인은 구성할 때 쓴 목록과 같은 객체인지로 최신 여부 판단)
+    private volatile Set<Long> celebrities;
+    // invalidate될 때마다 증가 (재구성 중에 팔로우 관계가 바뀌었는지 확인용)
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * 게시글 작성 시 팔로워 타임라인에 push (셀럽이면 작성자 본인 타임라인만, 커밋 이후 반영)
+     */
+    public void onPostCreated(Long authorId, Long postId) {
+        AfterCommit.run(() -> {
+            pushIfResident(authorId, postId);
+            if (isCelebrity(authorId)) {
+                return;
+            }
+
+            List<Long> followerIds = followRepository.findFollowerIdsByFollowingId(authorId);
+            for (Long followerId : followerIds) {
+                pushIfResident(followerId, postId);
+            }
+        });
+    }
+
+    /**
+     * 팔로우 관계가 바뀌면 해당 유저의 타임라인을 버리고 다음 조회 때 다시 구성 (커밋 이후 반영)
+     */
+    public void invalidate(Long userId) {
+        AfterCommit.run(() -> {
+            synchronized (timelines) {
+                invalidations.incrementAndGet();
+                timelines.remove(userId);
+            }
+        });
+    }
+
+    /**
+     * beforeId보다 오래된 게시글 ID를 최신순으로 최대 limit개 반환합니다.
+     */
+    public List<Long> getPostIds(Long userId, long beforeId, int limit) {
+        Timeline timeline = getOrRebuild(userId);
+
+        // 1. 버퍼(push 받은 게시글)
+        long[] buffered = timeline.before(beforeId, limit);
+        if (buffered.length < limit && timeline.isTruncated()) {
+            // 버퍼보다 오래된 구간은 DB에서 이어서 조회
+            long from = buffered.length > 0 ? buffered[buffered.length - 1] : beforeId;
+            List<Long> older = postRepository.findIdsByUsersBefore(timeline.authorIds, PostStatus.NORMAL, from,
+                    PageRequest.of(0, limit - buffered.length));
+            buffered = concat(buffered, older);
+        }
+
+        // 2. 셀럽 게시글 (fan-out-on-read)
+        if (timeline.celebrityIds.isEmpty()) {
+            return toList(buffered);
+        }
+        List<Long> celebrityPosts = postRepository.findIdsByUsersBefore(timeline.celebrityIds, PostStatus.NORMAL,
+                beforeId, PageRequest.of(0, limit));
+        return mergeDescending(buffered, celebrityPosts, limit);
+    }
+
+    private void pushIfResident(Long userId, Long postId) {
+        Timeline timeline;
+        synchronized (timelines) {
+            timeline = timelines.get(userId);
+        }
+        if (timeline != null) {
+            timeline.push(postId);
+        }
+    }
+
+    private Timeline getOrRebuild(Long userId) {
+        Set<Long> celebritySet = celebrities();
+        synchronized (timelines) {
+            Timeline timeline = timelines.get(userId);
+            if (timeline != null && timeline.celebritySet == celebritySet) {
+                return timeline;
+            }
+        }
+
+        long rebuiltAt = invalidations.get();
+        Timeline rebuilt = rebuild(userId, celebritySet);
+        synchronized (timelines) {
+            if (invalidations.get() != rebuiltAt) {
+                return rebuilt; // 재구성 중 팔로우 관계가 바뀜 (이번 조회에만 쓰고 보관하지 않음)
+            }
+            // 재구성 중 다른 요청이 같은 셀럽 목록으로 먼저 넣었으면 그쪽을 사용 (그 사이 push된 게시글 유지)
+            Timeline existing = timelines.get(userId);
+            if (existing != null && existing.celebritySet == celebritySet) {
+                return existing;
+            }
+            timelines.put(userId, rebuilt);
+            return rebuilt;
+        }
+    }
+
+    private Timeline rebuild(Long userId, Set<Long> celebritySet) {
+        List<Long> authorIds = new ArrayList<>();
+        List<Long> celebrityIds = new ArrayList<>();
+        authorIds.add(userId); // 내 게시글도 홈 타임라인에 포함
+
+        for (Long followingId : followRepository.findFollowingIdsByFollowerId(userId)) {
+            if (celebritySet.contains(followingId)) {
+                celebrityIds.add(followingId);
+            } else {
+                authorIds.add(followingId);
+            }
+        }
+
+        List<Long> recent = postRepository.findIdsByUsersBefore(authorIds, PostStatus.NORMAL, Long.MAX_VALUE,
+                PageRequest.of(0, TIMELINE_CAPACITY));
+
+        Timeline timeline = new Timeline(TIMELINE_CAPACITY, authorIds, celebrityIds, celebritySet);
+        // DB 결과는 최신순이므로 오래된 것부터 push
+        for (int i = recent.size() - 1; i >= 0; i--) {
+            timeline.push(recent.get(i));
+        }
+        // 가득 찼다면 그보다 오래된 게시글이 더 있을 수 있음
+        timeline.truncated = recent.size() >= TIMELINE_CAPACITY;
+        return timeline;
+    }
+
+    private boolean isCelebrity(Long userId) {
+        return celebrities().contains(userId);
+    }
+
+    private Set<Long> celebrities() {
+        Set<Long> current = celebrities;
+        if (current == null) {
+            current = loadCelebrities();
+        }
+        return current;
+    }
+
+    @Scheduled(fixedDelay = 600_000)
+    public void refreshCelebrities() {
+        loadCelebrities();
+    }
+
+    private Set<Long> loadCelebrities() {
+        Set<Long> loaded = new HashSet<>(followRepository.findUserIdsWithFollowersAtLeast(celebrityThreshold));
+        Set<Long> previous = celebrities;
+        if (previous != null && previous.equals(loaded)) {
+            return previous; // 그대로면 교체하지 않음 (상주 타임라인 유지)
+        }
+        celebrities = loaded;
+        return loaded;
+    }
+
+    static List<Long> mergeDescending(long[] a, List<Long> b, int limit) {
+        List<Long> merged = new ArrayList<>(Math.min(limit, a.length + b.size()));
+        int i = 0, j = 0;
+        while (merged.size() < limit && (i < a.length || j < b.size())) {
+            long next;
+            if (j >= b.size() || (i < a.length && a[i] > b.get(j))) {
+                next = a[i++];
+            } else if (i >= a.length || b.get(j) > a[i]) {
+                next = b.get(j++);
+            } else {
+                // 셀럽 기준을 넘기 전에 push된 게시글은 양쪽에 모두 있을 수 있음
+                next = a[i++];
+                j++;
+            }
+            merged.add(next);
+        }
+        return merged;
+    }
+
+    private static long[] concat(long[] head, List<Long> tail) {
+        long[] out = new long[head.length + tail.size()];
+        System.arraycopy(head, 0, out, 0, head.length);
+        for (int i = 0; i < tail.size(); i++) {
+            out[head.length + i] = tail.get(i);
+        }
+        return out;
+    }
+
+    private static List<Long> toList(long[] ids) {
+        List<Long> list = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            list.add(id);
+        }
+        return list;
+    }
+
+    /**
+     * 유저 한 명의 타임라인 - post id 링 버퍼 (id 오름차순으로 쌓임)
+     */
+    static final class Timeline {
+        private final long[] ring;
+        private int head; // 다음에 쓸 위치
+        private int size;
+        private volatile boolean truncated; // 버퍼보다 오래된 게시글이 버려졌는지
+
+        final List<Long> authorIds;
+        final List<Long> celebrityIds;
+        final Set<Long> celebritySet; // 구성할 때 기준으로 쓴 셀럽 목록
+
+        Timeline(int capacity, List<Long> authorIds, List<Long> celebrityIds, Set<Long> celebritySet) {
+            this.ring = new long[capacity];
+            this.authorIds = authorIds;
+            this.celebrityIds = celebrityIds;
+            this.celebritySet = celebritySet;
+        }
+
+        synchronized void push(long postId) {
+            if (size == ring.length) {
+                truncated = true;
+            } else {
+                size++;
+            }
+            ring[head] = postId;
+            head = (head + 1) % ring.length;
+        }
+
+        // beforeId 미만 게시글을 최신순으로 최대 limit개
+        synchronized long[] before(long beforeId, int limit) {
+            long[] out = new long[Math.min(limit, size)];
+            int n = 0;
+            for (int k = 1; k <= size && n < out.length; k++) {
+                long id = ring[(head - k + ring.length) % ring.length];
+                if (id < beforeId) {
+                    out[n++] = id;
+                }
+            }
+            long[] result = n == out.length ? out : Arrays.copyOf(out, n);
+            // 동시에 작성된 게시글은 push 순서와 id 순서가 약간 다를 수 있으므로 id 내림차순으로 정렬
+            Arrays.sort(result);
+            for (int i = 0, j = result.length - 1; i < j; i++, j--) {
+                long tmp = result[i];
+                result[i] = result[j];
+                result[j] = tmp;
+            }
+            return result;
+        }
+
+        boolean isTruncated() {
+            return truncated;
+        }
+    }
+}
@@ -25,6 +25,7 @@ public class MentionService {
     private final FollowRepository followRepository;
     private final NotificationService notificationService;
     private final PostRepository postRepository;
+    private final BlockGraphService blockGraphService;
 
     // @닉네임 패턴 (한글, 영문, 숫자, 언더스코어 허용)
     private static final Pattern MENTION_PATTERN = Pattern.compile("@([\\w가-힣]+)");
@@ -63,6 +64,13 @@ public class MentionService {
                     return;
                 }
 
+                // 차단 관계면 태그 불가 (알림도 보내지 않음)
+                if (blockGraphService.isBlockedEitherWay(author.getId(), mentionedUser.getId())) {
+                    log.info("Mention skipped (blocked): {} -> {}",
+                            author.getNickname(), mentionedUser.getNickname());
+                    return;
+                }
+
                 // 맞팔 체크
                 if (isMutualFollow(author, mentionedUser)) {
                     // 멘션 저장
@@ -106,6 +114,13 @@ public class MentionService {
                     return;
                 }
 
+                // 차단 관계면 태그 불가 (알림도 보내지 않음)
+                if (blockGraphService.isBlockedEitherWay(author.getId(), mentionedUser.getId())) {
+                    log.info("Mention skipped (blocked): {} -> {}",
+                            author.getNickname(), mentionedUser.getNickname());
+                    return;
+                }
+
                 // 맞팔 체크
                 if (isMutualFollow(author, mentionedUser)) {
                     // 멘션 저장
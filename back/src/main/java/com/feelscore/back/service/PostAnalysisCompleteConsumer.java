@@ -13,6 +13,7 @@ import org.springframework.stereotype.Service;
 public class PostAnalysisCompleteConsumer {
 
     private final CategoryStatsService categoryStatsService;
+    private final EmotionFeedIndex emotionFeedIndex;
 
     @RabbitListener(queues = RabbitMQConfig.ANALYSIS_COMPLETE_QUEUE)
     public void receiveMessage(Map<String, Object> message) {
@@ -32,6 +33,8 @@ public class PostAnalysisCompleteConsumer {
 
             categoryStatsService.updateStats(postId);
             log.info("Successfully updated stats for Post ID: {}", postId);
+
+            emotionFeedIndex.onAnalysisComplete(postId);
         } catch (Exception e) {
             log.error("Error processing analysis complete event", e);
         }
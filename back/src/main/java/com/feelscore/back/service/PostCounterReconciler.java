@@ -0,0 +1,46 @@
+package com.feelscore.back.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostCounterReconciler {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final PostCounterService postCounterService;
+
+    // 카운터 컬럼 추가 직후처럼 비어 있는 카운터가 있으면 새벽 보정을 기다리지 않고 바로 채움
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (postCounterService.hasUncountedPosts()) {
+            reconcileCounters();
+        }
+    }
+
+    // Run every day at 04:30 (low traffic)
+    @Scheduled(cron = "0 30 4 * * *")
+    public void reconcileCounters() {
+        log.info("Starting post counter reconciliation...");
+
+        long lastId = 0L;
+        long scanned = 0;
+        long fixed = 0;
+
+        // 청크마다 별도 트랜잭션으로 처리 (긴 트랜잭션으로 posts 행을 오래 잠그지 않도록)
+        PostCounterService.ChunkResult result;
+        while ((result = postCounterService.reconcileChunk(lastId, CHUNK_SIZE)) != null) {
+            lastId = result.getLastId();
+            scanned += result.getScanned();
+            fixed += result.getFixed();
+        }
+
+        log.info("Finished post counter reconciliation. Scanned {} posts, fixed {} counters.", scanned, fixed);
+    }
+}
@@ -0,0 +1,119 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.entity.EmotionType;
+import com.feelscore.back.entity.Post;
+import com.feelscore.back.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * posts 테이블의 비정규화 카운터(댓글 수 / 리액션 수)를 원본 테이블 기준으로 보정합니다.
+ * - 평상시 증감은 CommentService / ReactionService에서 원자적 UPDATE로 처리
+ * - 여기서는 id 순 청크 단위로 comments / post_reactions 집계와 비교해 어긋난 게시글만 재계산
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PostCounterService {
+
+    private final PostRepository postRepository;
+    private final PostEngagementLoader postEngagementLoader;
+    private final PostDetailCache postDetailCache;
+
+    /**
+     * lastId 이후 게시글 size개를 보정합니다.
+     *
+     * @return 처리 결과 (더 이상 게시글이 없으면 null)
+     */
+    @Transactional
+    public ChunkResult reconcileChunk(Long lastId, int size) {
+        List<Post> posts = postRepository.findChunkAfter(lastId, PageRequest.of(0, size));
+        if (posts.isEmpty()) {
+            return null;
+        }
+
+        List<Long> postIds = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            postIds.add(post.getId());
+        }
+        PostEngagementLoader.Engagement engagement = postEngagementLoader.load(postIds);
+
+        List<Long> commentDrift = new ArrayList<>();
+        List<Long> reactionDrift = new ArrayList<>();
+        for (Post post : posts) {
+            if (valueOf(post.getCommentCount()) != engagement.getCommentCount(post.getId())) {
+                commentDrift.add(post.getId());
+            }
+            if (!sameReactionCounts(post, engagement.getReactionCounts(post.getId()))) {
+                reactionDrift.add(post.getId());
+            }
+        }
+
+        // 재계산은 DB에서 원본 테이블을 다시 세어 반영하므로, 비교 이후 들어온 증감도 누락되지 않음
+        if (!commentDrift.isEmpty()) {
+            postRepository.recountComments(commentDrift);
+            postDetailCache.invalidateAll(commentDrift);
+        }
+        if (!reactionDrift.isEmpty()) {
+            postRepository.recountReactions(reactionDrift);
+            postDetailCache.invalidateAll(reactionDrift);
+        }
+
+        return new ChunkResult(postIds.get(postIds.size() - 1), posts.size(),
+                commentDrift.size() + reactionDrift.size());
+    }
+
+    /**
+     * 댓글 / 리액션이 있는데 카운터가 비어 있는 게시글이 하나라도 있는지
+     */
+    public boolean hasUncountedPosts() {
+        return !postRepository.findUncountedPostIds(PageRequest.of(0, 1)).isEmpty();
+    }
+
+    private boolean sameReactionCounts(Post post, Map<EmotionType, Long> actual) {
+        long total = 0;
+        for (EmotionType type : EmotionType.values()) {
+            long expected = actual.getOrDefault(type, 0L);
+            total += expected;
+            long stored = post.getReactionCounts() != null ? post.getReactionCounts().getCountByType(type) : 0L;
+            if (stored != expected) {
+                return false;
+            }
+        }
+        return valueOf(post.getReactionCount()) == total;
+    }
+
+    private long valueOf(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    public static class ChunkResult {
+        private final Long lastId;
+        private final int scanned;
+        private final int fixed;
+
+        ChunkResult(Long lastId, int scanned, int fixed) {
+            this.lastId = lastId;
+            this.scanned = scanned;
+            this.fixed = fixed;
+        }
+
+        public Long getLastId() {
+            return lastId;
+        }
+
+        public int getScanned() {
+            return scanned;
+        }
+
+        public int getFixed() {
+            return fixed;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.entity.EmotionType;
+import com.feelscore.back.util.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import static com.feelscore.back.dto.PostDto.Response;
+
+/**
+ * 게시글 상세(PostDto.Response) read-through 캐시
+ * - 메모리 예산(byte 추정치) 기준 LRU, 작성자 닉네임 등 연관 정보 변경을 고려해 TTL도 둡니다.
+ * - 수정 / 삭제 시 제거, 리액션 / 댓글은 캐시된 카운터를 그 자리에서 보정합니다.
+ * - 변경은 트랜잭션 커밋 이후에 반영하고, 조회 중에 변경이 끼어들면 오래된 값을 넣지 않도록
+ *   게시글 id별(stripe) 버전을 비교합니다.
+ */
+@Slf4j
+@Component
+public class PostDetailCache {
+
+    private static final int VERSION_STRIPES = 1024;
+    private static final long ENTRY_OVERHEAD_BYTES = 512; // DTO / 연관 DTO / Map 등 고정 비용 추정치
+
+    private final long maxBytes;
+    private final long ttlMillis;
+
+    private final Map<Long, Entry> entries = new LinkedHashMap<>(1024, 0.75f, true);
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    private long totalBytes; // entries 잠금 하에서만 접근
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder patches = new LongAdder();
+
+    public PostDetailCache(@Value("${cache.post-detail.max-bytes:67108864}") long maxBytes,
+            @Value("${cache.post-detail.ttl-seconds:600}") long ttlSeconds) {
+        this.maxBytes = maxBytes;
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * 캐시에 있으면 반환, 없으면 loader로 조회해서 넣습니다.
+     */
+    public Response get(Long postId, Supplier<Response> loader) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(postId);
+            if (entry != null && entry.expiresAt > now) {
+                hits.increment();
+                return entry.value;
+            }
+            if (entry != null) {
+                removeEntry(postId);
+            }
+        }
+        misses.increment();
+
+        long version = versions.get(stripe(postId));
+        Response loaded = loader.get();
+
+        synchronized (entries) {
+            // 조회하는 동안 변경이 커밋되었으면 캐시에 넣지 않음 (다음 조회 때 다시 로드)
+            if (versions.get(stripe(postId)) == version) {
+                putEntry(postId, new Entry(loaded, estimateBytes(loaded), now + ttlMillis));
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 게시글 수정 / 삭제 시 (커밋 이후 제거)
+     */
+    public void invalidate(Long postId) {
+        AfterCommit.run(() -> {
+            versions.incrementAndGet(stripe(postId));
+            synchronized (entries) {
+                if (removeEntry(postId)) {
+                    invalidations.increment();
+                }
+            }
+        });
+    }
+
+    public void invalidateAll(Iterable<Long> postIds) {
+        for (Long postId : postIds) {
+            invalidate(postId);
+        }
+    }
+
+    public void adjustCommentCount(Long postId, long delta) {
+        patch(postId, response -> response.toBuilder()
+                .commentCount(Math.max(0L, nullToZero(response.getCommentCount()) + delta))
+                .build());
+    }
+
+    public void adjustReactionCount(Long postId, EmotionType type, long delta) {
+        patch(postId, response -> {
+            Map<EmotionType, Long> counts = response.getReactionCounts() != null
+                    ? new HashMap<>(response.getReactionCounts())
+                    : new HashMap<>();
+            long next = nullToZero(counts.get(type)) + delta;
+            if (next > 0) {
+                counts.put(type, next);
+            } else {
+                counts.remove(type);
+            }
+            return response.toBuilder().reactionCounts(counts).build();
+        });
+    }
+
+    public void adjustViewCount(Long postId, long delta) {
+        patch(postId, response -> response.toBuilder()
+                .viewCount(nullToZero(response.getViewCount()) + delta)
+                .build());
+    }
+
+    // 캐시에 있을 때만 카운터 보정 (없으면 다음 조회 때 DB 값으로 채워짐)
+    private void patch(Long postId, UnaryOperator<Response> patcher) {
+        AfterCommit.run(() -> {
+            versions.incrementAndGet(stripe(postId));
+            synchronized (entries) {
+                Entry entry = entries.get(postId);
+                if (entry != null) {
+                    Response patched = patcher.apply(entry.value);
+                    putEntry(postId, new Entry(patched, entry.bytes, entry.expiresAt));
+                    patches.increment();
+                }
+            }
+        });
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        synchronized (entries) {
+            stats.put("entries", entries.size());
+            stats.put("estimatedBytes", totalBytes);
+        }
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        stats.put("patches", patches.sum());
+        return stats;
+    }
+
+    private void putEntry(Long postId, Entry entry) {
+        Entry previous = entries.put(postId, entry);
+        if (previous != null) {
+            totalBytes -= previous.bytes;
+        }
+        totalBytes += entry.bytes;
+
+        // 예산을 넘으면 가장 오래 사용되지 않은 항목부터 제거
+        var it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<Long, Entry> eldest = it.next();
+            if (eldest.getKey().equals(postId)) {
+                continue;
+            }
+            totalBytes -= eldest.getValue().bytes;
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    private boolean removeEntry(Long postId) {
+        Entry removed = entries.remove(postId);
+        if (removed != null) {
+            totalBytes -= removed.bytes;
+            return true;
+        }
+        return false;
+    }
+
+    private static int stripe(Long postId) {
+        return (int) (postId ^ (postId >>> 32)) & (VERSION_STRIPES - 1);
+    }
+
+    private static long nullToZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    static long estimateBytes(Response response) {
+        long bytes = ENTRY_OVERHEAD_BYTES;
+        bytes += 2L * length(response.getContent());
+        bytes += 2L * length(response.getBlindReason());
+        bytes += 2L * length(response.getImageUrl());
+        if (response.getUser() != null) {
+            bytes += 2L * length(response.getUser().getNickname());
+            bytes += 2L * length(response.getUser().getProfileImageUrl());
+        }
+        if (response.getReactionCounts() != null) {
+            bytes += 48L * response.getReactionCounts().size();
+        }
+        return bytes;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    private static final class Entry {
+        final Response value;
+        final long bytes;
+        final long expiresAt;
+
+        Entry(Response value, long bytes, long expiresAt) {
+            this.value = value;
+            this.bytes = bytes;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * posts.dominant_emotion 컬럼 추가 이전에 분석된 게시글의 감정을 채웁니다.
+ * - 이미 채워진 게시글은 건너뛰므로 이후 기동 시에는 변경되는 행이 없습니다.
+ * - 감정 피드 인덱스(EmotionFeedIndex) 적재보다 먼저 실행되어야 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostEmotionBackfill {
+
+    private final PostRepository postRepository;
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        int updated = postRepository.backfillDominantEmotion();
+        if (updated > 0) {
+            log.info("Backfilled dominant emotion for {} posts.", updated);
+        }
+    }
+}
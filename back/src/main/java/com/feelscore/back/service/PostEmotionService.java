@@ -1,7 +1,6 @@
 package com.feelscore.back.service;
 
 import com.feelscore.back.entity.*;
-import com.feelscore.back.repository.CategoryEmotionStatsRepository;
 import com.feelscore.back.repository.PostEmotionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -12,7 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class PostEmotionService {
 
     private final PostEmotionRepository postEmotionRepository;
-    private final CategoryEmotionStatsRepository statsRepository;
+    private final CategoryStatsService categoryStatsService;
 
     // --- 0. 게시글 감정 분석 결과 조회 ---
 
@@ -44,7 +43,8 @@ public class PostEmotionService {
         postEmotion.markAsAnalyzed();
         postEmotion = postEmotionRepository.save(postEmotion);
 
-        applyScoreToCategoryStats(post.getCategory(), scores);
+        // 통계 반영은 분석 완료 처리와 같은 경로 (post_stats_ledger 기준 차이만 반영)
+        categoryStatsService.updateStats(post.getId());
 
         return postEmotion;
     }
@@ -57,14 +57,10 @@ public class PostEmotionService {
         PostEmotion postEmotion = postEmotionRepository.findByPost_Id(postId)
                 .orElseThrow(() -> new IllegalArgumentException("분석 대상 게시글 감정 데이터를 찾을 수 없습니다."));
 
-        Category category = postEmotion.getPost().getCategory();
-
-        EmotionScores oldScores = postEmotion.getScores();
-        revertScoreFromCategoryStats(category, oldScores); // 이전 점수 차감
-
         postEmotion.updateAnalysis(newScores, dominantEmotion);
 
-        applyScoreToCategoryStats(category, newScores); // 새 점수 추가
+        // 이전에 반영한 점수(post_stats_ledger)와 새 점수의 차이만 반영
+        categoryStatsService.updateStats(postId);
 
         return postEmotion;
     }
@@ -83,50 +79,11 @@ public class PostEmotionService {
         PostEmotion postEmotion = postEmotionRepository.findByPost_Id(postId)
                 .orElseThrow(() -> new IllegalArgumentException("삭제 대상 게시글 감정 데이터를 찾을 수 없습니다."));
 
-        Category category = postEmotion.getPost().getCategory();
-        EmotionScores scores = postEmotion.getScores();
-
-        // 2. 통계에서 점수 차감 (Revert)
-        // ⬅️ 핵심: 기존 로직 재활용
-        revertScoreFromCategoryStats(category, scores);
+        // 2. 통계에서 점수 차감 (Revert) - 이 게시글에 반영해 둔 점수(post_stats_ledger)를 뺌
+        categoryStatsService.revertStats(postId);
 
         // 3. PostEmotion 엔티티 삭제
         postEmotionRepository.delete(postEmotion);
+        postEmotion.getPost().clearEmotionAnalysis();
     }
-
-    // --- 통계 처리 Private 메서드 ---
-
-    private void applyScoreToCategoryStats(Category category, EmotionScores scores) {
-        for (EmotionType type : EmotionType.values()) {
-            Integer score = scores.getScoreByType(type);
-            if (score == 0) continue;
-
-            CategoryEmotionStats stats = statsRepository.findByCategory_IdAndEmotionType(category.getId(), type)
-                    .orElseGet(() ->
-                            CategoryEmotionStats.builder()
-                                    .category(category)
-                                    .emotionType(type)
-                                    .build()
-                    );
-
-            stats.addScore(score);
-
-            if (stats.getId() == null) {
-                statsRepository.save(stats);
-            }
-        }
-    }
-
-    private void revertScoreFromCategoryStats(Category category, EmotionScores scores) {
-        for (EmotionType type : EmotionType.values()) {
-            Integer score = scores.getScoreByType(type);
-            if (score == 0) continue;
-
-            CategoryEmotionStats stats = statsRepository.findByCategory_IdAndEmotionType(category.getId(), type)
-                    .orElseThrow(() -> new IllegalStateException("이전 통계 데이터를 찾을 수 없습니다. (데이터 불일치)"));
-
-            stats.subtractScore(score);
-            // 기존 엔티티는 @Transactional에 의해 자동 업데이트됩니다.
-        }
-    }
-}
\ No newline at end of file
+}
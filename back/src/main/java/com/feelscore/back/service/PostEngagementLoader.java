@@ -0,0 +1,71 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.entity.EmotionType;
+import com.feelscore.back.repository.CommentRepository;
+import com.feelscore.back.repository.PostReactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 게시글 목록(페이지) 단위로 댓글 수 / 감정별 반응 수를 일괄 조회합니다.
+ * - 게시글 수와 무관하게 GROUP BY 쿼리 2번으로 끝납니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PostEngagementLoader {
+
+    private final CommentRepository commentRepository;
+    private final PostReactionRepository postReactionRepository;
+
+    public Engagement load(Collection<Long> postIds) {
+        if (postIds == null || postIds.isEmpty()) {
+            return Engagement.EMPTY;
+        }
+
+        Map<Long, Long> commentCounts = new HashMap<>();
+        for (Object[] row : commentRepository.countByPostIds(postIds)) {
+            commentCounts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+
+        Map<Long, Map<EmotionType, Long>> reactionCounts = new HashMap<>();
+        for (Object[] row : postReactionRepository.countReactionsByPostIds(postIds)) {
+            Long postId = (Long) row[0];
+            EmotionType type = (EmotionType) row[1];
+            long count = (row[2] instanceof Number) ? ((Number) row[2]).longValue() : 0L;
+            reactionCounts.computeIfAbsent(postId, id -> new EnumMap<>(EmotionType.class)).put(type, count);
+        }
+
+        return new Engagement(commentCounts, reactionCounts);
+    }
+
+    public static class Engagement {
+
+        static final Engagement EMPTY = new Engagement(Collections.emptyMap(), Collections.emptyMap());
+
+        private final Map<Long, Long> commentCounts;
+        private final Map<Long, Map<EmotionType, Long>> reactionCounts;
+
+        Engagement(Map<Long, Long> commentCounts, Map<Long, Map<EmotionType, Long>> reactionCounts) {
+            this.commentCounts = commentCounts;
+            this.reactionCounts = reactionCounts;
+        }
+
+        public Long getCommentCount(Long postId) {
+            return commentCounts.getOrDefault(postId, 0L);
+        }
+
+        // 응답마다 별도의 Map을 넘겨 DTO 간에 상태가 공유되지 않도록 복사합니다.
+        public Map<EmotionType, Long> getReactionCounts(Long postId) {
+            Map<EmotionType, Long> counts = reactionCounts.get(postId);
+            return counts != null ? new HashMap<>(counts) : new HashMap<>();
+        }
+    }
+}
@@ -1,21 +1,35 @@
 package com.feelscore.back.service;
 
+import com.feelscore.back.dto.CursorResponse;
+import com.feelscore.back.dto.PostCursor;
 import com.feelscore.back.entity.Category;
+import com.feelscore.back.entity.EmotionScores;
 import com.feelscore.back.entity.Post;
 import com.feelscore.back.entity.PostStatus;
 import com.feelscore.back.entity.Users;
 import com.feelscore.back.repository.CategoryRepository;
 import com.feelscore.back.repository.PostRepository;
 import com.feelscore.back.repository.UserRepository;
+import com.feelscore.back.search.InvertedIndex;
+import com.feelscore.back.search.PostSearchIndex;
+import com.feelscore.back.search.SearchMode;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.feelscore.back.dto.PostDto.*;
 import jakarta.validation.Valid;
@@ -25,6 +39,8 @@ import jakarta.validation.Valid;
 @Transactional(readOnly = true)
 public class PostService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
@@ -35,6 +51,15 @@ public class PostService {
     private final S3Service s3Service; // Inject S3Service
     private final CommentService commentService;
     private final MentionService mentionService;
+    private final PostSearchIndex postSearchIndex;
+    private final HomeTimelineService homeTimelineService;
+    private final PostDetailCache postDetailCache;
+    private final EmotionFeedIndex emotionFeedIndex;
+    private final CategoryStatsTree categoryStatsTree;
+    private final CategoryRollupService categoryRollupService;
+    private final CategoryStatsService categoryStatsService;
+    private final UserEmotionProfileService userEmotionProfileService;
+    private final BlockGraphService blockGraphService;
 
     @Transactional
     public Response createPost(@Valid CreateRequest request, Long userId) {
@@ -46,6 +71,9 @@ public class PostService {
 
         Post post = request.toEntity(user, category);
         postRepository.save(post);
+        postSearchIndex.index(post.getId(), post.getContent());
+        homeTimelineService.onPostCreated(userId, post.getId());
+        userEmotionProfileService.addPost(userId);
 
         // RabbitMQ로 분석 요청 메시지 전송
         try {
@@ -63,91 +91,143 @@ public class PostService {
     }
 
     public Response getPostById(Long postId) {
-        Post post = postRepository.findByIdWithAll(postId)
-                .orElseThrow(() -> new NoSuchElementException("Post not found with id: " + postId));
-
-        Long commentCount = commentRepository.countByPost(post);
-
-        List<Object[]> reactionObjs = postReactionRepository.countReactionsByPost(post);
-        java.util.Map<com.feelscore.back.entity.EmotionType, Long> reactionCounts = new java.util.HashMap<>();
-        for (Object[] row : reactionObjs) {
-            com.feelscore.back.entity.EmotionType type = (com.feelscore.back.entity.EmotionType) row[0];
-            Long count = (row[1] instanceof Number) ? ((Number) row[1]).longValue() : 0L;
-            reactionCounts.put(type, count);
-        }
+        return postDetailCache.get(postId, () -> {
+            Post post = postRepository.findByIdWithAll(postId)
+                    .orElseThrow(() -> new NoSuchElementException("Post not found with id: " + postId));
 
-        return Response.from(post, commentCount, reactionCounts);
+            // 댓글 수 / 리액션 수는 posts 테이블의 비정규화 카운터를 그대로 사용
+            return Response.from(post, post.getCommentCount(), post.getReactionCountMap());
+        });
     }
 
-    public Page<ListResponse> getPostsByCategory(Long categoryId, Pageable pageable) {
+    public Page<ListResponse> getPostsByCategory(Long categoryId, Pageable pageable, Long viewerId) {
         // 1. 해당 카테고리 및 하위 카테고리 ID 목록 수집
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new NoSuchElementException("Category not found with id: " + categoryId));
-
-        List<Long> categoryIds = new ArrayList<>();
-        categoryIds.add(categoryId);
-        for (Category child : category.getChildren()) {
-            categoryIds.add(child.getId());
-        }
+        List<Long> categoryIds = collectCategoryIds(categoryId);
 
         // 2. 게시글 조회 - 리액션 수 기준 정렬 (내림차순), 동점시 content 가나다순
         Page<Object[]> results = postRepository.findByCategoryOrderByReactionCount(categoryIds, PostStatus.NORMAL,
                 pageable);
 
-        return results.map(result -> {
-            Post post = (Post) result[0];
-            Object emotionObj = result[1];
-            // result[2]는 reactionCount (쿼리에서 가져온 값)
-            String emotion = (emotionObj != null) ? emotionObj.toString() : null;
-            Long commentCount = commentRepository.countByPost(post);
-            List<Object[]> reactionObjs = postReactionRepository.countReactionsByPost(post);
-            java.util.Map<com.feelscore.back.entity.EmotionType, Long> reactionCounts = new java.util.HashMap<>();
-            for (Object[] row : reactionObjs) {
-                com.feelscore.back.entity.EmotionType type = (com.feelscore.back.entity.EmotionType) row[0];
-                Long count = (row[1] instanceof Number) ? ((Number) row[1]).longValue() : 0L;
-                reactionCounts.put(type, count);
-            }
-
-            return ListResponse.from(post, emotion, commentCount, reactionCounts);
-        });
+        return toListResponsePage(results, viewerId);
     }
 
-    public Page<ListResponse> getPostsByUser(Long userId, Pageable pageable) {
+    public Page<ListResponse> getPostsByUser(Long userId, Pageable pageable, Long viewerId) {
         Page<Object[]> results = postRepository.findByUsers_IdAndStatusWithEmotion(userId, PostStatus.NORMAL, pageable);
-        return results.map(result -> {
-            Post post = (Post) result[0];
-            Object emotionObj = result[1];
-            String emotion = (emotionObj != null) ? emotionObj.toString() : null;
-            Long commentCount = commentRepository.countByPost(post);
-            List<Object[]> reactionObjs = postReactionRepository.countReactionsByPost(post);
-            java.util.Map<com.feelscore.back.entity.EmotionType, Long> reactionCounts = new java.util.HashMap<>();
-            for (Object[] row : reactionObjs) {
-                com.feelscore.back.entity.EmotionType type = (com.feelscore.back.entity.EmotionType) row[0];
-                Long count = (row[1] instanceof Number) ? ((Number) row[1]).longValue() : 0L;
-                reactionCounts.put(type, count);
+        return toListResponsePage(results, viewerId);
+    }
+
+    public Page<ListResponse> getPostsByEmotion(com.feelscore.back.entity.EmotionType emotionType, Pageable pageable,
+            Long viewerId) {
+        // 최신순 요청이면 감정별 인덱스에서 ID를 가져오고, 버퍼보다 깊은 페이지만 DB에서 조회
+        if (isLatestFirst(pageable)) {
+            EmotionFeedIndex.Slice slice = emotionFeedIndex.find(emotionType, pageable.getOffset(),
+                    pageable.getPageSize());
+            if (slice != null) {
+                return new PageImpl<>(toListResponses(visibleRows(loadInHitOrder(slice.getIds()), viewerId)), pageable,
+                        slice.getTotal());
             }
+        }
 
-            return ListResponse.from(post, emotion, commentCount, reactionCounts);
-        });
+        Page<Object[]> results = postRepository.findByEmotion(emotionType, PostStatus.NORMAL, pageable);
+        return toListResponsePage(results, viewerId);
     }
 
-    public Page<ListResponse> getPostsByEmotion(com.feelscore.back.entity.EmotionType emotionType, Pageable pageable) {
-        Page<Object[]> results = postRepository.findByEmotion(emotionType, PostStatus.NORMAL, pageable);
-        return results.map(result -> {
-            Post post = (Post) result[0];
-            Object emotionObj = result[1];
-            String emotion = (emotionObj != null) ? emotionObj.toString() : null;
-            Long commentCount = commentRepository.countByPost(post);
-            List<Object[]> reactionObjs = postReactionRepository.countReactionsByPost(post);
-            java.util.Map<com.feelscore.back.entity.EmotionType, Long> reactionCounts = new java.util.HashMap<>();
-            for (Object[] row : reactionObjs) {
-                com.feelscore.back.entity.EmotionType type = (com.feelscore.back.entity.EmotionType) row[0];
-                Long count = (row[1] instanceof Number) ? ((Number) row[1]).longValue() : 0L;
-                reactionCounts.put(type, count);
-            }
+    // ===== 커서(keyset) 기반 피드 (COUNT 쿼리 없음) =====
 
-            return ListResponse.from(post, emotion, commentCount, reactionCounts);
-        });
+    // 피드(카테고리 / 감정 / 검색 / 홈 / 유저 / 태그)는 viewerId와 차단 관계인 작성자의 게시글을 뺀다 (viewerId가 없으면 그대로)
+
+    /**
+     * 카테고리 피드 - 리액션 수 내림차순, 동점시 최신 게시글(id) 우선
+     */
+    public CursorResponse<ListResponse> getPostsByCategoryCursor(Long categoryId, String cursor, int size,
+            Long viewerId) {
+        List<Long> categoryIds = collectCategoryIds(categoryId);
+        PostCursor c = PostCursor.decode(cursor);
+        int limit = normalizeSize(size);
+
+        List<Object[]> rows = postRepository.findByCategoryAfterCursor(categoryIds, PostStatus.NORMAL,
+                PostCursor.reactionCountOf(c), PostCursor.idOf(c), PageRequest.of(0, limit + 1));
+
+        return toCursorResponse(rows, limit, post -> PostCursor.of(post.getReactionCount(), post.getId()),
+                viewerId);
+    }
+
+    public CursorResponse<ListResponse> getPostsByUserCursor(Long userId, String cursor, int size, Long viewerId) {
+        PostCursor c = PostCursor.decode(cursor);
+        int limit = normalizeSize(size);
+
+        List<Object[]> rows = postRepository.findByUserAfterCursor(userId, PostStatus.NORMAL,
+                PostCursor.createdAtOf(c), PostCursor.idOf(c), PageRequest.of(0, limit + 1));
+
+        return toCursorResponse(rows, limit, post -> PostCursor.of(post.getCreatedAt(), post.getId()), viewerId);
+    }
+
+    /**
+     * 유저가 태그(멘션)된 게시글 - 최신순 (삭제 / 블라인드 게시글 제외)
+     */
+    public CursorResponse<ListResponse> getTaggedPostsCursor(Long userId, String cursor, int size, Long viewerId) {
+        PostCursor c = PostCursor.decode(cursor);
+        int limit = normalizeSize(size);
+
+        List<Object[]> rows = postRepository.findTaggedAfterCursor(userId, PostStatus.NORMAL, PostCursor.idOf(c),
+                PageRequest.of(0, limit + 1));
+
+        return toCursorResponse(rows, limit, post -> PostCursor.ofId(post.getId()), viewerId);
+    }
+
+    public CursorResponse<ListResponse> getPostsByEmotionCursor(com.feelscore.back.entity.EmotionType emotionType,
+            String cursor, int size, Long viewerId) {
+        PostCursor c = PostCursor.decode(cursor);
+        int limit = normalizeSize(size);
+
+        List<Object[]> rows = postRepository.findByEmotionAfterCursor(emotionType, PostStatus.NORMAL,
+                PostCursor.createdAtOf(c), PostCursor.idOf(c), PageRequest.of(0, limit + 1));
+
+        return toCursorResponse(rows, limit, post -> PostCursor.of(post.getCreatedAt(), post.getId()), viewerId);
+    }
+
+    /**
+     * 키워드 검색 (커서 기반, 최신순)
+     * - 검색 색인으로 모든 키워드를 OR 조건으로 찾고, 색인을 쓸 수 없으면 첫 번째 키워드 LIKE 검색으로 대체
+     * - 커서는 마지막 게시글 id (BM25 순위는 페이지 사이에 바뀔 수 있어 커서 검색은 최신순만 지원)
+     */
+    public CursorResponse<ListResponse> searchPostsCursor(String keywords, String cursor, int size, Long viewerId) {
+        if (keywords == null || keywords.trim().isEmpty()) {
+            return CursorResponse.of(new ArrayList<>(), null);
+        }
+        String[] keywordArray = keywords.trim().split("\\s+");
+        PostCursor c = PostCursor.decode(cursor);
+        int limit = normalizeSize(size);
+
+        List<Long> postIds = postSearchIndex.searchBefore(Arrays.asList(keywordArray), SearchMode.OR,
+                PostCursor.idOf(c), limit + 1);
+        if (postIds != null) {
+            boolean hasNext = postIds.size() > limit;
+            List<Long> pageIds = hasNext ? postIds.subList(0, limit) : postIds;
+            String nextCursor = hasNext ? PostCursor.ofId(pageIds.get(pageIds.size() - 1)).encode() : null;
+            return CursorResponse.of(toListResponses(visibleRows(loadInHitOrder(pageIds), viewerId)), nextCursor);
+        }
+
+        List<Object[]> rows = postRepository.searchByKeywordAfterCursor(keywordArray[0], PostStatus.NORMAL,
+                PostCursor.idOf(c), PageRequest.of(0, limit + 1));
+
+        return toCursorResponse(rows, limit, post -> PostCursor.ofId(post.getId()), viewerId);
+    }
+
+    /**
+     * 홈 타임라인 - 내가 팔로우하는 유저(및 나)의 게시글, 최신순 (커서 기반)
+     */
+    public CursorResponse<ListResponse> getHomeTimeline(Long userId, String cursor, int size) {
+        PostCursor c = PostCursor.decode(cursor);
+        int limit = normalizeSize(size);
+
+        List<Long> postIds = homeTimelineService.getPostIds(userId, PostCursor.idOf(c), limit + 1);
+        boolean hasNext = postIds.size() > limit;
+        List<Long> pageIds = hasNext ? postIds.subList(0, limit) : postIds;
+
+        // 삭제된 / 차단한 작성자의 게시글은 조회 단계에서 제외되므로, 다음 커서는 타임라인 ID 기준으로 만든다
+        String nextCursor = hasNext ? PostCursor.ofId(pageIds.get(pageIds.size() - 1)).encode() : null;
+        return CursorResponse.of(toListResponses(visibleRows(loadInHitOrder(pageIds), userId)), nextCursor);
     }
 
     @Transactional
@@ -163,8 +243,12 @@ public class PostService {
                 .orElseThrow(
                         () -> new NoSuchElementException("Category not found with id: " + request.getCategoryId()));
 
+        postDetailCache.invalidate(postId);
+
         // 내용이 변경되었는지 확인
         boolean contentChanged = !post.getContent().equals(request.getContent());
+        Category previousCategory = post.getCategory();
+        boolean categoryChanged = !previousCategory.getId().equals(category.getId());
 
         post.updateContent(request.getContent());
         post.updateCategory(category);
@@ -174,8 +258,16 @@ public class PostService {
             post.updateImageUrl(request.getImageUrl());
         }
 
-        // 내용이 변경되었으면 감정 재분석 요청
+        // 카테고리가 바뀌면 점수 / 댓글 수가 통째로 옮겨가므로 통계 트리 다시 적재
+        if (categoryChanged) {
+            categoryStatsService.moveCategory(post, previousCategory, category);
+            categoryStatsTree.requestReload();
+            categoryRollupService.requestRebuild();
+        }
+
+        // 내용이 변경되었으면 검색 색인 갱신 및 감정 재분석 요청
         if (contentChanged) {
+            postSearchIndex.index(post.getId(), post.getContent());
             try {
                 postAnalysisProducer.sendAnalysisEvent(post.getId(), post.getContent());
             } catch (Exception e) {
@@ -195,7 +287,22 @@ public class PostService {
             throw new IllegalArgumentException("User does not have permission to delete this post.");
         }
 
+        // 카테고리 통계 / 홈 통계(상주 집계 트리) / 기간 통계(시간별 롤업) / 작성자 감정 프로필에서 이 게시글의 점수 / 댓글 수 제외
+        // 점수는 분석 완료 처리 때 실제로 반영한 값(post_stats_ledger)을, 리액션은 감정별 리액션 수 x 가중치를 뺌
+        if (post.getStatus() == PostStatus.NORMAL) {
+            Long categoryId = post.getCategory().getId();
+            EmotionScores applied = categoryStatsService.removePost(post);
+            userEmotionProfileService.removePost(userId, applied);
+            categoryStatsTree.addComments(categoryId, -post.getCommentCount());
+            if (post.getCommentCount() > 0) {
+                categoryRollupService.removeComments(categoryId, commentRepository.findCreatedAtByPostId(postId));
+            }
+        }
+
         post.setStatus(PostStatus.DELETED); // Post 엔티티에 setStatus 메서드 필요
+        postSearchIndex.remove(post.getId());
+        postDetailCache.invalidate(post.getId());
+        emotionFeedIndex.remove(post.getId());
     }
 
     @Transactional
@@ -212,6 +319,11 @@ public class PostService {
 
             // 4. 감정 분석 데이터 삭제 (FK 제약조건 방지)
             postEmotionRepository.deleteByPost(post);
+            post.clearEmotionAnalysis();
+
+            // 검색 색인 / 감정 피드 인덱스에서 제외 (커밋 이후 반영)
+            postSearchIndex.remove(post.getId());
+            emotionFeedIndex.remove(post.getId());
 
             // 5. S3 이미지 삭제 (이미지가 있는 경우)
             if (post.getImageUrl() != null && !post.getImageUrl().isBlank()) {
@@ -224,12 +336,32 @@ public class PostService {
 
             // 6. 게시글 삭제 (Hard Delete)
         }
+
+        // 7. 카운터 재계산 (게시글이 남아 있는 동안 목록/상세와 어긋나지 않도록)
+        if (!posts.isEmpty()) {
+            List<Long> postIds = posts.stream().map(Post::getId).collect(Collectors.toList());
+            postReactionRepository.flush();
+            postRepository.recountReactions(postIds);
+            postDetailCache.invalidateAll(postIds);
+            categoryStatsTree.requestReload();
+            categoryRollupService.requestRebuild();
+            userEmotionProfileService.refresh(userId);
+        }
     }
 
     /**
      * 키워드로 게시글 검색 (띄어쓰기로 구분된 키워드 중 하나라도 포함되면 반환)
      */
-    public Page<ListResponse> searchPosts(String keywords, Pageable pageable) {
+    public Page<ListResponse> searchPosts(String keywords, Pageable pageable, Long viewerId) {
+        return searchPosts(keywords, SearchMode.OR, pageable, viewerId);
+    }
+
+    /**
+     * 키워드로 게시글 검색
+     * - 검색 색인(n-gram 역색인)으로 모든 키워드를 AND / OR 조건으로 검색하고 BM25 점수순으로 정렬
+     * - 색인이 준비되지 않았거나 한 글자 키워드처럼 색인으로 처리할 수 없으면 DB LIKE 검색(첫 번째 키워드, 최신순)으로 대체
+     */
+    public Page<ListResponse> searchPosts(String keywords, SearchMode mode, Pageable pageable, Long viewerId) {
         if (keywords == null || keywords.trim().isEmpty()) {
             return Page.empty(pageable);
         }
@@ -237,45 +369,125 @@ public class PostService {
         // 띄어쓰기로 키워드 분리
         String[] keywordArray = keywords.trim().split("\\s+");
 
-        // 첫 번째 키워드로 검색 시작
+        InvertedIndex.SearchHits hits = postSearchIndex.search(Arrays.asList(keywordArray), mode,
+                (int) pageable.getOffset(), pageable.getPageSize());
+        if (hits != null) {
+            return new PageImpl<>(toListResponses(visibleRows(loadInHitOrder(hits.getIds()), viewerId)), pageable,
+                    hits.getTotal());
+        }
+
+        // 첫 번째 키워드로 검색 (색인 미사용)
         Page<Object[]> results = postRepository.searchByKeyword(keywordArray[0], PostStatus.NORMAL, pageable);
 
-        return results.map(result -> {
-            Post post = (Post) result[0];
-            Object emotionObj = result[1];
-            String emotion = (emotionObj != null) ? emotionObj.toString() : null;
-            Long commentCount = commentRepository.countByPost(post);
-            List<Object[]> reactionObjs = postReactionRepository.countReactionsByPost(post);
-            java.util.Map<com.feelscore.back.entity.EmotionType, Long> reactionCounts = new java.util.HashMap<>();
-            for (Object[] row : reactionObjs) {
-                com.feelscore.back.entity.EmotionType type = (com.feelscore.back.entity.EmotionType) row[0];
-                Long count = (row[1] instanceof Number) ? ((Number) row[1]).longValue() : 0L;
-                reactionCounts.put(type, count);
-            }
+        return toListResponsePage(results, viewerId);
+    }
 
-            return ListResponse.from(post, emotion, commentCount, reactionCounts);
-        });
+    // 정렬 조건이 없거나 createdAt 내림차순만 있는 경우
+    private boolean isLatestFirst(Pageable pageable) {
+        if (pageable.getSort().isUnsorted()) {
+            return true;
+        }
+        List<Sort.Order> orders = pageable.getSort().toList();
+        return orders.size() == 1
+                && "createdAt".equals(orders.get(0).getProperty())
+                && orders.get(0).isDescending();
+    }
+
+    // 주어진 ID 순서대로 게시글 조회 (DB에서 삭제/블라인드된 게시글은 제외)
+    private List<Object[]> loadInHitOrder(List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Object[]> rowsById = new HashMap<>();
+        for (Object[] row : postRepository.findWithEmotionByIdIn(postIds, PostStatus.NORMAL)) {
+            rowsById.put(((Post) row[0]).getId(), row);
+        }
+        List<Object[]> ordered = new ArrayList<>(rowsById.size());
+        for (Long postId : postIds) {
+            Object[] row = rowsById.get(postId);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
     }
 
     /**
      * 단일 게시글을 ListResponse로 변환 (외부 서비스용)
      */
     public ListResponse getPostListResponse(Post post, Long currentUserId) {
-        // 감정 정보 조회
-        String emotion = postEmotionRepository.findByPost(post)
-                .map(pe -> pe.getDominantEmotion().name())
-                .orElse(null);
-
-        Long commentCount = commentRepository.countByPost(post);
-
-        List<Object[]> reactionObjs = postReactionRepository.countReactionsByPost(post);
-        java.util.Map<com.feelscore.back.entity.EmotionType, Long> reactionCounts = new java.util.HashMap<>();
-        for (Object[] row : reactionObjs) {
-            com.feelscore.back.entity.EmotionType type = (com.feelscore.back.entity.EmotionType) row[0];
-            Long count = (row[1] instanceof Number) ? ((Number) row[1]).longValue() : 0L;
-            reactionCounts.put(type, count);
+        return getPostListResponses(List.of(post), currentUserId).get(0);
+    }
+
+    /**
+     * 여러 게시글을 ListResponse로 일괄 변환 (외부 서비스용)
+     * - 감정 / 댓글 수 / 반응 수 모두 posts 테이블의 비정규화 컬럼을 사용하므로 추가 쿼리 없음
+     */
+    public List<ListResponse> getPostListResponses(List<Post> posts, Long currentUserId) {
+        if (posts.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<ListResponse> responses = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            String emotion = post.getDominantEmotion() != null ? post.getDominantEmotion().toString() : null;
+            responses.add(ListResponse.from(post, emotion, post.getCommentCount(), post.getReactionCountMap()));
+        }
+        return responses;
+    }
+
+    // 카테고리 + 직계 하위 카테고리 ID 목록
+    private List<Long> collectCategoryIds(Long categoryId) {
+        Category category = categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new NoSuchElementException("Category not found with id: " + categoryId));
+
+        List<Long> categoryIds = new ArrayList<>();
+        categoryIds.add(categoryId);
+        for (Category child : category.getChildren()) {
+            categoryIds.add(child.getId());
+        }
+        return categoryIds;
+    }
+
+    private int normalizeSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
+
+    // limit + 1개를 조회해서 다음 페이지 존재 여부를 판단 (COUNT 쿼리 대신)
+    // 차단 관계로 빠진 게시글이 있으면 페이지가 size보다 짧을 수 있음 (다음 커서는 조회한 마지막 행 기준)
+    private CursorResponse<ListResponse> toCursorResponse(List<Object[]> rows, int limit,
+            Function<Post, PostCursor> cursorOf, Long viewerId) {
+        boolean hasNext = rows.size() > limit;
+        List<Object[]> pageRows = hasNext ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Post last = (Post) pageRows.get(pageRows.size() - 1)[0];
+            nextCursor = cursorOf.apply(last).encode();
         }
+        return CursorResponse.of(toListResponses(visibleRows(pageRows, viewerId)), nextCursor);
+    }
+
+    // viewer와 차단 관계인 작성자의 (Post, dominantEmotion) 행 제외
+    private List<Object[]> visibleRows(List<Object[]> rows, Long viewerId) {
+        return blockGraphService.filterVisible(viewerId, rows, row -> ((Post) row[0]).getUsers().getId());
+    }
 
-        return ListResponse.from(post, emotion, commentCount, reactionCounts);
+    // (Post, dominantEmotion) 행 목록을 페이지 단위로 한 번에 ListResponse로 변환
+    // 차단 관계로 빠진 게시글이 있으면 페이지가 size보다 짧을 수 있음 (전체 개수는 DB 기준 그대로)
+    private Page<ListResponse> toListResponsePage(Page<Object[]> results, Long viewerId) {
+        return new PageImpl<>(toListResponses(visibleRows(results.getContent(), viewerId)), results.getPageable(),
+                results.getTotalElements());
+    }
+
+    private List<ListResponse> toListResponses(List<Object[]> rows) {
+        // 댓글 수 / 리액션 수는 posts 테이블의 비정규화 카운터를 사용하므로 추가 집계 쿼리가 없음
+        List<ListResponse> responses = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Post post = (Post) row[0];
+            String emotion = (row[1] != null) ? row[1].toString() : null;
+            responses.add(ListResponse.from(post, emotion, post.getCommentCount(), post.getReactionCountMap()));
+        }
+        return responses;
     }
 }
@@ -0,0 +1,56 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.repository.PostStatsLedgerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * post_stats_ledger 도입 이전에 분석된 게시글의 반영 점수를 채웁니다.
+ * - 원장이 없는 게시글만 채우므로(INSERT IGNORE) 매 기동마다 실행해도 이미 있는 행은 바뀌지 않습니다.
+ * - 분석 완료 메시지 소비(RabbitMQ 리스너)와 웹 요청이 시작되기 전에 실행합니다.
+ *   먼저 처리된 재분석이 0점 원장을 만들면, 이전 점수를 빼지 못한 채 새 점수만 더해지기 때문입니다.
+ */
+@Slf4j
+@Component
+public class PostStatsLedgerBackfill implements SmartLifecycle {
+
+    // 리스너 컨테이너 / 웹 서버보다 먼저 시작
+    static final int PHASE = Integer.MIN_VALUE;
+
+    private final PostStatsLedgerRepository postStatsLedgerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private volatile boolean running;
+
+    public PostStatsLedgerBackfill(PostStatsLedgerRepository postStatsLedgerRepository,
+            PlatformTransactionManager transactionManager) {
+        this.postStatsLedgerRepository = postStatsLedgerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void start() {
+        Integer inserted = transactionTemplate.execute(status -> postStatsLedgerRepository.backfillFromAnalyses());
+        if (inserted != null && inserted > 0) {
+            log.info("Backfilled stats ledger for {} posts.", inserted);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
@@ -0,0 +1,180 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.repository.PostRepository;
+import com.feelscore.back.repository.PostViewRepository;
+import com.feelscore.back.repository.PostViewWriter;
+import com.feelscore.back.repository.PostViewWriter.FirstView;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 게시글 조회수
+ * - 같은 유저(비로그인은 IP)의 24시간 내 재조회는 메모리의 최근 조회 목록에서 걸러 DB를 거치지 않습니다.
+ * - 로그인 유저의 첫 조회는 모아 두었다가 주기적으로 post_views에 배치로 기록합니다. (재시작 이후에도 중복 판별 유지)
+ *   기록 시 DB에 이미 판별 기간 안의 조회가 있으면 조회수에 더하지 않습니다.
+ * - posts.view_count는 조회마다 UPDATE하지 않고, 스트라이프별 증가분을 모아 주기적으로 한 번에 반영합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostViewService {
+
+    private static final int DEDUPE_HOURS = 24;
+    private static final int MAX_RECENT_VIEWS = 200_000;
+    private static final int STRIPES = 16;
+
+    private final PostViewRepository postViewRepository;
+    private final PostViewWriter postViewWriter;
+    private final PostRepository postRepository;
+    private final PostDetailCache postDetailCache;
+
+    // "postId:viewer" -> 중복 판별 만료 시각 (access-order LRU, 모든 접근은 synchronized (recentViews))
+    private final Map<String, Long> recentViews = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_RECENT_VIEWS;
+        }
+    };
+
+    // 반영 대기 중인 조회수 증가분 (postId -> delta), 인기 게시글에 몰려도 경합이 나뉘도록 스레드별 스트라이프
+    private final List<ConcurrentHashMap<Long, Long>> pending = createStripes();
+
+    // 기록 대기 중인 로그인 유저 첫 조회 (flush에서 post_views에 기록한 뒤 조회수에 더함)
+    private final ConcurrentLinkedQueue<FirstView> pendingViews = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 게시글 조회 1회를 기록합니다. (중복 조회면 무시)
+     *
+     * @param userId    로그인 유저 ID (비로그인이면 null)
+     * @param ipAddress 요청 IP (비로그인 중복 판별용)
+     */
+    public void increaseViewCount(Long postId, Long userId, String ipAddress) {
+        String viewer = userId != null ? "u" + userId : "ip" + ipAddress;
+        if (!markViewed(postId + ":" + viewer)) {
+            return;
+        }
+
+        if (userId != null) {
+            pendingViews.add(new FirstView(postId, userId, ipAddress, LocalDateTime.now()));
+            return;
+        }
+        pending.get(stripe()).merge(postId, 1L, Long::sum);
+    }
+
+    // 중복 판별 기간 안에 이미 본 게시글이면 false
+    private boolean markViewed(String key) {
+        long now = System.currentTimeMillis();
+        synchronized (recentViews) {
+            Long expiresAt = recentViews.get(key);
+            if (expiresAt != null && expiresAt > now) {
+                return false;
+            }
+            recentViews.put(key, now + DEDUPE_HOURS * 3_600_000L);
+            return true;
+        }
+    }
+
+    /**
+     * 모아 둔 로그인 유저 조회를 post_views에 기록하고, 증가분을 posts.view_count에 반영합니다.
+     * - 같은 증가분을 가진 게시글끼리 묶어 UPDATE ... WHERE id IN (...) 한 문장으로 처리
+     */
+    @Scheduled(fixedDelayString = "${post-view.flush-interval-ms:5000}")
+    public void flush() {
+        flushFirstViews();
+
+        Map<Long, Long> drained = new HashMap<>();
+        for (ConcurrentHashMap<Long, Long> stripe : pending) {
+            for (Long postId : stripe.keySet()) {
+                Long delta = stripe.remove(postId); // 원자적으로 꺼내므로 이후 증가분은 다음 주기로 넘어감
+                if (delta != null) {
+                    drained.merge(postId, delta, Long::sum);
+                }
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<Long>> byDelta = new TreeMap<>();
+        drained.forEach((postId, delta) -> byDelta.computeIfAbsent(delta, d -> new ArrayList<>()).add(postId));
+
+        for (Map.Entry<Long, List<Long>> entry : byDelta.entrySet()) {
+            long delta = entry.getKey();
+            List<Long> postIds = entry.getValue();
+            try {
+                postRepository.addViewCount(postIds, delta);
+                for (Long postId : postIds) {
+                    postDetailCache.adjustViewCount(postId, delta);
+                }
+            } catch (RuntimeException e) {
+                // 반영 실패분은 다시 대기열로 (다음 주기에 재시도)
+                log.warn("Failed to flush view counts for {} posts: {}", postIds.size(), e.getMessage());
+                for (Long postId : postIds) {
+                    pending.get(stripe()).merge(postId, delta, Long::sum);
+                }
+            }
+        }
+    }
+
+    // 대기 중인 첫 조회를 배치로 기록하고, 새로 기록된 조회만 증가분에 더함 (DB에 이미 있으면 재시작 전에 센 조회)
+    private void flushFirstViews() {
+        List<FirstView> views = new ArrayList<>();
+        for (FirstView view; (view = pendingViews.poll()) != null;) {
+            views.add(view);
+        }
+        if (views.isEmpty()) {
+            return;
+        }
+        try {
+            boolean[] inserted = postViewWriter.insertFirstViews(views, DEDUPE_HOURS);
+            for (int i = 0; i < inserted.length; i++) {
+                if (inserted[i]) {
+                    pending.get(stripe()).merge(views.get(i).getPostId(), 1L, Long::sum);
+                }
+            }
+        } catch (RuntimeException e) {
+            // 한 트랜잭션으로 기록하므로 실패하면 전부 다시 대기열로 (다음 주기에 재시도)
+            log.warn("Failed to record {} post views: {}", views.size(), e.getMessage());
+            pendingViews.addAll(views);
+        }
+    }
+
+    /**
+     * 회원 탈퇴 시 해당 유저의 조회 기록 삭제 (조회수는 유지)
+     */
+    @Transactional
+    public void deleteAllViewsByUser(Long userId) {
+        postViewRepository.deleteAllByUserId(userId);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private static int stripe() {
+        return (int) (Thread.currentThread().getId() & (STRIPES - 1));
+    }
+
+    private static List<ConcurrentHashMap<Long, Long>> createStripes() {
+        List<ConcurrentHashMap<Long, Long>> stripes = new ArrayList<>(STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes.add(new ConcurrentHashMap<>());
+        }
+        return stripes;
+    }
+}
@@ -29,6 +29,7 @@ public class ReactionService {
     private final UserRepository userRepository;
     private final CategoryStatsService categoryStatsService; // Added dependency
     private final NotificationProducer notificationProducer; // 🔹 알림 발송자 주입
+    private final PostDetailCache postDetailCache;
 
     /**
      * 토글 리액션: 이미 같은 감정이면 삭제, 다른 감정이면 수정, 없으면 생성
@@ -54,12 +55,18 @@ public class ReactionService {
             if (reaction.getEmotionType() == emotionType) {
                 // Remove if same emotion (Toggle OFF)
                 postReactionRepository.delete(reaction);
+                postRepository.addReactionCount(postId, emotionType, -1);
+                postDetailCache.adjustReactionCount(postId, emotionType, -1);
                 // Update Stats: Subtract
                 categoryStatsService.updateUserReactionStats(post.getCategory(), emotionType, false);
             } else {
                 // Update if different emotion (Switch)
                 EmotionType oldEmotion = reaction.getEmotionType();
                 reaction.updateEmotion(emotionType);
+                postRepository.addReactionCount(postId, oldEmotion, -1);
+                postRepository.addReactionCount(postId, emotionType, 1);
+                postDetailCache.adjustReactionCount(postId, oldEmotion, -1);
+                postDetailCache.adjustReactionCount(postId, emotionType, 1);
                 // Update Stats: Subtract Old, Add New
                 categoryStatsService.updateUserReactionStats(post.getCategory(), oldEmotion, false);
                 categoryStatsService.updateUserReactionStats(post.getCategory(), emotionType, true);
@@ -72,6 +79,8 @@ public class ReactionService {
                     .emotionType(emotionType)
                     .build();
             postReactionRepository.save(newReaction);
+            postRepository.addReactionCount(postId, emotionType, 1);
+            postDetailCache.adjustReactionCount(postId, emotionType, 1);
             // Update Stats: Add
             categoryStatsService.updateUserReactionStats(post.getCategory(), emotionType, true);
 
@@ -133,6 +142,14 @@ public class ReactionService {
     @Transactional
     public void deleteAllPostReactionsByUser(Long userId) {
         Users user = userRepository.findById(userId).orElseThrow();
+        List<Long> postIds = postReactionRepository.findPostIdsByUsers(user);
         postReactionRepository.deleteByUsers(user);
+
+        // 삭제된 리액션이 달려 있던 게시글의 카운터 재계산
+        if (!postIds.isEmpty()) {
+            postReactionRepository.flush();
+            postRepository.recountReactions(postIds);
+            postDetailCache.invalidateAll(postIds);
+        }
     }
 }
@@ -0,0 +1,257 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.dto.CategoryStatsDto;
+import com.feelscore.back.dto.StatsPeriod;
+import com.feelscore.back.dto.StatsPushDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 홈 통계 실시간 전송 (/sub/stats/{period})
+ * - 클라이언트마다 /api/stats/home을 폴링하는 대신, 기간별 통계를 서버에서 주기마다 한 번만 계산해
+ *   직전 결과와 달라진 카테고리만 DIFF로 보냅니다. (구독자가 없는 기간은 계산하지 않음)
+ * - 새 구독자는 /pub/stats/{period}를 구독해 현재 버전의 전체 스냅샷을 먼저 받습니다. (StatsStompController)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatsPushService {
+
+    public static final String TOPIC_PREFIX = "/sub/stats/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final CategoryStatsTree categoryStatsTree;
+    private final CategoryStatsService categoryStatsService;
+
+    @Value("${stats.push.interval-ms:2000}")
+    private long intervalMillis;
+
+    private final Map<StatsPeriod, Published> published = new EnumMap<>(StatsPeriod.class);
+    private final Map<StatsPeriod, AtomicInteger> subscribers = createCounters();
+    // "sessionId:subscriptionId" -> 구독 중인 기간 (구독 해제 / 연결 종료 시 차감용)
+    private final Map<String, StatsPeriod> subscriptions = new ConcurrentHashMap<>();
+
+    /**
+     * 현재 버전의 전체 스냅샷 (없거나 오래됐으면 새로 계산)
+     */
+    public StatsPushDto snapshot(StatsPeriod period) {
+        Published current = latest(period);
+        return StatsPushDto.builder()
+                .type("SNAPSHOT")
+                .period(period)
+                .version(current.version)
+                .snapshot(current.stats)
+                .build();
+    }
+
+    /**
+     * 최근 주기에 계산해 둔 통계 (구독자가 없어 계산하지 않았거나 오래됐으면 null)
+     */
+    public List<CategoryStatsDto> getRecent(StatsPeriod period) {
+        synchronized (published) {
+            Published current = published.get(period);
+            if (current == null || System.currentTimeMillis() - current.computedAt > intervalMillis * 2) {
+                return null;
+            }
+            return current.stats;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${stats.push.interval-ms:2000}")
+    public void publish() {
+        for (StatsPeriod period : StatsPeriod.values()) {
+            if (subscribers.get(period).get() <= 0) {
+                continue; // 다시 구독자가 생기면 마지막 버전과 비교한 DIFF부터 이어서 보냄
+            }
+            try {
+                publish(period);
+            } catch (RuntimeException e) {
+                log.warn("Failed to publish stats diff for {}: {}", period, e.getMessage());
+            }
+        }
+    }
+
+    // 계산 결과를 직전 버전과 비교해 달라진 행이 있으면 새 버전으로 전송
+    private void publish(StatsPeriod period) {
+        List<CategoryStatsDto> stats = compute(period);
+        Map<Long, StatsPushDto.Change> rows = flatten(stats);
+
+        synchronized (published) { // 버전 순서대로 전송되도록 잠금 안에서 전송
+            Published previous = published.get(period);
+            if (previous == null) {
+                published.put(period, new Published(1, stats, rows));
+                return; // 아직 스냅샷을 받은 구독자가 없음 (구독 시 스냅샷으로 전달)
+            }
+
+            List<StatsPushDto.Change> changes = new ArrayList<>();
+            rows.forEach((id, row) -> {
+                if (!sameRow(previous.rows.get(id), row)) {
+                    changes.add(row);
+                }
+            });
+            List<Long> removed = new ArrayList<>();
+            for (Long id : previous.rows.keySet()) {
+                if (!rows.containsKey(id)) {
+                    removed.add(id);
+                }
+            }
+
+            if (changes.isEmpty() && removed.isEmpty()) {
+                published.put(period, new Published(previous.version, stats, rows));
+                return;
+            }
+            long version = previous.version + 1;
+            published.put(period, new Published(version, stats, rows));
+            messagingTemplate.convertAndSend(TOPIC_PREFIX + period.name(), StatsPushDto.builder()
+                    .type("DIFF")
+                    .period(period)
+                    .version(version)
+                    .changes(changes)
+                    .removed(removed.isEmpty() ? null : removed)
+                    .build());
+        }
+    }
+
+    private Published latest(StatsPeriod period) {
+        synchronized (published) {
+            Published current = published.get(period);
+            if (current != null && System.currentTimeMillis() - current.computedAt <= intervalMillis * 2) {
+                return current;
+            }
+        }
+        // 오래된 버전이면 기존 구독자에게도 DIFF를 보내고 나서 최신 버전을 반환
+        publish(period);
+        synchronized (published) {
+            return published.get(period);
+        }
+    }
+
+    private List<CategoryStatsDto> compute(StatsPeriod period) {
+        List<CategoryStatsDto> resident = categoryStatsTree.getSnapshot(period);
+        return resident != null ? resident : categoryStatsService.getRealtimeStats(period);
+    }
+
+    // ===== 구독자 집계 =====
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        StatsPeriod period = periodOf(accessor.getDestination());
+        if (period != null && subscriptions.putIfAbsent(key(accessor), period) == null) {
+            subscribers.get(period).incrementAndGet();
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StatsPeriod period = subscriptions.remove(key(SimpMessageHeaderAccessor.wrap(event.getMessage())));
+        if (period != null) {
+            subscribers.get(period).decrementAndGet();
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        String prefix = event.getSessionId() + ":";
+        subscriptions.entrySet().removeIf(entry -> {
+            if (!entry.getKey().startsWith(prefix)) {
+                return false;
+            }
+            subscribers.get(entry.getValue()).decrementAndGet();
+            return true;
+        });
+    }
+
+    private static String key(SimpMessageHeaderAccessor accessor) {
+        return accessor.getSessionId() + ":" + accessor.getSubscriptionId();
+    }
+
+    private static StatsPeriod periodOf(String destination) {
+        if (destination == null || !destination.startsWith(TOPIC_PREFIX)) {
+            return null;
+        }
+        try {
+            return StatsPeriod.valueOf(destination.substring(TOPIC_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // ===== 트리 -> 카테고리별 행 =====
+
+    private static Map<Long, StatsPushDto.Change> flatten(List<CategoryStatsDto> stats) {
+        Map<Long, StatsPushDto.Change> rows = new HashMap<>();
+        flatten(stats, null, rows);
+        return rows;
+    }
+
+    private static void flatten(List<CategoryStatsDto> siblings, Long parentId, Map<Long, StatsPushDto.Change> rows) {
+        if (siblings == null) {
+            return;
+        }
+        for (int rank = 0; rank < siblings.size(); rank++) {
+            CategoryStatsDto dto = siblings.get(rank);
+            rows.put(dto.getCategoryId(), StatsPushDto.Change.builder()
+                    .categoryId(dto.getCategoryId())
+                    .parentId(parentId)
+                    .name(dto.getName())
+                    .dominantEmotion(dto.getDominantEmotion())
+                    .score(dto.getScore())
+                    .commentCount(dto.getCommentCount())
+                    .trend(dto.getTrend())
+                    .rank(rank)
+                    .build());
+            flatten(dto.getChildren(), dto.getCategoryId(), rows);
+        }
+    }
+
+    private static boolean sameRow(StatsPushDto.Change a, StatsPushDto.Change b) {
+        return a != null
+                && a.getRank() == b.getRank()
+                && a.getDominantEmotion() == b.getDominantEmotion()
+                && Objects.equals(a.getScore(), b.getScore())
+                && Objects.equals(a.getCommentCount(), b.getCommentCount())
+                && Objects.equals(a.getTrend(), b.getTrend())
+                && Objects.equals(a.getParentId(), b.getParentId())
+                && Objects.equals(a.getName(), b.getName());
+    }
+
+    private static Map<StatsPeriod, AtomicInteger> createCounters() {
+        Map<StatsPeriod, AtomicInteger> counters = new EnumMap<>(StatsPeriod.class);
+        for (StatsPeriod period : StatsPeriod.values()) {
+            counters.put(period, new AtomicInteger());
+        }
+        return counters;
+    }
+
+    private static final class Published {
+        final long version;
+        final List<CategoryStatsDto> stats;
+        final Map<Long, StatsPushDto.Change> rows;
+        final long computedAt = System.currentTimeMillis();
+
+        Published(long version, List<CategoryStatsDto> stats, Map<Long, StatsPushDto.Change> rows) {
+            this.version = version;
+            this.stats = stats;
+            this.rows = rows;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.repository.UserEmotionProfileRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * user_emotion_profile을 posts / post_emotions 기준으로 다시 집계합니다.
+ * - 게시글이 있는 모든 사용자 행을 재집계 값으로 덮어쓰므로, 도입 이전 사용자도 채워지고 어긋난 행도 바로잡힙니다.
+ * - 분석 완료 메시지 소비(RabbitMQ 리스너)와 웹 요청이 시작되기 전에 실행합니다.
+ *   그 뒤의 게시글 작성 / 분석 완료 증감은 재집계 값 위에 쌓입니다.
+ */
+@Slf4j
+@Component
+public class UserEmotionProfileBackfill implements SmartLifecycle {
+
+    // 리스너 컨테이너 / 웹 서버보다 먼저 시작
+    static final int PHASE = Integer.MIN_VALUE;
+
+    private final UserEmotionProfileRepository userEmotionProfileRepository;
+    private final TransactionTemplate transactionTemplate;
+    private volatile boolean running;
+
+    public UserEmotionProfileBackfill(UserEmotionProfileRepository userEmotionProfileRepository,
+            PlatformTransactionManager transactionManager) {
+        this.userEmotionProfileRepository = userEmotionProfileRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void start() {
+        Integer updated = transactionTemplate.execute(status -> userEmotionProfileRepository.rebuildAll());
+        if (updated != null && updated > 0) {
+            log.info("Rebuilt emotion profiles ({} rows affected).", updated);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
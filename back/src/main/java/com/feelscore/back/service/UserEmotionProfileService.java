@@ -0,0 +1,93 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.entity.EmotionScores;
+import com.feelscore.back.entity.EmotionType;
+import com.feelscore.back.entity.Post;
+import com.feelscore.back.repository.UserEmotionProfileRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 사용자 감정 프로필(user_emotion_profile) 증감 반영
+ * - 게시글 작성 / 분석 완료 / 게시글 삭제 시 해당 사용자 행에 증감을 upsert
+ * - 증감으로 따라가기 어려운 변경(회원 게시글 일괄 정리, 관리자 감정 수정)은 그 사용자만 재집계합니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class UserEmotionProfileService {
+
+    private final UserEmotionProfileRepository userEmotionProfileRepository;
+
+    /**
+     * 정상 게시글 작성
+     */
+    public void addPost(Long userId) {
+        if (userId != null) {
+            userEmotionProfileRepository.upsert(userId, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+    }
+
+    /**
+     * 정상 게시글 삭제. appliedScores는 그 게시글에 반영해 둔 점수 (없으면 null)
+     */
+    public void removePost(Long userId, EmotionScores appliedScores) {
+        if (userId == null) {
+            return;
+        }
+        long[] v = new long[EmotionType.values().length];
+        accumulate(v, appliedScores, -1);
+        upsert(userId, -1, v);
+    }
+
+    /**
+     * 분석 결과 반영. 이전에 반영한 점수(previous, 없으면 null)와의 차이를 한 번에 더합니다.
+     */
+    public void applyScores(Long userId, EmotionScores previous, EmotionScores current) {
+        if (userId == null) {
+            return;
+        }
+        long[] v = new long[EmotionType.values().length];
+        accumulate(v, current, 1);
+        accumulate(v, previous, -1);
+        upsert(userId, 0, v);
+    }
+
+    /**
+     * 작성자 프로필을 원본 테이블 기준으로 다시 집계
+     */
+    public void refresh(Long userId) {
+        if (userId != null) {
+            userEmotionProfileRepository.rebuild(userId);
+        }
+    }
+
+    public void refresh(Post post) {
+        if (post != null && post.getUsers() != null) {
+            refresh(post.getUsers().getId());
+        }
+    }
+
+    // 감정별 점수를 sign 방향으로 v(EmotionType.ordinal() 인덱스)에 더함
+    private static void accumulate(long[] v, EmotionScores scores, int sign) {
+        if (scores == null) {
+            return;
+        }
+        for (EmotionType type : EmotionType.values()) {
+            Integer score = scores.getScoreByType(type);
+            if (score != null) {
+                v[type.ordinal()] += (long) sign * score;
+            }
+        }
+    }
+
+    private void upsert(Long userId, long posts, long[] v) {
+        userEmotionProfileRepository.upsert(userId, posts,
+                v[EmotionType.JOY.ordinal()], v[EmotionType.SADNESS.ordinal()], v[EmotionType.ANGER.ordinal()],
+                v[EmotionType.FEAR.ordinal()], v[EmotionType.DISGUST.ordinal()], v[EmotionType.SURPRISE.ordinal()],
+                v[EmotionType.CONTEMPT.ordinal()], v[EmotionType.LOVE.ordinal()],
+                v[EmotionType.ANTICIPATION.ordinal()], v[EmotionType.TRUST.ordinal()],
+                v[EmotionType.NEUTRAL.ordinal()]);
+    }
+}
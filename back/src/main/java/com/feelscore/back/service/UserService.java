@@ -28,6 +28,7 @@ public class UserService {
     private final NotificationService notificationService;
     private final S3Service s3Service;
     private final DmService dmService;
+    private final PostViewService postViewService;
     private final UserEmotionRepository userEmotionRepository;
     private final PasswordEncoder passwordEncoder;
 
@@ -102,6 +103,9 @@ public class UserService {
         // 9. DM 삭제 (메시지 및 멤버십)
         dmService.deleteAllDmsByUser(userId);
 
+        // 9-1. 게시글 조회 기록 삭제
+        postViewService.deleteAllViewsByUser(userId);
+
         // 10. 유저 삭제
         userRepository.delete(user);
     }
@@ -3,14 +3,16 @@ package com.feelscore.back.service;
 import com.feelscore.back.dto.EmotionSumDto;
 import com.feelscore.back.dto.UserEmotionStatsDto;
 import com.feelscore.back.entity.EmotionType;
-import com.feelscore.back.entity.PostStatus;
-import com.feelscore.back.repository.PostEmotionRepository;
-import com.feelscore.back.repository.PostRepository;
+import com.feelscore.back.entity.UserEmotionProfile;
+import com.feelscore.back.repository.UserEmotionProfileRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -18,17 +20,39 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class UserStatsService {
 
-    private final PostEmotionRepository postEmotionRepository;
-    private final PostRepository postRepository;
+    private final UserEmotionProfileRepository userEmotionProfileRepository;
 
     @Transactional(readOnly = true)
     public UserEmotionStatsDto getUserEmotionStats(Long userId) {
-        // 1. 유저의 총 게시글 수 조회 (Context) - 정상 게시글만 카운트
-        Long totalPosts = postRepository.countByUsers_IdAndStatus(userId, PostStatus.NORMAL);
+        // 미리 합산해 둔 프로필 한 행 조회 (없으면 게시글이 없는 사용자)
+        return toDto(userId, userEmotionProfileRepository.findById(userId).orElse(null));
+    }
+
+    /**
+     * 여러 사용자의 감정 통계를 한 번에 조회 (요청 순서대로 반환)
+     */
+    @Transactional(readOnly = true)
+    public List<UserEmotionStatsDto> getUserEmotionStats(List<Long> userIds) {
+        Map<Long, UserEmotionProfile> profiles = new HashMap<>();
+        for (UserEmotionProfile profile : userEmotionProfileRepository.findAllById(userIds)) {
+            profiles.put(profile.getUserId(), profile);
+        }
+
+        List<UserEmotionStatsDto> result = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            result.add(toDto(userId, profiles.get(userId)));
+        }
+        return result;
+    }
+
+    private UserEmotionStatsDto toDto(Long userId, UserEmotionProfile profile) {
+        // 1. 유저의 총 게시글 수 (정상 게시글만)
+        Long totalPosts = profile != null ? profile.getPostCount() : 0L;
 
-        // 2. 감정 점수 합계 조회
-        EmotionSumDto sumDto = postEmotionRepository.sumScoresByUserId(userId)
-                .orElse(new EmotionSumDto(userId, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L));
+        // 2. 감정 점수 합계
+        EmotionSumDto sumDto = profile != null
+                ? profile.toSumDto()
+                : new EmotionSumDto(userId, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L);
 
         Map<EmotionType, Long> emotionCounts = sumDto.toMap();
 
@@ -0,0 +1,28 @@
+package com.feelscore.back.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 커밋 이후 실행 헬퍼
+ * - 메모리 캐시 / 인덱스 / 버퍼처럼 DB 변경을 따라가는 상태는 커밋된 변경만 반영해야 하므로,
+ *   트랜잭션 안이면 커밋 이후로 미루고 트랜잭션 밖이면 바로 실행합니다. (롤백되면 실행하지 않음)
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
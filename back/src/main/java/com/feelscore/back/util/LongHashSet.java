@@ -0,0 +1,87 @@
+package com.feelscore.back.util;
+
+/**
+ * long 해시 셋 (open addressing, 선형 탐사)
+ * - 유저 id 집합처럼 원소가 long인 조회용 셋에서 Long 박싱과 노드 객체를 없애기 위해 사용합니다.
+ * - 삭제는 지원하지 않고, 다 채운 뒤 여러 스레드에서 읽기만 하는 용도를 전제로 합니다. (쓰기는 단일 스레드)
+ */
+public final class LongHashSet {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private boolean[] used;
+    private int size;
+
+    public LongHashSet() {
+        this(16);
+    }
+
+    public LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        keys = new long[capacity];
+        used = new boolean[capacity];
+    }
+
+    /**
+     * @return 새로 추가됐으면 true
+     */
+    public boolean add(long key) {
+        if (size + 1 > keys.length * LOAD_FACTOR) {
+            resize(keys.length << 1);
+        }
+        int slot = slotOf(key);
+        if (used[slot]) {
+            return false;
+        }
+        used[slot] = true;
+        keys[slot] = key;
+        size++;
+        return true;
+    }
+
+    public boolean contains(long key) {
+        return used[slotOf(key)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // 키가 있는 위치, 없으면 들어갈 빈 위치
+    private int slotOf(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        boolean[] oldUsed = used;
+        keys = new long[capacity];
+        used = new boolean[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slotOf(oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+            }
+        }
+    }
+
+    // 연속된 id가 한쪽에 몰리지 않도록 비트를 섞음 (murmur3 finalizer)
+    private static int mix(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
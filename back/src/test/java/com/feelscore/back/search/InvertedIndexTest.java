@@ -0,0 +1,112 @@
+package com.feelscore.back.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    @Test
+    @DisplayName("조사가 붙은 어절도 n-gram으로 검색된다")
+    void searchKoreanSubstring() {
+        InvertedIndex index = new InvertedIndex();
+        index.index(1L, "오늘 학교에서 친구를 만났다");
+        index.index(2L, "회사 가기 싫다");
+
+        InvertedIndex.SearchHits hits = index.search(List.of("학교"), SearchMode.OR, 0, 10);
+
+        assertThat(hits.getIds()).containsExactly(1L);
+        assertThat(hits.getTotal()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("AND는 모든 키워드, OR는 하나라도 포함한 게시글을 찾는다")
+    void andOrAcrossKeywords() {
+        InvertedIndex index = new InvertedIndex();
+        index.index(1L, "학교 급식이 맛있다");
+        index.index(2L, "학교 가기 싫다");
+        index.index(3L, "급식 메뉴 공개");
+
+        assertThat(index.search(List.of("학교", "급식"), SearchMode.AND, 0, 10).getIds())
+                .containsExactly(1L);
+        assertThat(index.search(List.of("학교", "급식"), SearchMode.OR, 0, 10).getIds())
+                .containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("키워드가 더 자주 나오는 게시글이 먼저 나온다 (BM25)")
+    void rankByBm25() {
+        InvertedIndex index = new InvertedIndex();
+        index.index(1L, "오늘도 커피 한 잔 마시고 출근했다");
+        index.index(2L, "커피 커피 커피 좋아");
+        index.index(3L, "녹차가 좋다");
+
+        assertThat(index.search(List.of("커피"), SearchMode.OR, 0, 10).getIds())
+                .containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("수정 / 삭제된 게시글은 이전 내용으로 검색되지 않는다")
+    void reindexAndRemove() {
+        InvertedIndex index = new InvertedIndex();
+        index.index(1L, "비가 온다");
+        index.index(1L, "눈이 온다");
+        index.index(2L, "비 소식");
+
+        assertThat(index.search(List.of("비가"), SearchMode.OR, 0, 10).getIds()).isEmpty();
+        assertThat(index.search(List.of("눈이"), SearchMode.OR, 0, 10).getIds()).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(index.search(List.of("눈이"), SearchMode.OR, 0, 10).getIds()).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("커서 검색은 beforeId보다 작은 게시글을 최신순으로 이어서 반환한다")
+    void searchBeforeId() {
+        InvertedIndex index = new InvertedIndex();
+        index.index(1L, "학교 가는 길");
+        index.index(2L, "회사 가는 길");
+        index.index(3L, "학교 끝");
+        index.index(5L, "학교 숙제");
+
+        assertThat(index.searchBefore(List.of("학교"), SearchMode.OR, Long.MAX_VALUE, 2)).containsExactly(5L, 3L);
+        assertThat(index.searchBefore(List.of("학교"), SearchMode.OR, 3L, 2)).containsExactly(1L);
+        assertThat(index.searchBefore(List.of("학교"), SearchMode.OR, 4L, 10)).containsExactly(3L, 1L);
+        assertThat(index.searchBefore(List.of("비"), SearchMode.OR, Long.MAX_VALUE, 10)).isNull();
+    }
+
+    @Test
+    @DisplayName("한 글자 키워드는 색인으로 처리하지 않는다")
+    void singleCharacterKeywordUnsupported() {
+        InvertedIndex index = new InvertedIndex();
+        index.index(1L, "비 온다");
+
+        assertThat(index.search(List.of("비"), SearchMode.OR, 0, 10)).isNull();
+    }
+
+    @Test
+    @DisplayName("segment 파일로 저장 후 다시 읽어도 같은 결과를 낸다")
+    void segmentRoundTrip(@TempDir Path dir) throws Exception {
+        InvertedIndex index = new InvertedIndex();
+        index.index(1L, "오늘 학교에서 친구를 만났다");
+        index.index(2L, "iPhone15를 샀다");
+
+        Path file = dir.resolve("posts.idx");
+        IndexSegmentFile.write(index, file, 1234L);
+        IndexSegmentFile.Loaded loaded = IndexSegmentFile.read(file);
+
+        assertThat(loaded.getSnapshotAtMillis()).isEqualTo(1234L);
+        assertThat(loaded.getIndex().size()).isEqualTo(2);
+        assertThat(loaded.getIndex().search(List.of("iphone"), SearchMode.OR, 0, 10).getIds())
+                .containsExactly(2L);
+
+        loaded.getIndex().remove(1L);
+        assertThat(loaded.getIndex().search(List.of("학교"), SearchMode.OR, 0, 10).getIds()).isEmpty();
+    }
+}
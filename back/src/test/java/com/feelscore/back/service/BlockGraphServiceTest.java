@@ -0,0 +1,190 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.repository.BlockRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BlockGraphServiceTest {
+
+    private static final Long VIEWER_ID = 1L;
+
+    @Mock
+    private BlockRepository blockRepository;
+
+    private BlockGraphService blockGraphService;
+
+    @BeforeEach
+    void setUp() {
+        blockGraphService = new BlockGraphService(blockRepository, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    @DisplayName("유저별 차단 관계는 한 번만 적재하고 이후에는 캐시에서 판단한다")
+    void cachedEdges() {
+        // given - 1번은 2번을 차단, 4번은 1번을 차단
+        given(blockRepository.findBlockedIdsByBlockerId(VIEWER_ID)).willReturn(List.of(2L));
+        given(blockRepository.findBlockerIdsByBlockedId(VIEWER_ID)).willReturn(List.of(4L));
+
+        // when & then
+        assertThat(blockGraphService.isBlocking(VIEWER_ID, 2L)).isTrue();
+        assertThat(blockGraphService.isBlocking(VIEWER_ID, 4L)).isFalse();
+        assertThat(blockGraphService.isBlockedEitherWay(VIEWER_ID, 4L)).isTrue();
+        assertThat(blockGraphService.isBlockedEitherWay(VIEWER_ID, 3L)).isFalse();
+        verify(blockRepository, times(1)).findBlockedIdsByBlockerId(VIEWER_ID);
+        verify(blockRepository, times(1)).findBlockerIdsByBlockedId(VIEWER_ID);
+    }
+
+    @Test
+    @DisplayName("REPEATABLE READ 트랜잭션 안에서 읽은 차단 관계는 그 요청에만 쓰고 캐시에 넣지 않는다")
+    void skipCacheInSnapshotTransaction() {
+        // given - 격리 수준을 지정하지 않은 트랜잭션 (DB 기본값 REPEATABLE READ)
+        given(blockRepository.findBlockedIdsByBlockerId(VIEWER_ID)).willReturn(List.of(2L));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // when
+        boolean first = blockGraphService.isBlocking(VIEWER_ID, 2L);
+        boolean second = blockGraphService.isBlocking(VIEWER_ID, 2L);
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        verify(blockRepository, times(2)).findBlockedIdsByBlockerId(VIEWER_ID);
+    }
+
+    @Test
+    @DisplayName("READ_COMMITTED 트랜잭션에서 읽은 차단 관계는 캐시에 넣는다")
+    void cacheInReadCommittedTransaction() {
+        // given
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionIsolationLevel(
+                TransactionDefinition.ISOLATION_READ_COMMITTED);
+
+        // when
+        blockGraphService.isBlocking(VIEWER_ID, 2L);
+        blockGraphService.isBlocking(VIEWER_ID, 2L);
+
+        // then
+        verify(blockRepository, times(1)).findBlockedIdsByBlockerId(VIEWER_ID);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 밖에서 미리 적재하면 이후 트랜잭션 안의 조회는 캐시를 쓴다")
+    void preloadOutsideTransaction() {
+        // given
+        blockGraphService.preload(VIEWER_ID);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // when
+        blockGraphService.isBlockedEitherWay(VIEWER_ID, 2L);
+
+        // then
+        verify(blockRepository, times(1)).findBlockedIdsByBlockerId(VIEWER_ID);
+    }
+
+    @Test
+    @DisplayName("피드 항목은 내가 차단했거나 나를 차단한 작성자만 빼고 순서를 유지한다")
+    void filterVisible() {
+        // given
+        given(blockRepository.findBlockedIdsByBlockerId(VIEWER_ID)).willReturn(List.of(2L));
+        given(blockRepository.findBlockerIdsByBlockedId(VIEWER_ID)).willReturn(List.of(3L));
+
+        // when
+        List<Long> visible = blockGraphService.filterVisible(VIEWER_ID, List.of(5L, 2L, 3L, 4L), Long::longValue);
+
+        // then
+        assertThat(visible).containsExactly(5L, 4L);
+    }
+
+    @Test
+    @DisplayName("비로그인 조회는 차단 관계를 적재하지 않고 그대로 돌려준다")
+    void filterVisibleWithoutViewer() {
+        // given
+        List<Long> items = List.of(2L, 3L);
+
+        // when
+        List<Long> visible = blockGraphService.filterVisible(null, items, Long::longValue);
+
+        // then
+        assertThat(visible).isSameAs(items);
+        verify(blockRepository, never()).findBlockedIdsByBlockerId(VIEWER_ID);
+    }
+
+    @Test
+    @DisplayName("차단 해제는 커밋 이후에 캐시에서 빠지고 다음 조회 때 다시 적재한다")
+    void invalidateAfterCommit() {
+        // given
+        given(blockRepository.findBlockedIdsByBlockerId(VIEWER_ID)).willReturn(List.of(2L), List.of());
+        blockGraphService.isBlocking(VIEWER_ID, 2L);
+
+        // when
+        TransactionSynchronizationManager.initSynchronization();
+        blockGraphService.invalidate(VIEWER_ID, 2L);
+        boolean beforeCommit = blockGraphService.isBlocking(VIEWER_ID, 2L);
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        boolean afterCommit = blockGraphService.isBlocking(VIEWER_ID, 2L);
+
+        // then
+        assertThat(beforeCommit).isTrue();
+        assertThat(afterCommit).isFalse();
+        verify(blockRepository, times(2)).findBlockedIdsByBlockerId(VIEWER_ID);
+    }
+
+    @Test
+    @DisplayName("적재 중에 차단 관계가 바뀌면 적재 결과를 캐시에 넣지 않는다")
+    void skipStaleLoad() {
+        // given
+        given(blockRepository.findBlockedIdsByBlockerId(VIEWER_ID)).willAnswer(invocation -> {
+            blockGraphService.invalidate(VIEWER_ID, 2L);
+            return List.of();
+        });
+
+        // when
+        blockGraphService.isBlocking(VIEWER_ID, 2L);
+        blockGraphService.isBlocking(VIEWER_ID, 2L);
+
+        // then
+        verify(blockRepository, times(2)).findBlockedIdsByBlockerId(VIEWER_ID);
+    }
+
+    @Test
+    @DisplayName("회원 탈퇴처럼 여러 유저가 바뀌면 캐시 전체를 비운다")
+    void invalidateAll() {
+        // given
+        blockGraphService.isBlocking(VIEWER_ID, 2L);
+        blockGraphService.isBlocking(3L, 2L);
+
+        // when
+        blockGraphService.invalidateAll();
+        blockGraphService.isBlocking(VIEWER_ID, 2L);
+        blockGraphService.isBlocking(3L, 2L);
+
+        // then
+        verify(blockRepository, times(2)).findBlockedIdsByBlockerId(VIEWER_ID);
+        verify(blockRepository, times(2)).findBlockedIdsByBlockerId(3L);
+    }
+}
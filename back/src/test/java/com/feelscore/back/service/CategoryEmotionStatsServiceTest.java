@@ -16,6 +16,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +31,9 @@ class CategoryEmotionStatsServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private GlobalEmotionTotals globalEmotionTotals;
+
     @Test
     @DisplayName("전체 감정 순위(Count 기준) 조회 시 랭킹이 정확히 매겨져야 한다")
     void getGlobalEmotionRankingByCount_shouldReturnRankedList() {
@@ -64,4 +68,33 @@ class CategoryEmotionStatsServiceTest {
         assertEquals(EmotionType.SADNESS, result.get(1).getEmotionType());
         assertEquals(2, result.get(1).getRank()); // 랭킹 2위 확인
     }
+
+    @Test
+    @DisplayName("감정별 합계가 메모리에 있으면 DB 조회 없이 점수 순위를 매긴다")
+    void getGlobalEmotionRankingByScore_shouldUseResidentTotals() {
+        // Given
+        long[] counts = new long[EmotionType.values().length];
+        long[] scores = new long[EmotionType.values().length];
+        counts[EmotionType.JOY.ordinal()] = 100L;
+        scores[EmotionType.JOY.ordinal()] = 2000L;
+        counts[EmotionType.ANGER.ordinal()] = 10L;
+        scores[EmotionType.ANGER.ordinal()] = 3000L;
+
+        when(globalEmotionTotals.isReady()).thenReturn(true);
+        when(globalEmotionTotals.copyCounts()).thenReturn(counts);
+        when(globalEmotionTotals.copyScores()).thenReturn(scores);
+
+        // When
+        List<CategoryEmotionStatsDto.GlobalRankingResponse> result =
+                statsService.getGlobalEmotionRankingByScore();
+
+        // Then (통계가 없는 감정은 제외)
+        assertEquals(2, result.size());
+        assertEquals(EmotionType.ANGER, result.get(0).getEmotionType());
+        assertEquals(3000L, result.get(0).getTotalScore());
+        assertEquals(1, result.get(0).getRank());
+        assertEquals(EmotionType.JOY, result.get(1).getEmotionType());
+        assertEquals(2, result.get(1).getRank());
+        verifyNoInteractions(statsRepository);
+    }
 }
\ No newline at end of file
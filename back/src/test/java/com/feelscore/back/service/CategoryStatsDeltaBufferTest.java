@@ -0,0 +1,193 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.entity.EmotionType;
+import com.feelscore.back.repository.CategoryEmotionStatsWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryStatsDeltaBufferTest {
+
+    @Mock
+    private CategoryEmotionStatsWriter categoryEmotionStatsWriter;
+
+    @Mock
+    private GlobalEmotionTotals globalEmotionTotals;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        // 전체 감정 합계는 DB 반영(write)을 그대로 실행
+        lenient().doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(globalEmotionTotals).apply(any(), any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("같은 (카테고리, 감정) 증감은 합쳐서 한 번에 반영한다")
+    void flushMergedDeltas() {
+        // given
+        CategoryStatsDeltaBuffer buffer = newBuffer(1000);
+        buffer.add(List.of(1L, 2L), joy(1), joy(50));
+        buffer.add(List.of(1L, 2L), joy(1), joy(50));
+
+        // when
+        buffer.flush();
+
+        // then
+        Map<Long, long[]> written = captureWritten(1).get(0);
+        assertThat(written).hasSize(2);
+        assertThat(written.get(CategoryEmotionStatsWriter.key(1L, EmotionType.JOY))).containsExactly(2L, 100L);
+        assertThat(written.get(CategoryEmotionStatsWriter.key(2L, EmotionType.JOY))).containsExactly(2L, 100L);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안의 증감은 커밋 이후에 버퍼에 들어간다")
+    void addAfterCommit() {
+        // given
+        CategoryStatsDeltaBuffer buffer = newBuffer(1000);
+        TransactionSynchronizationManager.initSynchronization();
+        buffer.add(List.of(1L), joy(1), joy(50));
+
+        // when - 커밋 전 반영
+        buffer.flush();
+
+        // then
+        verify(categoryEmotionStatsWriter, never()).addAll(anyMap());
+
+        // when - 커밋 후 반영
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        buffer.flush();
+
+        // then
+        assertThat(captureWritten(1).get(0)).containsKey(CategoryEmotionStatsWriter.key(1L, EmotionType.JOY));
+    }
+
+    @Test
+    @DisplayName("반영에 실패한 증감은 다시 대기열에 넣고 다음 주기에 재시도한다")
+    void requeueOnFailure() {
+        // given
+        CategoryStatsDeltaBuffer buffer = newBuffer(1000);
+        given(categoryEmotionStatsWriter.addAll(anyMap()))
+                .willThrow(new IllegalStateException("deadlock"))
+                .willReturn(1);
+        buffer.add(List.of(1L), joy(1), joy(50));
+
+        // when
+        buffer.flush();
+        buffer.add(List.of(1L), joy(1), joy(30));
+        buffer.flush();
+
+        // then
+        List<Map<Long, long[]>> written = captureWritten(2);
+        assertThat(written.get(1).get(CategoryEmotionStatsWriter.key(1L, EmotionType.JOY))).containsExactly(2L, 80L);
+        assertThat(buffer.stats().get("failures")).isEqualTo(1L);
+        assertThat(buffer.stats().get("pendingKeys")).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("대기 중인 증감이 기준을 넘으면 주기를 기다리지 않고 반영한다")
+    void flushWhenPendingExceedsLimit() {
+        // given
+        CategoryStatsDeltaBuffer buffer = newBuffer(2);
+
+        // when - 카테고리 두 개 x 감정 하나
+        buffer.add(List.of(1L, 2L), joy(1), joy(50));
+
+        // then
+        verify(categoryEmotionStatsWriter, times(1)).addAll(anyMap());
+    }
+
+    @Test
+    @DisplayName("재계산 중에는 반영을 멈추고, 보류된 증감을 버리면 증감이 들어온 게시글 카테고리를 돌려준다")
+    void holdAndDiscard() {
+        // given - 보류 전 증감은 보류 시점에 반영
+        CategoryStatsDeltaBuffer buffer = newBuffer(1000);
+        buffer.add(List.of(1L), joy(1), joy(10));
+        buffer.hold();
+        buffer.add(List.of(3L, 1L), joy(1), joy(50));
+
+        // when
+        buffer.flush();
+        Set<Long> touched = buffer.discardHeld();
+        buffer.release();
+        buffer.flush();
+
+        // then
+        assertThat(touched).containsExactly(3L);
+        assertThat(buffer.discardHeld()).isEmpty();
+        Map<Long, long[]> written = captureWritten(1).get(0);
+        assertThat(written).containsOnlyKeys(CategoryEmotionStatsWriter.key(1L, EmotionType.JOY));
+    }
+
+    @Test
+    @DisplayName("보류를 풀면 그 뒤에 남은 증감은 다시 주기적으로 반영한다")
+    void flushAfterRelease() {
+        // given
+        CategoryStatsDeltaBuffer buffer = newBuffer(1000);
+        buffer.hold();
+        buffer.add(List.of(3L), joy(1), joy(50));
+        buffer.discardHeld();
+        buffer.add(List.of(3L), joy(1), joy(30)); // 다시 읽은 뒤, 교체 이전 증감
+
+        // when
+        buffer.release();
+        buffer.flush();
+
+        // then
+        Map<Long, long[]> written = captureWritten(1).get(0);
+        assertThat(written.get(CategoryEmotionStatsWriter.key(3L, EmotionType.JOY))).containsExactly(1L, 30L);
+    }
+
+    private CategoryStatsDeltaBuffer newBuffer(long maxPending) {
+        return new CategoryStatsDeltaBuffer(categoryEmotionStatsWriter, globalEmotionTotals, transactionManager,
+                maxPending);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<Long, long[]>> captureWritten(int count) {
+        ArgumentCaptor<Map<Long, long[]>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(categoryEmotionStatsWriter, times(count)).addAll(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static long[] joy(long value) {
+        long[] deltas = new long[EmotionType.values().length];
+        deltas[EmotionType.JOY.ordinal()] = value;
+        return deltas;
+    }
+}
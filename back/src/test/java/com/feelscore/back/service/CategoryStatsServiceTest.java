@@ -0,0 +1,258 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.entity.Category;
+import com.feelscore.back.entity.EmotionScores;
+import com.feelscore.back.entity.EmotionType;
+import com.feelscore.back.entity.Post;
+import com.feelscore.back.entity.PostEmotion;
+import com.feelscore.back.entity.PostStatsLedger;
+import com.feelscore.back.entity.PostStatus;
+import com.feelscore.back.entity.Users;
+import com.feelscore.back.repository.CategoryRepository;
+import com.feelscore.back.repository.PostEmotionRepository;
+import com.feelscore.back.repository.PostRepository;
+import com.feelscore.back.repository.PostStatsLedgerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryStatsServiceTest {
+
+    private static final Long POST_ID = 100L;
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @InjectMocks
+    private CategoryStatsService categoryStatsService;
+
+    @Mock
+    private PostRepository postRepository;
+    @Mock
+    private PostEmotionRepository postEmotionRepository;
+    @Mock
+    private CategoryStatsDeltaBuffer categoryStatsDeltaBuffer;
+    @Mock
+    private PostStatsLedgerRepository postStatsLedgerRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private CategoryStatsTree categoryStatsTree;
+    @Mock
+    private CategoryRollupService categoryRollupService;
+    @Mock
+    private UserEmotionProfileService userEmotionProfileService;
+
+    private Post post;
+    private Category category;
+    private PostEmotion postEmotion;
+    private PostStatsLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        Category root = mock(Category.class);
+        lenient().when(root.getId()).thenReturn(1L);
+        category = mock(Category.class);
+        lenient().when(category.getId()).thenReturn(10L);
+        lenient().when(category.getParent()).thenReturn(root);
+
+        Users author = mock(Users.class);
+        lenient().when(author.getId()).thenReturn(5L);
+
+        post = mock(Post.class);
+        lenient().when(post.getId()).thenReturn(POST_ID);
+        lenient().when(post.getCategory()).thenReturn(category);
+        lenient().when(post.getStatus()).thenReturn(PostStatus.NORMAL);
+        lenient().when(post.getCreatedAt()).thenReturn(CREATED_AT);
+        lenient().when(post.getUsers()).thenReturn(author);
+
+        postEmotion = mock(PostEmotion.class);
+        lenient().when(postEmotion.isAnalyzed()).thenReturn(true);
+        lenient().when(postEmotion.getDominantEmotion()).thenReturn(EmotionType.JOY);
+
+        ledger = mock(PostStatsLedger.class);
+        lenient().when(ledger.getCategoryId()).thenReturn(10L);
+    }
+
+    @Test
+    @DisplayName("재분석 시 ledger에 기록된 이전 점수를 빼고 새 점수를 더한다 (상위 카테고리 포함)")
+    void updateStatsAppliesLedgerDiff() {
+        // given
+        EmotionScores applied = EmotionScores.builder().joyScore(50).sadnessScore(20).build();
+        EmotionScores scores = EmotionScores.builder().joyScore(80).build();
+        givenAnalysis(scores, applied);
+
+        // when
+        categoryStatsService.updateStats(POST_ID);
+
+        // then
+        ArgumentCaptor<long[]> countCaptor = ArgumentCaptor.forClass(long[].class);
+        ArgumentCaptor<long[]> scoreCaptor = ArgumentCaptor.forClass(long[].class);
+        verify(categoryStatsDeltaBuffer, times(2))
+                .add(eq(List.of(10L, 1L)), countCaptor.capture(), scoreCaptor.capture());
+
+        // 1) 이전 점수 차감
+        assertThat(countCaptor.getAllValues().get(0)[EmotionType.JOY.ordinal()]).isEqualTo(-1L);
+        assertThat(countCaptor.getAllValues().get(0)[EmotionType.SADNESS.ordinal()]).isEqualTo(-1L);
+        assertThat(scoreCaptor.getAllValues().get(0)[EmotionType.JOY.ordinal()]).isEqualTo(-50L);
+        assertThat(scoreCaptor.getAllValues().get(0)[EmotionType.SADNESS.ordinal()]).isEqualTo(-20L);
+        // 2) 새 점수 추가
+        assertThat(countCaptor.getAllValues().get(1)[EmotionType.JOY.ordinal()]).isEqualTo(1L);
+        assertThat(scoreCaptor.getAllValues().get(1)[EmotionType.JOY.ordinal()]).isEqualTo(80L);
+        assertThat(scoreCaptor.getAllValues().get(1)[EmotionType.SADNESS.ordinal()]).isZero();
+
+        verify(ledger).apply(10L, scores);
+        verify(categoryStatsTree).addScores(10L, applied, -1);
+        verify(categoryStatsTree).addScores(10L, scores, 1);
+        verify(categoryRollupService).addScores(10L, CREATED_AT, scores, 1);
+        verify(userEmotionProfileService).applyScores(5L, applied, scores);
+    }
+
+    @Test
+    @DisplayName("처음 분석된 게시글은 차감 없이 새 점수만 더한다")
+    void updateStatsFirstAnalysis() {
+        // given
+        EmotionScores applied = EmotionScores.builder().build();
+        EmotionScores scores = EmotionScores.builder().loveScore(70).build();
+        givenAnalysis(scores, applied);
+
+        // when
+        categoryStatsService.updateStats(POST_ID);
+
+        // then
+        verify(categoryStatsDeltaBuffer, times(1)).add(eq(List.of(10L, 1L)), any(long[].class), any(long[].class));
+        verify(categoryStatsTree, never()).addScores(anyLong(), eq(applied), eq(-1));
+        verify(categoryStatsTree).addScores(10L, scores, 1);
+        verify(ledger).apply(10L, scores);
+    }
+
+    @Test
+    @DisplayName("삭제된 게시글에 늦게 도착한 분석 결과는 통계에 반영하지 않는다")
+    void updateStatsIgnoresDeletedPost() {
+        // given
+        given(post.getStatus()).willReturn(PostStatus.DELETED);
+        given(postRepository.findById(POST_ID)).willReturn(Optional.of(post));
+        given(postEmotionRepository.findByPost_Id(POST_ID)).willReturn(Optional.of(postEmotion));
+
+        // when
+        categoryStatsService.updateStats(POST_ID);
+
+        // then
+        verify(postStatsLedgerRepository, never()).findForUpdate(any());
+        verify(categoryStatsDeltaBuffer, never()).add(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("게시글 삭제 시 ledger 점수와 리액션 가중치를 카테고리 통계에서 뺀다")
+    void removePostSubtractsLedgerAndReactions() {
+        // given
+        EmotionScores applied = EmotionScores.builder().joyScore(50).build();
+        given(ledger.getScores()).willReturn(applied);
+        given(postStatsLedgerRepository.findForUpdate(POST_ID)).willReturn(Optional.of(ledger));
+        given(categoryRepository.findById(10L)).willReturn(Optional.of(category));
+        given(post.getReactionCountMap()).willReturn(Map.of(EmotionType.ANGER, 2L));
+
+        // when
+        EmotionScores removed = categoryStatsService.removePost(post);
+
+        // then
+        assertThat(removed).isSameAs(applied);
+        ArgumentCaptor<long[]> countCaptor = ArgumentCaptor.forClass(long[].class);
+        ArgumentCaptor<long[]> scoreCaptor = ArgumentCaptor.forClass(long[].class);
+        verify(categoryStatsDeltaBuffer, times(2))
+                .add(eq(List.of(10L, 1L)), countCaptor.capture(), scoreCaptor.capture());
+
+        assertThat(scoreCaptor.getAllValues().get(0)[EmotionType.JOY.ordinal()]).isEqualTo(-50L);
+        assertThat(countCaptor.getAllValues().get(1)[EmotionType.ANGER.ordinal()]).isEqualTo(-2L);
+        assertThat(scoreCaptor.getAllValues().get(1)[EmotionType.ANGER.ordinal()])
+                .isEqualTo(-2L * CategoryStatsService.REACTION_WEIGHT);
+
+        verify(categoryStatsTree).addScores(10L, applied, -1);
+        verify(categoryRollupService).addScores(10L, CREATED_AT, applied, -1);
+        verify(ledger).apply(eq(10L), argThat(EmotionScores::isEmpty));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("카테고리를 옮긴 뒤 삭제하면 이전 / 새 카테고리 모두 이 게시글 몫이 남지 않는다")
+    void moveCategoryThenRemovePost() {
+        // given - 이전 카테고리(10)에 분석 점수와 리액션 가중치가 반영된 상태
+        Category root = category.getParent();
+        Category newCategory = mock(Category.class);
+        given(newCategory.getId()).willReturn(20L);
+        given(newCategory.getParent()).willReturn(root);
+
+        EmotionScores applied = EmotionScores.builder().joyScore(50).build();
+        AtomicLong ledgerCategoryId = new AtomicLong(10L);
+        given(ledger.getCategoryId()).willAnswer(invocation -> ledgerCategoryId.get());
+        willAnswer(invocation -> {
+            ledgerCategoryId.set(invocation.getArgument(0));
+            return null;
+        }).given(ledger).apply(any(), any());
+        given(ledger.getScores()).willReturn(applied);
+        given(postStatsLedgerRepository.findForUpdate(POST_ID)).willReturn(Optional.of(ledger));
+        given(categoryRepository.findById(10L)).willReturn(Optional.of(category));
+        given(categoryRepository.findById(20L)).willReturn(Optional.of(newCategory));
+        given(post.getReactionCountMap()).willReturn(Map.of(EmotionType.ANGER, 2L));
+
+        // when
+        categoryStatsService.moveCategory(post, category, newCategory);
+        given(post.getCategory()).willReturn(newCategory);
+        categoryStatsService.removePost(post);
+
+        // then - 카테고리별 순증감: 이전 카테고리와 상위는 원래 반영분만큼 빠지고, 새 카테고리는 0
+        ArgumentCaptor<List<Long>> chainCaptor = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<long[]> scoreCaptor = ArgumentCaptor.forClass(long[].class);
+        verify(categoryStatsDeltaBuffer, times(6)).add(chainCaptor.capture(), any(long[].class), scoreCaptor.capture());
+        Map<Long, long[]> net = new HashMap<>();
+        for (int i = 0; i < chainCaptor.getAllValues().size(); i++) {
+            for (Long categoryId : chainCaptor.getAllValues().get(i)) {
+                long[] total = net.computeIfAbsent(categoryId, id -> new long[EmotionType.values().length]);
+                long[] deltas = scoreCaptor.getAllValues().get(i);
+                for (int type = 0; type < deltas.length; type++) {
+                    total[type] += deltas[type];
+                }
+            }
+        }
+
+        long reactionScore = 2L * CategoryStatsService.REACTION_WEIGHT;
+        assertThat(net.get(10L)[EmotionType.JOY.ordinal()]).isEqualTo(-50L);
+        assertThat(net.get(10L)[EmotionType.ANGER.ordinal()]).isEqualTo(-reactionScore);
+        assertThat(net.get(20L)).containsOnly(0L);
+        assertThat(net.get(1L)[EmotionType.JOY.ordinal()]).isEqualTo(-50L);
+        assertThat(net.get(1L)[EmotionType.ANGER.ordinal()]).isEqualTo(-reactionScore);
+        verify(categoryStatsTree).addScores(20L, applied, -1);
+    }
+
+    private void givenAnalysis(EmotionScores scores, EmotionScores applied) {
+        given(postRepository.findById(POST_ID)).willReturn(Optional.of(post));
+        given(postEmotionRepository.findByPost_Id(POST_ID)).willReturn(Optional.of(postEmotion));
+        given(postEmotion.getScores()).willReturn(scores);
+        given(ledger.getScores()).willReturn(applied);
+        given(postStatsLedgerRepository.findForUpdate(POST_ID)).willReturn(Optional.of(ledger));
+    }
+}
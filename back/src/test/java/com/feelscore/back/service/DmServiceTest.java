@@ -0,0 +1,313 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.dto.DmMessageResponse;
+import com.feelscore.back.dto.DmMessageSliceResponse;
+import com.feelscore.back.entity.DmFolder;
+import com.feelscore.back.entity.DmMemberState;
+import com.feelscore.back.entity.DmMessage;
+import com.feelscore.back.entity.DmThread;
+import com.feelscore.back.entity.DmThreadMember;
+import com.feelscore.back.entity.NotificationType;
+import com.feelscore.back.entity.Users;
+import com.feelscore.back.repository.DmMessageRepository;
+import com.feelscore.back.repository.DmThreadMemberRepository;
+import com.feelscore.back.repository.DmThreadRepository;
+import com.feelscore.back.repository.FollowRepository;
+import com.feelscore.back.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DmServiceTest {
+
+    private static final Long SENDER_ID = 1L;
+    private static final Long RECEIVER_ID = 2L;
+    private static final Long THREAD_ID = 50L;
+    private static final Long SENDER_MEMBER_ID = 7L;
+    private static final String PAIR_KEY = DmThread.pairKeyOf(SENDER_ID, RECEIVER_ID);
+
+    @InjectMocks
+    private DmService dmService;
+
+    @Mock
+    private DmThreadRepository dmThreadRepository;
+    @Mock
+    private DmThreadMemberRepository dmThreadMemberRepository;
+    @Mock
+    private DmMessageRepository dmMessageRepository;
+    @Mock
+    private FollowRepository followRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private BlockGraphService blockGraphService;
+    @Mock
+    private NotificationService notificationService;
+
+    private Users sender;
+    private Users receiver;
+    private DmThread thread;
+    private DmThreadMember senderMember;
+
+    @BeforeEach
+    void setUp() {
+        sender = mock(Users.class);
+        lenient().when(sender.getId()).thenReturn(SENDER_ID);
+        receiver = mock(Users.class);
+        lenient().when(receiver.getId()).thenReturn(RECEIVER_ID);
+
+        thread = mock(DmThread.class);
+        lenient().when(thread.getId()).thenReturn(THREAD_ID);
+
+        senderMember = mock(DmThreadMember.class);
+        lenient().when(senderMember.getId()).thenReturn(SENDER_MEMBER_ID);
+    }
+
+    // ===== 안 읽은 수 =====
+
+    @Test
+    @DisplayName("메시지를 보내면 다른 멤버의 안 읽은 수는 +1, 보낸 사람은 다시 계산한다")
+    void sendMessageUpdatesUnreadCounts() {
+        // given
+        givenUsers();
+        given(dmThreadRepository.findById(THREAD_ID)).willReturn(Optional.of(thread));
+        given(dmThreadMemberRepository.existsByThreadIdAndUserId(THREAD_ID, SENDER_ID)).willReturn(true);
+        givenMembers();
+
+        // when
+        DmMessage message = dmService.sendMessage(SENDER_ID, RECEIVER_ID, THREAD_ID, "안녕");
+
+        // then
+        verify(senderMember).updateLastRead(message);
+        verify(dmThreadMemberRepository).incrementUnreadCount(THREAD_ID, SENDER_ID);
+        verify(dmThreadMemberRepository).recountUnread(List.of(SENDER_MEMBER_ID));
+        verify(notificationService).sendNotification(eq(sender), eq(receiver), eq(NotificationType.DM), anyString(),
+                eq(THREAD_ID));
+    }
+
+    @Test
+    @DisplayName("읽음 처리는 0으로 덮어쓰지 않고 마지막 메시지까지 읽은 기준으로 다시 계산한다")
+    void markAsReadRecounts() {
+        // given
+        DmMessage lastMessage = mock(DmMessage.class);
+        given(thread.getLastMessage()).willReturn(lastMessage);
+        given(senderMember.getThread()).willReturn(thread);
+        given(dmThreadMemberRepository.findByThreadIdAndUserId(THREAD_ID, SENDER_ID))
+                .willReturn(Optional.of(senderMember));
+
+        // when
+        dmService.markAsRead(SENDER_ID, THREAD_ID);
+
+        // then
+        verify(senderMember).updateLastRead(lastMessage);
+        verify(dmThreadMemberRepository).recountUnread(List.of(SENDER_MEMBER_ID));
+    }
+
+    @Test
+    @DisplayName("메시지가 없는 대화방은 읽음 처리 시 다시 계산하지 않는다")
+    void markAsReadWithoutMessages() {
+        // given
+        given(senderMember.getThread()).willReturn(thread);
+        given(dmThreadMemberRepository.findByThreadIdAndUserId(THREAD_ID, SENDER_ID))
+                .willReturn(Optional.of(senderMember));
+
+        // when
+        dmService.markAsRead(SENDER_ID, THREAD_ID);
+
+        // then
+        verify(dmThreadMemberRepository, never()).recountUnread(any());
+    }
+
+    @Test
+    @DisplayName("안 읽은 수 보정은 id 순 청크 단위로 다시 계산하고 마지막 id를 돌려준다")
+    void recountUnreadChunk() {
+        // given
+        given(dmThreadMemberRepository.findIdsAfter(0L, PageRequest.of(0, 2))).willReturn(List.of(3L, 4L));
+        given(dmThreadMemberRepository.findIdsAfter(4L, PageRequest.of(0, 2))).willReturn(List.of());
+
+        // when
+        Long lastId = dmService.recountUnreadChunk(0L, 2);
+        Long end = dmService.recountUnreadChunk(lastId, 2);
+
+        // then
+        assertThat(lastId).isEqualTo(4L);
+        assertThat(end).isNull();
+        verify(dmThreadMemberRepository).recountUnread(List.of(3L, 4L));
+    }
+
+    // ===== 메시지 구간 (keyset) =====
+
+    @Test
+    @DisplayName("커서 없이 조회하면 최신 메시지를 오래된 순으로 돌려주고 더 오래된 메시지 여부를 알려준다")
+    void loadLatestSlice() {
+        // given
+        given(dmThreadMemberRepository.existsByThreadIdAndUserId(THREAD_ID, SENDER_ID)).willReturn(true);
+        given(dmMessageRepository.findBefore(THREAD_ID, Long.MAX_VALUE, PageRequest.of(0, 3)))
+                .willReturn(messages(5L, 4L, 3L));
+
+        // when
+        DmMessageSliceResponse slice = dmService.loadMessageSlice(THREAD_ID, SENDER_ID, null, null, 2);
+
+        // then
+        assertThat(slice.getMessages()).extracting(DmMessageResponse::getId).containsExactly(4L, 5L);
+        assertThat(slice.getOldestId()).isEqualTo(4L);
+        assertThat(slice.getNewestId()).isEqualTo(5L);
+        assertThat(slice.isHasOlder()).isTrue();
+        assertThat(slice.isHasNewer()).isFalse();
+    }
+
+    @Test
+    @DisplayName("after 커서로 조회하면 커서 이후 메시지만 돌려준다")
+    void loadSliceAfter() {
+        // given
+        given(dmThreadMemberRepository.existsByThreadIdAndUserId(THREAD_ID, SENDER_ID)).willReturn(true);
+        given(dmMessageRepository.findAfter(THREAD_ID, 5L, PageRequest.of(0, 3))).willReturn(messages(6L, 7L));
+
+        // when
+        DmMessageSliceResponse slice = dmService.loadMessageSlice(THREAD_ID, SENDER_ID, null, 5L, 2);
+
+        // then
+        assertThat(slice.getMessages()).extracting(DmMessageResponse::getId).containsExactly(6L, 7L);
+        assertThat(slice.isHasOlder()).isTrue();
+        assertThat(slice.isHasNewer()).isFalse();
+        verify(dmMessageRepository, never()).findBefore(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("before와 after를 함께 보내면 예외가 발생한다")
+    void loadSliceWithBothCursors() {
+        // given
+        given(dmThreadMemberRepository.existsByThreadIdAndUserId(THREAD_ID, SENDER_ID)).willReturn(true);
+
+        // when & then
+        assertThatThrownBy(() -> dmService.loadMessageSlice(THREAD_ID, SENDER_ID, 10L, 5L, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("특정 메시지로 이동하면 앞쪽 절반과 기준 메시지를 포함한 뒤쪽을 한 구간으로 돌려준다")
+    void loadWindowAroundMessage() {
+        // given
+        given(dmThreadMemberRepository.existsByThreadIdAndUserId(THREAD_ID, SENDER_ID)).willReturn(true);
+        given(dmMessageRepository.existsByIdAndThreadId(10L, THREAD_ID)).willReturn(true);
+        given(dmMessageRepository.findBefore(THREAD_ID, 10L, PageRequest.of(0, 3))).willReturn(messages(9L, 8L, 7L));
+        given(dmMessageRepository.findAfter(THREAD_ID, 9L, PageRequest.of(0, 3))).willReturn(messages(10L, 11L, 12L));
+
+        // when
+        DmMessageSliceResponse window = dmService.loadMessageWindow(THREAD_ID, SENDER_ID, 10L, 4);
+
+        // then
+        assertThat(window.getMessages()).extracting(DmMessageResponse::getId).containsExactly(8L, 9L, 10L, 11L);
+        assertThat(window.isHasOlder()).isTrue();
+        assertThat(window.isHasNewer()).isTrue();
+    }
+
+    // ===== 1:1 대화방 (pair key) =====
+
+    @Test
+    @DisplayName("이미 있는 1:1 대화방은 pair key로 찾아 쓰고 새로 만들지 않는다")
+    void sendToExistingDirectThread() {
+        // given
+        givenUsers();
+        given(dmThreadRepository.findByDirectPairKey(PAIR_KEY)).willReturn(Optional.of(thread));
+        givenMembers();
+
+        // when
+        dmService.sendMessage(SENDER_ID, RECEIVER_ID, null, "안녕");
+
+        // then
+        verify(dmThreadRepository, never()).insertDirectIfAbsent(any());
+        verify(dmThreadMemberRepository, never()).save(any(DmThreadMember.class));
+        verify(dmMessageRepository).save(any(DmMessage.class));
+    }
+
+    @Test
+    @DisplayName("동시에 보낸 다른 요청이 먼저 대화방을 만들었으면 그 대화방을 쓰고 멤버를 다시 만들지 않는다")
+    void sendWhenOtherRequestCreatedThread() {
+        // given
+        givenUsers();
+        given(dmThreadRepository.findByDirectPairKey(PAIR_KEY)).willReturn(Optional.empty(), Optional.of(thread));
+        given(dmThreadRepository.insertDirectIfAbsent(PAIR_KEY)).willReturn(0);
+        givenMembers();
+
+        // when
+        DmMessage message = dmService.sendMessage(SENDER_ID, RECEIVER_ID, null, "안녕");
+
+        // then
+        assertThat(message.getThread()).isSameAs(thread);
+        verify(dmThreadMemberRepository, never()).save(any(DmThreadMember.class));
+        verify(dmThreadMemberRepository).incrementUnreadCount(THREAD_ID, SENDER_ID);
+    }
+
+    @Test
+    @DisplayName("대화방을 새로 만들면 맞팔이 아닌 수신자는 요청함에 들어간다")
+    void sendCreatesThreadWithRequestFolder() {
+        // given
+        givenUsers();
+        given(dmThreadRepository.findByDirectPairKey(PAIR_KEY)).willReturn(Optional.empty(), Optional.of(thread));
+        given(dmThreadRepository.insertDirectIfAbsent(PAIR_KEY)).willReturn(1);
+        given(followRepository.existsByFollowerAndFollowing(receiver, sender)).willReturn(true);
+        given(followRepository.existsByFollowerAndFollowing(sender, receiver)).willReturn(false);
+        givenMembers();
+
+        // when
+        dmService.sendMessage(SENDER_ID, RECEIVER_ID, null, "안녕");
+
+        // then
+        ArgumentCaptor<DmThreadMember> captor = ArgumentCaptor.forClass(DmThreadMember.class);
+        verify(dmThreadMemberRepository, times(2)).save(captor.capture());
+        DmThreadMember created = captor.getAllValues().get(0);
+        DmThreadMember requested = captor.getAllValues().get(1);
+        assertThat(created.getState()).isEqualTo(DmMemberState.NORMAL);
+        assertThat(created.getFolder()).isEqualTo(DmFolder.PRIMARY);
+        assertThat(requested.getState()).isEqualTo(DmMemberState.REQUEST);
+        assertThat(requested.getFolder()).isEqualTo(DmFolder.REQUEST);
+    }
+
+    private void givenUsers() {
+        given(userRepository.findById(SENDER_ID)).willReturn(Optional.of(sender));
+        given(userRepository.findById(RECEIVER_ID)).willReturn(Optional.of(receiver));
+        given(blockGraphService.isBlocking(RECEIVER_ID, SENDER_ID)).willReturn(false);
+    }
+
+    private void givenMembers() {
+        given(dmThreadMemberRepository.findByThreadIdAndUserId(THREAD_ID, SENDER_ID))
+                .willReturn(Optional.of(senderMember));
+        given(dmThreadMemberRepository.findByThreadIdAndUserId(THREAD_ID, RECEIVER_ID)).willReturn(Optional.empty());
+    }
+
+    private List<DmMessage> messages(Long... ids) {
+        List<DmMessage> messages = new ArrayList<>();
+        for (Long id : ids) {
+            DmMessage message = mock(DmMessage.class);
+            lenient().when(message.getId()).thenReturn(id);
+            lenient().when(message.getThread()).thenReturn(thread);
+            lenient().when(message.getSender()).thenReturn(sender);
+            messages.add(message);
+        }
+        return messages;
+    }
+}
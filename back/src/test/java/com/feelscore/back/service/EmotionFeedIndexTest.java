@@ -0,0 +1,138 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.entity.EmotionType;
+import com.feelscore.back.entity.PostStatus;
+import com.feelscore.back.repository.PostRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class EmotionFeedIndexTest {
+
+    @InjectMocks
+    private EmotionFeedIndex emotionFeedIndex;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Test
+    @DisplayName("늦게 분석된 게시글도 id 순서 자리에 끼워 넣고 최신순으로 잘라 준다")
+    void ringKeepsIdOrder() {
+        EmotionFeedIndex.IdRing ring = new EmotionFeedIndex.IdRing(10);
+        ring.add(1L);
+        ring.add(3L);
+        ring.add(2L);
+        ring.add(3L); // 중복은 무시
+
+        EmotionFeedIndex.Slice slice = ring.slice(0, 10, 0);
+
+        assertThat(slice.getIds()).containsExactly(3L, 2L, 1L);
+        assertThat(slice.getTotal()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("가득 차면 가장 오래된 id를 버리고, 버퍼보다 깊은 페이지는 DB 조회로 넘긴다")
+    void ringDropsOldestWhenFull() {
+        EmotionFeedIndex.IdRing ring = new EmotionFeedIndex.IdRing(3);
+        for (long postId = 1; postId <= 4; postId++) {
+            ring.add(postId);
+        }
+        ring.add(0L); // 보관 중인 게시글보다 오래됨
+
+        EmotionFeedIndex.Slice slice = ring.slice(0, 3, 10);
+
+        assertThat(slice.getIds()).containsExactly(4L, 3L, 2L);
+        assertThat(slice.getTotal()).isEqualTo(10L);
+        assertThat(ring.slice(1, 3, 10)).isNull();
+    }
+
+    @Test
+    @DisplayName("삭제로 자리가 비어도 버퍼보다 오래된 id는 끼워 넣지 않는다")
+    void ringDropsOldIdAfterRemove() {
+        EmotionFeedIndex.IdRing ring = new EmotionFeedIndex.IdRing(3);
+        for (long postId = 1; postId <= 4; postId++) {
+            ring.add(postId);
+        }
+        ring.remove(3L);
+
+        ring.add(1L); // 버퍼 밖(DB 조회 구간) 게시글
+        ring.add(3L); // 보관 구간 안쪽은 다시 들어감
+
+        assertThat(ring.slice(0, 3, 10).getIds()).containsExactly(4L, 3L, 2L);
+        assertThat(ring.slice(1, 3, 10)).isNull();
+    }
+
+    @Test
+    @DisplayName("삭제하면 나머지 순서를 유지한 채 빠진다")
+    void ringRemove() {
+        EmotionFeedIndex.IdRing ring = new EmotionFeedIndex.IdRing(10);
+        ring.add(1L);
+        ring.add(2L);
+        ring.add(3L);
+
+        assertThat(ring.remove(2L)).isTrue();
+        assertThat(ring.remove(5L)).isFalse();
+        assertThat(ring.slice(0, 10, 0).getIds()).containsExactly(3L, 1L);
+    }
+
+    @Test
+    @DisplayName("재분석으로 감정이 바뀌면 이전 감정 피드에서 빠지고 새 감정 피드에 들어간다")
+    void moveOnReanalysis() {
+        // given
+        given(postRepository.findIdsByEmotion(any(), eq(PostStatus.NORMAL), any())).willReturn(List.of());
+        given(postRepository.countByDominantEmotion(PostStatus.NORMAL)).willReturn(List.of());
+        given(postRepository.findStatusAndEmotionById(7L))
+                .willReturn(rowOf(PostStatus.NORMAL, EmotionType.JOY), rowOf(PostStatus.NORMAL, EmotionType.SADNESS));
+        emotionFeedIndex.load();
+
+        // when
+        emotionFeedIndex.onAnalysisComplete(7L);
+        EmotionFeedIndex.Slice joyBefore = emotionFeedIndex.find(EmotionType.JOY, 0, 10);
+        emotionFeedIndex.onAnalysisComplete(7L);
+
+        // then
+        assertThat(joyBefore.getIds()).containsExactly(7L);
+        assertThat(emotionFeedIndex.find(EmotionType.JOY, 0, 10).getIds()).isEmpty();
+        assertThat(emotionFeedIndex.find(EmotionType.SADNESS, 0, 10).getIds()).containsExactly(7L);
+        assertThat(emotionFeedIndex.find(EmotionType.SADNESS, 0, 10).getTotal()).isEqualTo(1L);
+        verify(postRepository, times(2)).findStatusAndEmotionById(7L);
+    }
+
+    @Test
+    @DisplayName("삭제된 게시글은 감정 피드에서 제외된다")
+    void removeDeletedPost() {
+        // given
+        given(postRepository.findIdsByEmotion(any(), eq(PostStatus.NORMAL), any())).willReturn(List.of());
+        given(postRepository.countByDominantEmotion(PostStatus.NORMAL)).willReturn(List.of());
+        given(postRepository.findStatusAndEmotionById(7L)).willReturn(rowOf(PostStatus.NORMAL, EmotionType.JOY));
+        emotionFeedIndex.load();
+        emotionFeedIndex.onAnalysisComplete(7L);
+
+        // when
+        emotionFeedIndex.remove(7L);
+
+        // then
+        assertThat(emotionFeedIndex.find(EmotionType.JOY, 0, 10).getIds()).isEmpty();
+        assertThat(emotionFeedIndex.find(EmotionType.JOY, 0, 10).getTotal()).isZero();
+    }
+
+    private static List<Object[]> rowOf(PostStatus status, EmotionType emotionType) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { status, emotionType });
+        return rows;
+    }
+}
@@ -0,0 +1,124 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.entity.PostStatus;
+import com.feelscore.back.repository.FollowRepository;
+import com.feelscore.back.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class HomeTimelineServiceTest {
+
+    @InjectMocks
+    private HomeTimelineService homeTimelineService;
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(homeTimelineService, "celebrityThreshold", 2L);
+    }
+
+    @Test
+    @DisplayName("팔로우한 작성자의 새 글은 상주 타임라인 링 버퍼에 push되어 DB 재조회 없이 반환된다")
+    void pushToResidentTimeline() {
+        // given
+        given(followRepository.findUserIdsWithFollowersAtLeast(2L)).willReturn(List.of());
+        given(followRepository.findFollowingIdsByFollowerId(1L)).willReturn(List.of(10L));
+        given(postRepository.findIdsByUsersBefore(eq(List.of(1L, 10L)), eq(PostStatus.NORMAL), eq(Long.MAX_VALUE),
+                any())).willReturn(List.of(5L, 3L));
+        given(followRepository.findFollowerIdsByFollowingId(10L)).willReturn(List.of(1L));
+
+        // when
+        List<Long> first = homeTimelineService.getPostIds(1L, Long.MAX_VALUE, 10);
+        homeTimelineService.onPostCreated(10L, 7L);
+        List<Long> second = homeTimelineService.getPostIds(1L, Long.MAX_VALUE, 10);
+
+        // then
+        assertThat(first).containsExactly(5L, 3L);
+        assertThat(second).containsExactly(7L, 5L, 3L);
+        verify(postRepository, times(1)).findIdsByUsersBefore(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("셀럽 게시글은 push하지 않고 조회 시 DB에서 가져와 최신순으로 병합한다")
+    void mergeCelebrityPostsOnRead() {
+        // given
+        given(followRepository.findUserIdsWithFollowersAtLeast(2L)).willReturn(List.of(20L));
+        given(followRepository.findFollowingIdsByFollowerId(1L)).willReturn(List.of(10L, 20L));
+        given(postRepository.findIdsByUsersBefore(eq(List.of(1L, 10L)), eq(PostStatus.NORMAL), eq(Long.MAX_VALUE),
+                any())).willReturn(List.of(6L, 2L));
+        given(postRepository.findIdsByUsersBefore(eq(List.of(20L)), eq(PostStatus.NORMAL), eq(Long.MAX_VALUE),
+                any())).willReturn(List.of(8L, 4L));
+
+        // when
+        homeTimelineService.onPostCreated(20L, 9L);
+        List<Long> postIds = homeTimelineService.getPostIds(1L, Long.MAX_VALUE, 10);
+
+        // then
+        assertThat(postIds).containsExactly(8L, 6L, 4L, 2L);
+        verify(followRepository, never()).findFollowerIdsByFollowingId(20L);
+    }
+
+    @Test
+    @DisplayName("셀럽 목록이 바뀌면 이전 목록으로 구성한 타임라인을 다시 구성한다")
+    void rebuildWhenCelebritiesChange() {
+        // given
+        given(followRepository.findUserIdsWithFollowersAtLeast(2L)).willReturn(List.of(), List.of(10L));
+        given(followRepository.findFollowingIdsByFollowerId(1L)).willReturn(List.of(10L));
+        given(postRepository.findIdsByUsersBefore(any(), eq(PostStatus.NORMAL), anyLong(), any()))
+                .willReturn(List.of());
+
+        // when
+        homeTimelineService.getPostIds(1L, Long.MAX_VALUE, 10);
+        homeTimelineService.refreshCelebrities();
+        homeTimelineService.getPostIds(1L, Long.MAX_VALUE, 10);
+
+        // then
+        verify(followRepository, times(2)).findFollowingIdsByFollowerId(1L);
+        verify(postRepository).findIdsByUsersBefore(eq(List.of(10L)), eq(PostStatus.NORMAL), eq(Long.MAX_VALUE),
+                any());
+    }
+
+    @Test
+    @DisplayName("버퍼와 셀럽 게시글 병합 시 양쪽에 있는 게시글은 한 번만 포함한다")
+    void mergeDescendingSkipsDuplicates() {
+        List<Long> merged = HomeTimelineService.mergeDescending(new long[] { 9L, 5L, 3L }, List.of(7L, 5L, 1L), 4);
+
+        assertThat(merged).containsExactly(9L, 7L, 5L, 3L);
+    }
+
+    @Test
+    @DisplayName("링 버퍼가 가득 차면 가장 오래된 게시글부터 밀려나고 잘림 표시가 된다")
+    void ringDropsOldestWhenFull() {
+        HomeTimelineService.Timeline timeline = new HomeTimelineService.Timeline(3, List.of(1L), List.of(), null);
+        for (long postId = 1; postId <= 5; postId++) {
+            timeline.push(postId);
+        }
+
+        assertThat(timeline.before(Long.MAX_VALUE, 10)).containsExactly(5L, 4L, 3L);
+        assertThat(timeline.before(5L, 1)).containsExactly(4L);
+        assertThat(timeline.isTruncated()).isTrue();
+    }
+}
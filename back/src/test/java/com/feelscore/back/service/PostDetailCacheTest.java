@@ -0,0 +1,127 @@
+package com.feelscore.back.service;
+
+import com.feelscore.back.dto.PostDto.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PostDetailCacheTest {
+
+    private static final Response POST = Response.builder().id(1L).content("a").commentCount(1L).build();
+
+    @Mock
+    private Supplier<Response> loader;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("두 번째 조회부터는 loader를 호출하지 않는다")
+    void readThrough() {
+        // given
+        PostDetailCache cache = new PostDetailCache(1_000_000, 600);
+        given(loader.get()).willReturn(POST);
+
+        // when
+        cache.get(1L, loader);
+        Response cached = cache.get(1L, loader);
+
+        // then
+        assertThat(cached).isSameAs(POST);
+        verify(loader, times(1)).get();
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안의 무효화는 커밋 이후에 반영된다")
+    void invalidateAfterCommit() {
+        // given
+        PostDetailCache cache = new PostDetailCache(1_000_000, 600);
+        given(loader.get()).willReturn(POST);
+        cache.get(1L, loader);
+
+        // when
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidate(1L);
+        cache.get(1L, loader); // 커밋 전에는 그대로 캐시에서 반환
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        cache.get(1L, loader);
+
+        // then
+        verify(loader, times(2)).get();
+    }
+
+    @Test
+    @DisplayName("조회 중에 무효화가 끼어들면 조회 결과를 캐시에 넣지 않는다")
+    void skipStaleLoad() {
+        // given
+        PostDetailCache cache = new PostDetailCache(1_000_000, 600);
+        given(loader.get()).willAnswer(invocation -> {
+            cache.invalidate(1L);
+            return POST;
+        });
+
+        // when
+        cache.get(1L, loader);
+        cache.get(1L, loader);
+
+        // then
+        verify(loader, times(2)).get();
+    }
+
+    @Test
+    @DisplayName("메모리 예산을 넘으면 가장 오래 사용하지 않은 게시글부터 제거한다")
+    void evictLeastRecentlyUsed() {
+        // given - 게시글 두 개 크기의 예산
+        PostDetailCache cache = new PostDetailCache(2 * PostDetailCache.estimateBytes(POST), 600);
+        given(loader.get()).willReturn(POST);
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+
+        // when
+        cache.get(1L, loader); // 1번을 최근 사용으로
+        cache.get(3L, loader); // 2번이 밀려남
+        cache.get(1L, loader);
+        cache.get(2L, loader);
+
+        // then - 1, 2, 3 최초 적재 + 밀려난 2 재적재
+        verify(loader, times(4)).get();
+        assertThat(cache.stats().get("evictions")).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("댓글 수 보정은 캐시된 응답을 그 자리에서 고친다")
+    void patchCommentCount() {
+        // given
+        PostDetailCache cache = new PostDetailCache(1_000_000, 600);
+        given(loader.get()).willReturn(POST);
+        cache.get(1L, loader);
+
+        // when
+        cache.adjustCommentCount(1L, 2);
+        Response patched = cache.get(1L, loader);
+
+        // then
+        assertThat(patched.getCommentCount()).isEqualTo(3L);
+        verify(loader, times(1)).get();
+    }
+}
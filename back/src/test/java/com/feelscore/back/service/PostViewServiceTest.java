@@ -1,25 +1,28 @@
 package com.feelscore.back.service;
 
-import com.feelscore.back.entity.Post;
-import com.feelscore.back.entity.PostView;
-import com.feelscore.back.entity.Users;
 import com.feelscore.back.repository.PostRepository;
 import com.feelscore.back.repository.PostViewRepository;
-import com.feelscore.back.repository.UserRepository;
+import com.feelscore.back.repository.PostViewWriter;
+import com.feelscore.back.repository.PostViewWriter.FirstView;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.time.LocalDateTime;
-import java.util.Optional;
+import java.util.List;
 
-import static org.mockito.ArgumentMatchers.any;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,11 +34,14 @@ class PostViewServiceTest {
     @Mock
     private PostViewRepository postViewRepository;
 
+    @Mock
+    private PostViewWriter postViewWriter;
+
     @Mock
     private PostRepository postRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private PostDetailCache postDetailCache;
 
     @Test
     @DisplayName("조회수를 증가시킨다 (첫 조회)")
@@ -45,41 +51,79 @@ class PostViewServiceTest {
         Long userId = 1L;
         String ipAddress = "127.0.0.1";
 
-        Post post = new Post(postId);
-        Users user = Users.builder().email("test@test.com").build();
-
-        given(postRepository.findById(postId)).willReturn(Optional.of(post));
-        given(userRepository.findById(userId)).willReturn(Optional.of(user));
-        given(postViewRepository.existsByPostAndUsersAndCreatedAtAfter(eq(post), eq(user), any(LocalDateTime.class)))
-                .willReturn(false);
+        given(postViewWriter.insertFirstViews(anyList(), eq(24))).willReturn(new boolean[] { true });
 
         // when
         postViewService.increaseViewCount(postId, userId, ipAddress);
+        postViewService.flush();
 
         // then
-        verify(postViewRepository).save(any(PostView.class));
+        verify(postRepository).addViewCount(List.of(postId), 1L);
     }
 
     @Test
     @DisplayName("24시간 내 중복 조회는 무시한다")
     void increaseViewCount_Duplicate() {
+        // given - 재시작 전에 이미 기록된 조회
+        given(postViewWriter.insertFirstViews(anyList(), eq(24))).willReturn(new boolean[] { false });
+
+        // when
+        postViewService.increaseViewCount(1L, 1L, "127.0.0.1");
+        postViewService.flush();
+
+        // then
+        verify(postRepository, never()).addViewCount(anyCollection(), anyLong());
+    }
+
+    @Test
+    @DisplayName("조회 시점에는 DB에 쓰지 않고, 메모리에 남아 있는 재조회는 기록 대상에서 빠진다")
+    @SuppressWarnings("unchecked")
+    void increaseViewCount_RecentInMemory() {
         // given
-        Long postId = 1L;
-        Long userId = 1L;
-        String ipAddress = "127.0.0.1";
+        given(postViewWriter.insertFirstViews(anyList(), eq(24))).willReturn(new boolean[] { true });
 
-        Post post = new Post(postId);
-        Users user = Users.builder().email("test@test.com").build();
+        // when
+        postViewService.increaseViewCount(1L, 1L, "127.0.0.1");
+        postViewService.increaseViewCount(1L, 1L, "127.0.0.1");
+        verify(postViewWriter, never()).insertFirstViews(anyList(), anyInt());
+        postViewService.flush();
 
-        given(postRepository.findById(postId)).willReturn(Optional.of(post));
-        given(userRepository.findById(userId)).willReturn(Optional.of(user));
-        given(postViewRepository.existsByPostAndUsersAndCreatedAtAfter(eq(post), eq(user), any(LocalDateTime.class)))
-                .willReturn(true);
+        // then
+        ArgumentCaptor<List<FirstView>> captor = ArgumentCaptor.forClass(List.class);
+        verify(postViewWriter, times(1)).insertFirstViews(captor.capture(), eq(24));
+        assertThat(captor.getValue()).hasSize(1);
+        assertThat(captor.getValue().get(0).getUserId()).isEqualTo(1L);
+        verify(postRepository).addViewCount(List.of(1L), 1L);
+    }
 
+    @Test
+    @DisplayName("비로그인 조회는 조회 기록 없이 조회수만 모아 반영한다")
+    void increaseViewCount_Anonymous() {
         // when
-        postViewService.increaseViewCount(postId, userId, ipAddress);
+        postViewService.increaseViewCount(1L, null, "127.0.0.1");
+        postViewService.increaseViewCount(1L, null, "127.0.0.2");
+        postViewService.flush();
+
+        // then
+        verify(postViewWriter, never()).insertFirstViews(anyList(), anyInt());
+        verify(postRepository).addViewCount(List.of(1L), 2L);
+    }
+
+    @Test
+    @DisplayName("조회 기록에 실패하면 다음 주기에 다시 기록한다")
+    void flush_RetryFailedViews() {
+        // given
+        given(postViewWriter.insertFirstViews(anyList(), eq(24)))
+                .willThrow(new IllegalStateException("deadlock"))
+                .willReturn(new boolean[] { true });
+        postViewService.increaseViewCount(1L, 1L, "127.0.0.1");
+
+        // when
+        postViewService.flush();
+        postViewService.flush();
 
         // then
-        verify(postViewRepository, never()).save(any(PostView.class));
+        verify(postViewWriter, times(2)).insertFirstViews(anyList(), eq(24));
+        verify(postRepository, times(1)).addViewCount(List.of(1L), 1L);
     }
 }
@@ -0,0 +1,54 @@
+package com.feelscore.back.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongHashSetTest {
+
+    @Test
+    @DisplayName("같은 값은 한 번만 들어간다")
+    void addIgnoresDuplicates() {
+        LongHashSet set = new LongHashSet();
+
+        assertThat(set.isEmpty()).isTrue();
+        assertThat(set.add(7L)).isTrue();
+        assertThat(set.add(7L)).isFalse();
+        assertThat(set.size()).isEqualTo(1);
+        assertThat(set.isEmpty()).isFalse();
+    }
+
+    @Test
+    @DisplayName("0과 음수도 다른 값과 구분해서 저장한다")
+    void zeroAndNegativeKeys() {
+        LongHashSet set = new LongHashSet();
+
+        assertThat(set.contains(0L)).isFalse();
+        set.add(0L);
+        set.add(-1L);
+        set.add(Long.MIN_VALUE);
+
+        assertThat(set.contains(0L)).isTrue();
+        assertThat(set.contains(-1L)).isTrue();
+        assertThat(set.contains(Long.MIN_VALUE)).isTrue();
+        assertThat(set.contains(1L)).isFalse();
+        assertThat(set.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("예상 크기를 넘게 넣어도 늘어나면서 모든 값을 유지한다")
+    void resizeKeepsKeys() {
+        LongHashSet set = new LongHashSet(2);
+
+        for (long id = 1; id <= 1000; id++) {
+            assertThat(set.add(id)).isTrue();
+        }
+
+        assertThat(set.size()).isEqualTo(1000);
+        for (long id = 1; id <= 1000; id++) {
+            assertThat(set.contains(id)).isTrue();
+        }
+        assertThat(set.contains(1001L)).isFalse();
+    }
+}